@@ -17,15 +17,21 @@
 package org.ifinalframework.data.cache;
 
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import org.ifinalframework.cache.annotation.Cache;
 import org.ifinalframework.data.redis.Redis;
+import org.ifinalframework.data.repository.cache.MultiGetCache;
 import org.ifinalframework.json.Json;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -36,7 +42,7 @@ import java.util.concurrent.TimeUnit;
 @SuppressWarnings("unchecked")
 @Primary
 @Component
-public class RedisCache implements Cache {
+public class RedisCache implements Cache, MultiGetCache {
 
     private static final Long ONE = 1L;
 
@@ -97,6 +103,39 @@ public class RedisCache implements Cache {
         return view == null ? Json.toObject(json, type) : Json.toObject(json, type, view);
     }
 
+    @Override
+    @NonNull
+    public <T> List<T> multiGet(final @NonNull Collection<?> keys, final @Nullable Object field, final @NonNull Type type,
+                                final @Nullable Class<?> view) {
+
+        final List<Object> cacheValues = Redis.template().executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("rawtypes")
+            public <K, V> Object execute(final @NonNull RedisOperations<K, V> operations) {
+                final RedisOperations raw = operations;
+                for (Object key : keys) {
+                    if (field == null) {
+                        raw.opsForValue().get(key);
+                    } else {
+                        raw.opsForHash().get(key, field);
+                    }
+                }
+                return null;
+            }
+        });
+
+        final List<T> values = new ArrayList<>(cacheValues.size());
+        for (Object cacheValue : cacheValues) {
+            if (cacheValue == null) {
+                values.add(null);
+            } else {
+                final String json = cacheValue.toString();
+                values.add(view == null ? Json.toObject(json, type) : Json.toObject(json, type, view));
+            }
+        }
+        return values;
+    }
+
     @Override
     public Long increment(final @NonNull Object key, final @Nullable Object field, final @NonNull Long value) {
 
@@ -15,6 +15,8 @@
 
 package org.ifinalframework.data.domain;
 
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.util.CollectionUtils;
 
 import org.ifinalframework.context.exception.NotFoundException;
@@ -23,6 +25,7 @@ import org.ifinalframework.core.IQuery;
 import org.ifinalframework.core.IUser;
 import org.ifinalframework.data.domain.action.DeleteAction;
 import org.ifinalframework.data.domain.action.UpdateAction;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.repository.Repository;
 import org.ifinalframework.data.spi.AfterConsumer;
 import org.ifinalframework.data.spi.BiAfterThrowingConsumer;
@@ -38,9 +41,12 @@ import org.ifinalframework.json.Json;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -48,6 +54,9 @@ import lombok.Setter;
 /**
  * AbsUpdateDomainAction.
  *
+ * <p>The entities are loaded before the action only if some hook reads them, see {@link #setPreloadHooks(Collection)}.
+ * Without loading, a single id which affects no row is still reported by the {@link NotFoundException}.</p>
+ *
  * @author iimik
  * @version 1.5.0
  * @since 1.5.0
@@ -75,6 +84,15 @@ public abstract class AbsUpdateDeleteDomainActionDispatcher<K extends Serializab
     private BiAfterReturningConsumer<T, P1, U> biAfterReturningConsumer;
     private AfterConsumer<T, P1, V, Integer, U> afterConsumer;
 
+    /**
+     * whether to load the entities before the action.
+     */
+    private boolean preload = true;
+    /**
+     * the properties of the entities to load, all the properties if empty.
+     */
+    private Set<String> preloadProperties = Collections.emptySet();
+
 
     @Override
     public Object update(String property, P1 param1, P2 param2, V value, U user) {
@@ -105,7 +123,7 @@ public abstract class AbsUpdateDeleteDomainActionDispatcher<K extends Serializab
 
             list = doActionPrepare(param1, param2, value, user);
 
-            if (Objects.nonNull(param1) && CollectionUtils.isEmpty(list)) {
+            if (preload && Objects.nonNull(param1) && CollectionUtils.isEmpty(list)) {
                 throw new NotFoundException("not found target entities: {}", Json.toJson(param1));
             }
 
@@ -123,6 +141,10 @@ public abstract class AbsUpdateDeleteDomainActionDispatcher<K extends Serializab
 
             result = doInterAction(list, property, param1, param2, value, user);
 
+            if (!preload && isSingleId(param1) && Objects.equals(result, 0)) {
+                throw new NotFoundException("not found target entities: {}", Json.toJson(param1));
+            }
+
             if (Objects.nonNull(postUpdateConsumer)) {
                 postUpdateConsumer.accept(spiAction, SpiAction.Advice.POST, list, value, user);
             }
@@ -157,14 +179,28 @@ public abstract class AbsUpdateDeleteDomainActionDispatcher<K extends Serializab
         }
     }
 
+    private static boolean isSingleId(Object param) {
+        return Objects.nonNull(param) && !(param instanceof IQuery) && !(param instanceof Collection);
+    }
+
     protected abstract Integer doInterAction(List<T> entities, String property, P1 query, P2 p2, V value, U user);
 
     protected List<T> doActionPrepare(P1 query, P2 param2, V value, U user) {
 
-        if (Objects.isNull(query)) {
+        if (Objects.isNull(query) || !preload) {
             return Collections.emptyList();
         }
 
+        if (!preloadProperties.isEmpty()) {
+            if (query instanceof IQuery) {
+                return repository.selectProperties(preloadProperties, null, (IQuery) query);
+            } else if (query instanceof Collection<?> ids) {
+                return repository.selectProperties(preloadProperties, (Collection<K>) ids, null);
+            } else {
+                return repository.selectProperties(preloadProperties, Collections.singletonList((K) query), null);
+            }
+        }
+
         if (query instanceof IQuery) {
             return repository.select((IQuery) query);
         } else if (query instanceof Collection<?> ids) {
@@ -174,4 +210,33 @@ public abstract class AbsUpdateDeleteDomainActionDispatcher<K extends Serializab
         }
     }
 
+    /**
+     * resolve whether and which properties of the entities to load before the action by the {@link Preload} of the hooks,
+     * called once when the action is registered.
+     *
+     * @param hooks the hooks which accept the entities, including the update or delete function.
+     */
+    public void setPreloadHooks(Collection<?> hooks) {
+        boolean required = false;
+        boolean all = false;
+        final Set<String> properties = new LinkedHashSet<>();
+        for (Object hook : hooks) {
+            if (Objects.isNull(hook)) {
+                continue;
+            }
+            final Preload annotation = AnnotatedElementUtils.findMergedAnnotation(AopUtils.getTargetClass(hook), Preload.class);
+            if (Objects.nonNull(annotation) && !annotation.value()) {
+                continue;
+            }
+            required = true;
+            if (Objects.isNull(annotation) || annotation.properties().length == 0) {
+                all = true;
+            } else {
+                properties.addAll(Arrays.asList(annotation.properties()));
+            }
+        }
+        this.preload = required;
+        this.preloadProperties = all ? Collections.emptySet() : properties;
+    }
+
 }
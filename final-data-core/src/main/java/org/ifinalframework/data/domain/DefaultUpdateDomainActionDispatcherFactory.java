@@ -137,6 +137,19 @@ public class DefaultUpdateDomainActionDispatcherFactory implements UpdateDomainA
         dispatcher.setBiAfterReturningConsumer(Proxies.composite(BiAfterReturningConsumer.class, biAfterReturningConsumers));
         dispatcher.setAfterConsumer(Proxies.composite(AfterConsumer.class, afterConsumers));
 
+        final List<Object> hooks = new LinkedList<>();
+        hooks.add(updateFunction);
+        hooks.addAll(preUpdateValidator);
+        hooks.addAll(preConsumers);
+        hooks.addAll(preUpdateConsumers);
+        hooks.addAll(postUpdateConsumers);
+        hooks.addAll(postConsumers);
+        hooks.addAll(postQueryConsumers);
+        hooks.addAll(biAfterThrowingConsumers);
+        hooks.addAll(biAfterReturningConsumers);
+        hooks.addAll(afterConsumers);
+        dispatcher.setPreloadHooks(hooks);
+
         return dispatcher;
     }
 }
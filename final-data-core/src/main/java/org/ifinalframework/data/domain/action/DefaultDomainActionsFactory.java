@@ -42,6 +42,7 @@ import org.ifinalframework.data.domain.SelectDomainDispatcher;
 import org.ifinalframework.data.domain.SimpleNameDomainSpiMatcher;
 import org.ifinalframework.data.domain.UpdateDomainActionDispatcher;
 import org.ifinalframework.data.domain.UpdateDomainActionDispatcherFactory;
+import org.ifinalframework.data.domain.async.AsyncConsumerExecutor;
 import org.ifinalframework.data.domain.function.DefaultDeleteFunction;
 import org.ifinalframework.data.domain.function.DefaultSelectCountFunction;
 import org.ifinalframework.data.domain.function.DefaultSelectFunction;
@@ -54,6 +55,7 @@ import org.ifinalframework.data.domain.function.DefaultUpdateStatusFunction;
 import org.ifinalframework.data.domain.function.DefaultUpdateYnFunction;
 import org.ifinalframework.data.domain.model.AuditValue;
 import org.ifinalframework.data.domain.model.SortValue;
+import org.ifinalframework.data.domain.spi.AsyncConsumer;
 import org.ifinalframework.data.domain.spi.LoggerAfterConsumer;
 import org.ifinalframework.data.repository.Repository;
 import org.ifinalframework.data.spi.AfterConsumer;
@@ -79,6 +81,7 @@ import org.ifinalframework.data.spi.exception.UpdatePropertyNotMatchedException;
 import org.ifinalframework.util.Proxies;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -320,7 +323,7 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
                 .getIfAvailable(() -> new DefaultUpdateSortFunction<>(repository));
         final UpdateDomainActionDispatcher<K, T, Void, Void, List<SortValue<K>>, U> updateAuditStatusActionById
                 = new UpdateDomainActionDispatcher<>(SpiAction.SORT, repository, updateAuditStatusByIdFunction);
-        acceptUpdateDomainAction(updateAuditStatusActionById, SpiAction.SORT,
+        acceptUpdateDomainAction(updateAuditStatusActionById, updateAuditStatusByIdFunction, SpiAction.SORT,
                 ResolvableType.forClass(entityClass),
                 ResolvableType.forClass(idClass),
                 sortType,
@@ -347,7 +350,7 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
                 .getIfAvailable(() -> new DefaultUpdateAuditStatusFunction<>(repository));
         final UpdateDomainActionDispatcher<K, T, K, IAudit.AuditStatus, AuditValue, U> updateAuditStatusActionById
                 = new UpdateDomainActionDispatcher<>(SpiAction.UPDATE_AUDIT_STATUS, repository, updateAuditStatusByIdFunction);
-        acceptUpdateDomainAction(updateAuditStatusActionById, SpiAction.UPDATE_AUDIT_STATUS,
+        acceptUpdateDomainAction(updateAuditStatusActionById, updateAuditStatusByIdFunction, SpiAction.UPDATE_AUDIT_STATUS,
                 entityClass, idClass, AuditValue.class, userClass);
         return updateAuditStatusActionById;
     }
@@ -369,7 +372,7 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
                 .getIfAvailable(() -> new DefaultUpdateLockedFunction<>(repository));
         final UpdateDomainActionDispatcher<K, T, K, Boolean, Boolean, U> updateLockedActionById
                 = new UpdateDomainActionDispatcher<>(SpiAction.UPDATE_LOCKED, repository, updateLockedByIdFunction);
-        acceptUpdateDomainAction(updateLockedActionById, SpiAction.UPDATE_LOCKED, entityClass, idClass, Boolean.class, userClass);
+        acceptUpdateDomainAction(updateLockedActionById, updateLockedByIdFunction, SpiAction.UPDATE_LOCKED, entityClass, idClass, Boolean.class, userClass);
         return updateLockedActionById;
     }
 
@@ -392,7 +395,7 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
 
         final UpdateDomainActionDispatcher<K, T, K, IEnum<?>, IEnum<?>, U> updateStatusActionById
                 = new UpdateDomainActionDispatcher<>(SpiAction.UPDATE_STATUS, repository, updateStatusByIdFunction);
-        acceptUpdateDomainAction(updateStatusActionById, SpiAction.UPDATE_STATUS, entityClass, idClass, statusClass, userClass);
+        acceptUpdateDomainAction(updateStatusActionById, updateStatusByIdFunction, SpiAction.UPDATE_STATUS, entityClass, idClass, statusClass, userClass);
         return updateStatusActionById;
     }
 
@@ -414,7 +417,7 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
 
         final UpdateDomainActionDispatcher<K, T, K, YN, YN, U> updateYnActionById
                 = new UpdateDomainActionDispatcher<>(SpiAction.UPDATE_YN, repository, updateYnByIdFunction);
-        acceptUpdateDomainAction(updateYnActionById, SpiAction.UPDATE_YN, entityClass, idClass, YN.class, userClass);
+        acceptUpdateDomainAction(updateYnActionById, updateYnByIdFunction, SpiAction.UPDATE_YN, entityClass, idClass, YN.class, userClass);
         return updateYnActionById;
     }
 
@@ -436,7 +439,7 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
 
         final UpdateDomainActionDispatcher<K, T, K, Boolean, T, U> updateByIdDomainAction
                 = new UpdateDomainActionDispatcher<>(SpiAction.UPDATE, repository, updateByIdFunction);
-        acceptUpdateDomainAction(updateByIdDomainAction, SpiAction.UPDATE, entityClass, idClass, entityClass, userClass);
+        acceptUpdateDomainAction(updateByIdDomainAction, updateByIdFunction, SpiAction.UPDATE, entityClass, idClass, entityClass, userClass);
         return updateByIdDomainAction;
     }
 
@@ -622,13 +625,16 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
 
         final DeleteDomainActionDispatcher<K, T, K, U> deleteByIdDomainAction
                 = new DeleteDomainActionDispatcher<>(SpiAction.DELETE, repository, deleteFunctionById);
+        final List<Object> hooks = new ArrayList<>();
+        hooks.add(deleteFunctionById);
         deleteByIdDomainAction.setView(IView.Delete.class);
-        deleteByIdDomainAction.setPreConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.PRE,
+        deleteByIdDomainAction.setPreConsumer(getSpiComposite(hooks, SpiAction.DELETE, SpiAction.Advice.PRE,
                 Consumer.class, entityClass, userClass));
-        deleteByIdDomainAction.setPostConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.POST,
+        deleteByIdDomainAction.setPostConsumer(getSpiComposite(hooks, SpiAction.DELETE, SpiAction.Advice.POST,
                 Consumer.class, entityClass, userClass));
-        deleteByIdDomainAction.setAfterConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.AFTER,
+        deleteByIdDomainAction.setAfterConsumer(getSpiComposite(hooks, SpiAction.DELETE, SpiAction.Advice.AFTER,
                 AfterConsumer.class, entityClass, idClass, Void.class, Integer.class, userClass));
+        deleteByIdDomainAction.setPreloadHooks(hooks);
         return deleteByIdDomainAction;
     }
 
@@ -649,18 +655,21 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
 
         final DeleteDomainActionDispatcher<K, T, IQuery, U> deleteActionByQuery
                 = new DeleteDomainActionDispatcher<>(SpiAction.DELETE, repository, deleteFunctionByQuery);
+        final List<Object> hooks = new ArrayList<>();
+        hooks.add(deleteFunctionByQuery);
         deleteActionByQuery.setView(IView.Delete.class);
         deleteActionByQuery.setDomainQueryClass(deleteQueryClass);
         deleteActionByQuery.setPreQueryConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.PRE,
                 QueryConsumer.class, deleteQueryClass, userClass));
-        deleteActionByQuery.setPreConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.PRE,
+        deleteActionByQuery.setPreConsumer(getSpiComposite(hooks, SpiAction.DELETE, SpiAction.Advice.PRE,
                 Consumer.class, entityClass, userClass));
-        deleteActionByQuery.setPostConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.POST,
+        deleteActionByQuery.setPostConsumer(getSpiComposite(hooks, SpiAction.DELETE, SpiAction.Advice.POST,
                 Consumer.class, entityClass, userClass));
-        deleteActionByQuery.setPostQueryConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.POST,
+        deleteActionByQuery.setPostQueryConsumer(getSpiComposite(hooks, SpiAction.DELETE, SpiAction.Advice.POST,
                 BiConsumer.class, entityClass, deleteQueryClass, userClass));
-        deleteActionByQuery.setAfterConsumer(getSpiComposite(SpiAction.DELETE, SpiAction.Advice.AFTER,
+        deleteActionByQuery.setAfterConsumer(getSpiComposite(hooks, SpiAction.DELETE, SpiAction.Advice.AFTER,
                 AfterConsumer.class, entityClass, deleteQueryClass, Void.class, Integer.class, userClass));
+        deleteActionByQuery.setPreloadHooks(hooks);
         return deleteActionByQuery;
     }
 
@@ -698,31 +707,37 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
         return insertDomainActionDispatcher;
     }
 
-    private void acceptUpdateDomainAction(AbsUpdateDeleteDomainActionDispatcher action, SpiAction spiAction,
+    private void acceptUpdateDomainAction(AbsUpdateDeleteDomainActionDispatcher action, Object function, SpiAction spiAction,
                                           Class<?> entityClass, Class<?> paramClass,
                                           Class<?> valueClass, Class<U> userClass) {
-        action.setPreUpdateValidator(getSpiComposite(spiAction, SpiAction.Advice.PRE,
+        final List<Object> hooks = new ArrayList<>();
+        hooks.add(function);
+        action.setPreUpdateValidator(getSpiComposite(hooks, spiAction, SpiAction.Advice.PRE,
                 BiValidator.class, entityClass, valueClass, userClass));
-        action.setPreUpdateConsumer(getSpiComposite(spiAction, SpiAction.Advice.PRE,
+        action.setPreUpdateConsumer(getSpiComposite(hooks, spiAction, SpiAction.Advice.PRE,
                 UpdateConsumer.class, entityClass, valueClass, userClass));
-        action.setPostUpdateConsumer(getSpiComposite(spiAction, SpiAction.Advice.POST,
+        action.setPostUpdateConsumer(getSpiComposite(hooks, spiAction, SpiAction.Advice.POST,
                 UpdateConsumer.class, entityClass, valueClass, userClass));
-        action.setAfterConsumer(getSpiComposite(spiAction, SpiAction.Advice.AFTER,
+        action.setAfterConsumer(getSpiComposite(hooks, spiAction, SpiAction.Advice.AFTER,
                 AfterConsumer.class, entityClass, paramClass, Void.class, Integer.class, userClass));
+        action.setPreloadHooks(hooks);
     }
 
 
-    private void acceptUpdateDomainAction(AbsUpdateDeleteDomainActionDispatcher action, SpiAction spiAction,
+    private void acceptUpdateDomainAction(AbsUpdateDeleteDomainActionDispatcher action, Object function, SpiAction spiAction,
                                           ResolvableType entityClass, ResolvableType paramClass,
                                           ResolvableType valueClass, ResolvableType userClass) {
-        action.setPreUpdateValidator(getSpiComposite(spiAction, SpiAction.Advice.PRE,
+        final List<Object> hooks = new ArrayList<>();
+        hooks.add(function);
+        action.setPreUpdateValidator(getSpiComposite(hooks, spiAction, SpiAction.Advice.PRE,
                 BiValidator.class, entityClass, valueClass, userClass));
-        action.setPreUpdateConsumer(getSpiComposite(spiAction, SpiAction.Advice.PRE,
+        action.setPreUpdateConsumer(getSpiComposite(hooks, spiAction, SpiAction.Advice.PRE,
                 UpdateConsumer.class, entityClass, valueClass, userClass));
-        action.setPostUpdateConsumer(getSpiComposite(spiAction, SpiAction.Advice.POST,
+        action.setPostUpdateConsumer(getSpiComposite(hooks, spiAction, SpiAction.Advice.POST,
                 UpdateConsumer.class, entityClass, valueClass, userClass));
-        action.setAfterConsumer(getSpiComposite(spiAction, SpiAction.Advice.AFTER,
+        action.setAfterConsumer(getSpiComposite(hooks, spiAction, SpiAction.Advice.AFTER,
                 AfterConsumer.class, entityClass, paramClass, ResolvableType.forClass(Void.class), ResolvableType.forClass(Integer.class), userClass));
+        action.setPreloadHooks(hooks);
     }
 
 
@@ -733,8 +748,15 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
         return defaultClass;
     }
 
-    @SuppressWarnings("unchecked")
     private <E> E getSpiComposite(SpiAction action, SpiAction.Advice advice, Class<E> type, Class<?>... generics) {
+        return getSpiComposite(new ArrayList<>(), action, advice, type, generics);
+    }
+
+    /**
+     * @param hooks the list to collect the beans of the composite, see {@link AbsUpdateDeleteDomainActionDispatcher#setPreloadHooks(java.util.Collection)}.
+     */
+    @SuppressWarnings("unchecked")
+    private <E> E getSpiComposite(List<Object> hooks, SpiAction action, SpiAction.Advice advice, Class<E> type, Class<?>... generics) {
         List beans = getBeansOf(action, advice, type, generics);
         if (CollectionUtils.isEmpty(beans) && type == Filter.class) {
             beans = Collections.singletonList((Filter) (action1, entity, user) -> true);
@@ -745,14 +767,21 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
         }
 
 
+        hooks.addAll(beans);
+
+        // the audit logs the entities only if the other hooks load them, so it is not a preload hook.
         if (type == AfterConsumer.class) {
             beans.add(loggerAfterConsumer);
         }
 
-        return (E) Proxies.composite(type, beans);
+        return (E) Proxies.composite(type, wrapAsyncConsumers(advice, type, beans));
     }
 
     private <E> E getSpiComposite(SpiAction action, SpiAction.Advice advice, Class<E> type, ResolvableType... generics) {
+        return getSpiComposite(new ArrayList<>(), action, advice, type, generics);
+    }
+
+    private <E> E getSpiComposite(List<Object> hooks, SpiAction action, SpiAction.Advice advice, Class<E> type, ResolvableType... generics) {
         List beans = getBeansOf(action, advice, type, generics);
         if (CollectionUtils.isEmpty(beans) && type == Filter.class) {
             beans = Collections.singletonList((Filter) (action1, entity, user) -> true);
@@ -763,11 +792,32 @@ public class DefaultDomainActionsFactory<K extends Serializable, T extends IEnti
         }
 
 
+        hooks.addAll(beans);
+
+        // the audit logs the entities only if the other hooks load them, so it is not a preload hook.
         if (type == AfterConsumer.class) {
             beans.add(loggerAfterConsumer);
         }
 
-        return (E) Proxies.composite(type, beans);
+        return (E) Proxies.composite(type, wrapAsyncConsumers(advice, type, beans));
+    }
+
+    /**
+     * wrap the post consumers annotated by {@link AsyncConsumer}, which are executed after commit.
+     */
+    @SuppressWarnings("unchecked")
+    private List wrapAsyncConsumers(SpiAction.Advice advice, Class<?> type, List beans) {
+        if (advice != SpiAction.Advice.POST || ((List<Object>) beans).stream().noneMatch(AsyncConsumerExecutor::isAsync)) {
+            return beans;
+        }
+        final AsyncConsumerExecutor executor = applicationContext.getBeanProvider(AsyncConsumerExecutor.class).getIfAvailable();
+        if (Objects.isNull(executor)) {
+            logger.warn("AsyncConsumerExecutor is not found, the async consumers are executed synchronously: type={}", type);
+            return beans;
+        }
+        return ((List<Object>) beans).stream()
+                .map(it -> AsyncConsumerExecutor.isAsync(it) ? executor.wrap(type, it) : it)
+                .collect(Collectors.toList());
     }
 
     private List getBeansOf(SpiAction action, SpiAction.Advice advice, Class<?> type, ResolvableType... generics) {
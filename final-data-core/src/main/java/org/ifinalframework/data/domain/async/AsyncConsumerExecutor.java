@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.async;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.data.domain.spi.AsyncConsumer;
+import org.ifinalframework.data.util.ContextSnapshot;
+import org.ifinalframework.data.util.Transactions;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Execute the {@link AsyncConsumer}s after the current transaction committed.
+ *
+ * <p>The calls are dispatched to the lanes by the id of the entity, each lane is a single thread with a bounded queue,
+ * so the calls of the same id are executed in order. The call is executed by the calling thread when the queue of the
+ * lane is full.</p>
+ *
+ * <p>The user, the tenant and the security context of the submitting thread are attached to the thread executing the
+ * call.</p>
+ *
+ * <pre class="code">
+ * final.data.async-consumer.lanes=4
+ * final.data.async-consumer.capacity=1000
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+public class AsyncConsumerExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final AsyncConsumerStats stats = new AsyncConsumerStats();
+
+    public AsyncConsumerExecutor(@Value("${final.data.async-consumer.lanes:4}") int lanes,
+                                 @Value("${final.data.async-consumer.capacity:1000}") int capacity) {
+        this.lanes = new ThreadPoolExecutor[lanes];
+        for (int i = 0; i < lanes; i++) {
+            final String name = "final-async-consumer-" + i;
+            this.lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    }, (runnable, executor) -> {
+                stats.recordCallerRun();
+                if (!executor.isShutdown()) {
+                    runnable.run();
+                }
+            });
+        }
+    }
+
+    public static boolean isAsync(@NonNull Object consumer) {
+        return AnnotatedElementUtils.hasAnnotation(AopUtils.getTargetClass(consumer), AsyncConsumer.class);
+    }
+
+    /**
+     * wrap the consumer, the {@code void} methods of the type are executed after commit.
+     *
+     * @param type     the spi type of the consumer
+     * @param consumer the consumer
+     * @return the wrapped consumer.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> E wrap(@NonNull Class<E> type, @NonNull Object consumer) {
+        final String name = AopUtils.getTargetClass(consumer).getSimpleName();
+        return (E) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class || method.getReturnType() != void.class) {
+                return invoke(consumer, method, args);
+            }
+            final Object key = key(args);
+            final ContextSnapshot snapshot = ContextSnapshot.capture();
+            Transactions.afterCommit(() -> execute(name, key, snapshot, () -> invoke(consumer, method, args)));
+            return null;
+        });
+    }
+
+    /**
+     * execute the task in the lane of the key.
+     *
+     * @param name the name of the task
+     * @param key  the key of the order, the tasks are not ordered if {@code null}.
+     * @param task the task
+     */
+    public void execute(@NonNull String name, @Nullable Object key, @NonNull Task task) {
+        execute(name, key, ContextSnapshot.capture(), task);
+    }
+
+    private void execute(String name, Object key, ContextSnapshot snapshot, Task task) {
+        final int index = Objects.isNull(key) ? next.getAndIncrement() : key.hashCode();
+        stats.recordSubmitted();
+        lanes[Math.floorMod(index, lanes.length)].execute(() -> {
+            final ContextSnapshot previous = snapshot.attach();
+            try {
+                task.run();
+                stats.recordCompleted();
+            } catch (Throwable e) {
+                stats.recordFailed();
+                logger.error("async consumer error: consumer={}, key={}", name, key, e);
+            } finally {
+                previous.attach();
+            }
+        });
+    }
+
+    public AsyncConsumerStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("the async consumers are not completed before shutdown: {}", lane.getQueue().size());
+            }
+        }
+    }
+
+    /**
+     * the id of the first entity of the arguments, or the id param of the action when the entities are not loaded.
+     */
+    @Nullable
+    private static Object key(@Nullable Object[] args) {
+        if (Objects.isNull(args)) {
+            return null;
+        }
+        for (Object arg : args) {
+            final Object entity = arg instanceof Collection<?> collection && !collection.isEmpty()
+                    ? collection.iterator().next() : arg;
+            if (entity instanceof IEntity<?> it && Objects.nonNull(it.getId())) {
+                return it.getId();
+            }
+        }
+        // the param is the first argument after the action, the advice and the entities.
+        for (Object arg : args) {
+            if (Objects.isNull(arg) || arg instanceof Enum<?> || arg instanceof IEntity<?>
+                    || arg instanceof Collection<?> collection && (collection.isEmpty() || collection.iterator().next() instanceof IEntity<?>)) {
+                continue;
+            }
+            final Object id = arg instanceof Collection<?> collection && collection.size() == 1
+                    ? collection.iterator().next() : arg;
+            return id instanceof Number || id instanceof CharSequence ? id : null;
+        }
+        return null;
+    }
+
+    private static Object invoke(Object consumer, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(consumer, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Throwable;
+    }
+
+}
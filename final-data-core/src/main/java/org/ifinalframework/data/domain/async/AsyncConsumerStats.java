@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.async;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of the {@link AsyncConsumerExecutor}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class AsyncConsumerStats {
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+
+    public void recordSubmitted() {
+        submitted.increment();
+    }
+
+    public void recordCompleted() {
+        completed.increment();
+    }
+
+    public void recordFailed() {
+        failed.increment();
+    }
+
+    public void recordCallerRun() {
+        callerRuns.increment();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * the calls executed by the calling thread because the queue of the lane is full.
+     */
+    public long getCallerRuns() {
+        return callerRuns.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("submitted=%d,completed=%d,failed=%d,callerRuns=%d",
+                getSubmitted(), getCompleted(), getFailed(), getCallerRuns());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.audit;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.spi.SpiAction;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The audit event of a domain action, which is snapshotted on the request thread by {@link #of(SpiAction, Object, Object,
+ * Object, Object, IUser, Throwable)}, so the {@link AuditSink} in the worker thread never sees the arguments changed after
+ * the action.
+ *
+ * <p>The snapshot is a shallow copy, which is cheap on the request thread: the immutable scalars and records are kept as
+ * they are, the collections, maps and arrays are copied with their elements snapshotted, and the beans are copied by their
+ * properties. The text of the snapshot is formatted by the {@link AuditSink}s in the worker thread.</p>
+ *
+ * @param timestamp  the epoch millis of the action.
+ * @param entityType the class name of the entity.
+ * @param entityId   the id of the {@link IEntity}.
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public record AuditEvent(long timestamp, SpiAction action, @Nullable String entityType, @Nullable String entityId,
+                         @Nullable Object entity, @Nullable Object param, @Nullable Object value, @Nullable Object result,
+                         @Nullable Object userId, @Nullable String userName, @Nullable Throwable error) {
+
+    @NonNull
+    public static AuditEvent of(@NonNull SpiAction action, @Nullable Object entity, @Nullable Object param,
+                                @Nullable Object value, @Nullable Object result, @Nullable IUser<?> user,
+                                @Nullable Throwable error) {
+        return new AuditEvent(System.currentTimeMillis(), action,
+                Objects.isNull(entity) ? null : ClassUtils.getUserClass(entity).getName(),
+                entity instanceof IEntity<?> it && Objects.nonNull(it.getId()) ? String.valueOf(it.getId()) : null,
+                snapshot(entity), snapshot(param), snapshot(value), snapshot(result),
+                Objects.isNull(user) ? null : snapshot(user.getId()), Objects.isNull(user) ? null : user.getName(), error);
+    }
+
+    @Nullable
+    static Object snapshot(@Nullable Object value) {
+        if (Objects.isNull(value) || ClassUtils.isPrimitiveOrWrapper(value.getClass()) || value instanceof String
+                || value instanceof Enum<?> || value instanceof BigDecimal || value instanceof BigInteger
+                || value instanceof Temporal || value instanceof Throwable || value.getClass().isRecord()) {
+            return value;
+        }
+        if (value.getClass().isArray()) {
+            return snapshot(CollectionUtils.arrayToList(value));
+        }
+        if (value instanceof Collection<?> collection) {
+            final List<Object> list = new ArrayList<>(collection.size());
+            for (Object item : collection) {
+                list.add(snapshot(item));
+            }
+            return Collections.unmodifiableList(list);
+        }
+        if (value instanceof Map<?, ?> map) {
+            final Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            map.forEach((key, item) -> copy.put(key, snapshot(item)));
+            return Collections.unmodifiableMap(copy);
+        }
+        final Class<?> type = ClassUtils.getUserClass(value);
+        if (Objects.isNull(ClassUtils.getConstructorIfAvailable(type))) {
+            return String.valueOf(value);
+        }
+        final Object copy = BeanUtils.instantiateClass(type);
+        BeanUtils.copyProperties(value, copy);
+        return copy;
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.audit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An asynchronous, bounded and batching pipeline of the {@link AuditEvent}s.
+ *
+ * <p>The events are queued by the request threads, and written to the {@link AuditSink}s by a worker thread in the
+ * batches of {@code batchSize} events, or every {@code flushInterval}. When the queue is full, the event is dropped by
+ * {@link Overflow#DROP}, or the request thread waits for the space by {@link Overflow#BLOCK}.</p>
+ *
+ * <pre class="code">
+ * final.data.audit.capacity=10000
+ * final.data.audit.batch-size=200
+ * final.data.audit.flush-interval=200ms
+ * final.data.audit.overflow=DROP
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+public class AuditPipeline implements DisposableBean {
+
+    private final List<AuditSink> sinks;
+
+    private final BlockingQueue<AuditEvent> queue;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final Overflow overflow;
+
+    private final Thread worker;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean closed;
+
+    @Autowired
+    public AuditPipeline(ObjectProvider<AuditSink> sinks,
+                         @Value("${final.data.audit.capacity:10000}") int capacity,
+                         @Value("${final.data.audit.batch-size:200}") int batchSize,
+                         @Value("${final.data.audit.flush-interval:200ms}") Duration flushInterval,
+                         @Value("${final.data.audit.overflow:DROP}") Overflow overflow) {
+        this(sinks.orderedStream().collect(Collectors.toList()), capacity, batchSize, flushInterval, overflow);
+    }
+
+    public AuditPipeline(@NonNull List<AuditSink> sinks, int capacity, int batchSize, @NonNull Duration flushInterval,
+                         @NonNull Overflow overflow) {
+        this.sinks = sinks;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflow = overflow;
+        this.worker = new Thread(this::run, "final-audit");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * queue the event, the event is dropped if the pipeline is closed.
+     *
+     * @return {@code true} if the event is queued.
+     */
+    public boolean publish(@NonNull AuditEvent event) {
+        if (closed) {
+            dropped.increment();
+            return false;
+        }
+        if (overflow == Overflow.BLOCK) {
+            try {
+                queue.put(event);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (queue.offer(event)) {
+            return true;
+        }
+
+        dropped.increment();
+        logger.debug("the audit event is dropped: action={}", event.action());
+        return false;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * the events which are failed to write by any sink.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * stop accepting the events, and write the queued events.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            logger.warn("the audit events are not written before shutdown: {}", queue.size());
+        }
+        if (getDropped() > 0) {
+            logger.warn("the audit events are dropped: {}", getDropped());
+        }
+    }
+
+    private void run() {
+        final long interval = flushInterval.toNanos();
+        final List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                final AuditEvent first = queue.poll(interval, TimeUnit.NANOSECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        for (AuditSink sink : sinks) {
+            try {
+                sink.write(batch);
+            } catch (Throwable e) {
+                failed.add(batch.size());
+                logger.warn("write the audit events error: sink={}, events={}", sink.getClass().getSimpleName(), batch.size(), e);
+            }
+        }
+    }
+
+    public enum Overflow {
+        /**
+         * drop the event when the queue is full, the request thread is never blocked.
+         */
+        DROP,
+        /**
+         * wait for the space of the queue, no event is lost.
+         */
+        BLOCK
+    }
+
+}
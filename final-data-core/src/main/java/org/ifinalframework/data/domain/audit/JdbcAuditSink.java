@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.audit;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.core.IException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+/**
+ * Write the audit events to a table by a JDBC batch, the arguments are written as the text of their snapshots, see
+ * {@link AuditEvent#snapshot(Object)}.
+ *
+ * <pre class="code">
+ * CREATE TABLE final_audit_log
+ * (
+ *     id          BIGINT       NOT NULL AUTO_INCREMENT,
+ *     action      VARCHAR(64)  NOT NULL,
+ *     entity_type VARCHAR(255) NULL,
+ *     entity_id   VARCHAR(64)  NULL,
+ *     param       TEXT         NULL,
+ *     value       TEXT         NULL,
+ *     result      TEXT         NULL,
+ *     user_id     VARCHAR(64)  NULL,
+ *     user_name   VARCHAR(64)  NULL,
+ *     error       TEXT         NULL,
+ *     created     DATETIME     NOT NULL,
+ *     PRIMARY KEY (id)
+ * );
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    public static final String DEFAULT_TABLE = "final_audit_log";
+
+    private final DataSource dataSource;
+
+    private final String sql;
+
+    public JdbcAuditSink(@NonNull DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE);
+    }
+
+    public JdbcAuditSink(@NonNull DataSource dataSource, @NonNull String table) {
+        this.dataSource = dataSource;
+        this.sql = "INSERT INTO " + table
+                + " (action, entity_type, entity_id, param, value, result, user_id, user_name, error, created)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    public void write(List<AuditEvent> events) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (AuditEvent event : events) {
+                statement.setString(1, String.valueOf(event.action()));
+                statement.setString(2, event.entityType());
+                statement.setString(3, event.entityId());
+                statement.setString(4, text(event.param()));
+                statement.setString(5, text(event.value()));
+                statement.setString(6, text(event.result()));
+                statement.setString(7, Objects.isNull(event.userId()) ? null : String.valueOf(event.userId()));
+                statement.setString(8, event.userName());
+                statement.setString(9, error(event.error()));
+                statement.setTimestamp(10, new Timestamp(event.timestamp()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    @Nullable
+    private static String text(@Nullable Object value) {
+        return Objects.isNull(value) ? null : String.valueOf(value);
+    }
+
+    @Nullable
+    private static String error(@Nullable Throwable e) {
+        if (Objects.isNull(e)) {
+            return null;
+        }
+        return e instanceof IException exception ? exception.getCode() + ":" + e.getMessage() : e.toString();
+    }
+
+}
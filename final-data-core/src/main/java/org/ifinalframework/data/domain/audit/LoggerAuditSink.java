@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.audit;
+
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.core.IException;
+import org.ifinalframework.data.domain.spi.DefaultLoggerAfterConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Write the audit events to the log, the failed actions are logged as {@code WARN} for {@link IException}, and
+ * {@code ERROR} for the others.
+ *
+ * <p>The events are logged with the logger of {@link DefaultLoggerAfterConsumer}, which has written the logs before the
+ * audit is asynchronous, so the log routing is kept.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Component
+public class LoggerAuditSink implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultLoggerAfterConsumer.class);
+
+    @Override
+    public void write(List<AuditEvent> events) {
+        for (AuditEvent event : events) {
+            final Throwable e = event.error();
+            if (Objects.isNull(e)) {
+                logger.info("action={},entity={},param={},value={},result={},user={}",
+                        event.action(), event.entity(), event.param(), event.value(), event.result(), event.userId());
+            } else if (e instanceof IException exception) {
+                logger.warn("action={},entity={},param={},value={},result={},user={},code={},message={}",
+                        event.action(), event.entity(), event.param(), event.value(), event.result(), event.userId(),
+                        exception.getCode(), e.getMessage());
+            } else {
+                logger.error("action={},entity={},param={},value={},result={},user={}",
+                        event.action(), event.entity(), event.param(), event.value(), event.result(), event.userId(), e);
+            }
+        }
+    }
+}
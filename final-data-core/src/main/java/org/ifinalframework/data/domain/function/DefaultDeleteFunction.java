@@ -18,6 +18,7 @@ package org.ifinalframework.data.domain.function;
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IQuery;
 import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.repository.Repository;
 import org.ifinalframework.data.spi.DeleteFunction;
 
@@ -34,6 +35,7 @@ import lombok.RequiredArgsConstructor;
  * @version 1.5.1
  * @since 1.5.1
  */
+@Preload(false)
 @RequiredArgsConstructor
 public class DefaultDeleteFunction<K extends Serializable, T extends IEntity<K>, P, U extends IUser<?>>
         implements DeleteFunction<T, P, U> {
@@ -20,6 +20,7 @@ import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IQuery;
 import org.ifinalframework.core.IUser;
 import org.ifinalframework.data.domain.model.AuditValue;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.query.Update;
 import org.ifinalframework.data.repository.Repository;
 import org.ifinalframework.data.spi.UpdateFunction;
@@ -37,6 +38,7 @@ import lombok.RequiredArgsConstructor;
  * @version 1.5.1
  * @since 1.5.1
  */
+@Preload(false)
 @RequiredArgsConstructor
 public class DefaultUpdateAuditStatusFunction<K extends Serializable, T extends IEntity<K>, P, U extends IUser<?>>
         implements UpdateFunction<T, P, IAudit.AuditStatus, AuditValue, U> {
@@ -18,6 +18,7 @@ package org.ifinalframework.data.domain.function;
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IQuery;
 import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.repository.Repository;
 import org.ifinalframework.data.spi.UpdateFunction;
 
@@ -33,6 +34,7 @@ import lombok.RequiredArgsConstructor;
  * @author iimik
  * @since 1.5.2
  **/
+@Preload(false)
 @RequiredArgsConstructor
 public class DefaultUpdateFunction<K extends Serializable, T extends IEntity<K>, P, U extends IUser<?>>
         implements UpdateFunction<T, P, Boolean, T, U> {
@@ -18,6 +18,7 @@ package org.ifinalframework.data.domain.function;
 import org.ifinalframework.context.exception.BadRequestException;
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.query.CriterionTarget;
 import org.ifinalframework.data.query.PageQuery;
 import org.ifinalframework.data.query.Update;
@@ -37,6 +38,7 @@ import lombok.RequiredArgsConstructor;
  * @version 1.5.1
  * @since 1.5.1
  */
+@Preload(false)
 @RequiredArgsConstructor
 public class DefaultUpdateLockedFunction<K extends Serializable, T extends IEntity<K>, P, U extends IUser<?>>
         implements UpdateFunction<T, P, Boolean, Boolean, U> {
@@ -20,6 +20,7 @@ import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IUser;
 import org.ifinalframework.data.annotation.YN;
 import org.ifinalframework.data.domain.model.AuditValue;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.query.CriterionTarget;
 import org.ifinalframework.data.query.PageQuery;
 import org.ifinalframework.data.query.Update;
@@ -40,6 +41,7 @@ import lombok.RequiredArgsConstructor;
  * @version 1.5.6
  * @since 1.5.6
  */
+@Preload(false)
 @RequiredArgsConstructor
 public final class DefaultUpdatePropertyFunction<K extends Serializable, T extends IEntity<K>, P, U extends IUser<?>>
         implements UpdateFunction<T, P, Object, Object, U> {
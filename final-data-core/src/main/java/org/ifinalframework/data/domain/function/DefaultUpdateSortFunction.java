@@ -18,6 +18,7 @@ package org.ifinalframework.data.domain.function;
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IUser;
 import org.ifinalframework.data.domain.model.SortValue;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.query.Update;
 import org.ifinalframework.data.repository.Repository;
 import org.ifinalframework.data.spi.UpdateFunction;
@@ -33,6 +34,7 @@ import lombok.RequiredArgsConstructor;
  * @author iimik
  * @since 1.5.4
  **/
+@Preload(false)
 @RequiredArgsConstructor
 public class DefaultUpdateSortFunction<K extends Serializable, T extends IEntity<K>, U extends IUser<?>>
         implements UpdateFunction<T, Void, Void, List<SortValue<K>>, U> {
@@ -19,6 +19,7 @@ import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IEnum;
 import org.ifinalframework.core.IQuery;
 import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.domain.spi.Preload;
 import org.ifinalframework.data.query.Update;
 import org.ifinalframework.data.repository.Repository;
 import org.ifinalframework.data.spi.UpdateFunction;
@@ -36,6 +37,7 @@ import lombok.RequiredArgsConstructor;
  * @version 1.5.1
  * @since 1.5.1
  */
+@Preload(false)
 @RequiredArgsConstructor
 public class DefaultUpdateStatusFunction<K extends Serializable, T extends IEntity<K>, P, U extends IUser<?>>
         implements UpdateFunction<T, P, IEnum<?>, IEnum<?>, U> {
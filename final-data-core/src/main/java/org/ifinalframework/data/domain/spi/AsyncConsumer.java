@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.spi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Dispatch the {@link org.ifinalframework.data.spi.SpiAction.Advice#POST} consumer asynchronously after the current
+ * transaction committed, such as the notifications and the index updates.
+ *
+ * <p>The calls of the same entity id are executed in order, and the errors of the consumer are logged without
+ * affecting the action. The consumer is discarded if the transaction is rolled back.</p>
+ *
+ * <pre class="code">
+ * &#64;AsyncConsumer
+ * public class OrderPostUpdateNotifyConsumer implements UpdateConsumer&lt;Order, OrderValue, User&gt; {
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.domain.async.AsyncConsumerExecutor
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncConsumer {
+}
@@ -16,35 +16,49 @@
 package org.ifinalframework.data.domain.spi;
 
 import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
 
 import org.ifinalframework.core.IEntity;
-import org.ifinalframework.core.IException;
 import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.domain.audit.AuditEvent;
+import org.ifinalframework.data.domain.audit.AuditPipeline;
 import org.ifinalframework.data.spi.SpiAction;
 
-import java.util.Objects;
-
-import lombok.extern.slf4j.Slf4j;
+import java.util.List;
 
 /**
  * DefaultLoggerAfterConsumer.
  *
+ * <p>Snapshot the {@link AuditEvent} on the request thread, which is written by the {@link AuditPipeline} asynchronously,
+ * and logged by the {@link org.ifinalframework.data.domain.audit.LoggerAuditSink} with the logger of this class.</p>
+ *
+ * <p>The audit never loads the entities by itself, it logs the entities loaded for the other hooks, see {@link Preload},
+ * or an event without the entity for the param of the action if none is loaded.</p>
+ *
  * @author iimik
  * @version 1.5.1
  * @since 1.5.1
  */
-@Slf4j
 @Component
 public class DefaultLoggerAfterConsumer implements LoggerAfterConsumer {
+
+    private final AuditPipeline auditPipeline;
+
+    public DefaultLoggerAfterConsumer(AuditPipeline auditPipeline) {
+        this.auditPipeline = auditPipeline;
+    }
+
     @Override
-    public void accept(SpiAction action, IEntity<?> entity, Object param, Object value, Object result, IUser<?> user, Throwable e) {
-        if (Objects.isNull(e)) {
-            logger.info("action={},entity={},param={},value={},result={}", action, entity, param, value, result);
-        } else if (e instanceof IException) {
-            logger.warn("action={},entity={},param={},value={},result={},code={},message={}",
-                    action, entity, param, value, result, ((IException) e).getCode(), e.getMessage());
-        } else {
-            logger.error("action={},entity={},param={},value={},result={}", action, entity, param, value, result, e);
+    public void accept(SpiAction action, List<IEntity<?>> entities, Object param, Object value, Object result, IUser<?> user, Throwable e) {
+        if (CollectionUtils.isEmpty(entities)) {
+            accept(action, (IEntity<?>) null, param, value, result, user, e);
+            return;
         }
+        LoggerAfterConsumer.super.accept(action, entities, param, value, result, user, e);
+    }
+
+    @Override
+    public void accept(SpiAction action, IEntity<?> entity, Object param, Object value, Object result, IUser<?> user, Throwable e) {
+        auditPipeline.publish(AuditEvent.of(action, entity, param, value, result, user, e));
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.spi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare how the spi hook of the update and delete actions reads the entities loaded before the action.
+ *
+ * <p>The hooks without this annotation read all the properties of the entities. If none of the hooks of an action reads
+ * the entities, the action is executed without loading them.</p>
+ *
+ * <pre class="code">
+ * &#64;Preload(properties = {"id", "status"})
+ * public class OrderPreDeleteConsumer implements Consumer&lt;Order, User&gt; {
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.domain.AbsUpdateDeleteDomainActionDispatcher
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Preload {
+
+    /**
+     * whether the hook reads the entities.
+     */
+    boolean value() default true;
+
+    /**
+     * the properties of the entities read by the hook, all the properties if empty.
+     */
+    String[] properties() default {};
+}
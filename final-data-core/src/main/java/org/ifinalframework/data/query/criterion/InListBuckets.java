@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.query.criterion;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Pad the values of {@code IN} lists up to the bucket size of {@code 1, 2, 4, 8, ... 1024} by repeating the last value,
+ * so the number of distinct statements is small and the prepared statements could be cached by the driver and server.
+ *
+ * <p>The bucket is called from the {@code <foreach collection="...">} of the scripts by OGNL:</p>
+ *
+ * <pre class="code">
+ * &lt;foreach collection="@org.ifinalframework.data.query.criterion.InListBuckets@bucket(ids)" item="id"&gt;
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public final class InListBuckets {
+
+    /**
+     * the max bucket size, the larger lists are not padded, which should be split into chunks.
+     */
+    public static final int MAX_BUCKET = 1024;
+
+    private static final String COLLECTION_EXPRESSION = "@" + InListBuckets.class.getName() + "@bucket(%s)";
+
+    private InListBuckets() {
+    }
+
+    /**
+     * return the bucket size of the size.
+     */
+    public static int bucketSize(int size) {
+        if (size <= 1 || size > MAX_BUCKET) {
+            return size;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * pad the values of a {@link Collection} or array up to the bucket size.
+     *
+     * @param values the values of {@code IN} list.
+     * @return the padded values, or an empty list if the values are {@code null}.
+     */
+    public static List<Object> bucket(@Nullable Object values) {
+        final List<Object> list;
+        if (Objects.isNull(values)) {
+            return Collections.emptyList();
+        } else if (values instanceof Collection<?> collection) {
+            list = new ArrayList<>(bucketSize(collection.size()));
+            list.addAll(collection);
+        } else if (values.getClass().isArray()) {
+            final Object[] array = ObjectUtils.toObjectArray(values);
+            list = new ArrayList<>(bucketSize(array.length));
+            list.addAll(Arrays.asList(array));
+        } else {
+            return Collections.singletonList(values);
+        }
+
+        if (CollectionUtils.isEmpty(list)) {
+            return list;
+        }
+
+        final Object last = list.get(list.size() - 1);
+        final int size = bucketSize(list.size());
+        while (list.size() < size) {
+            list.add(last);
+        }
+        return list;
+    }
+
+    /**
+     * replace the {@code collection} of the {@code <foreach>} in the script with the bucket of the collection.
+     *
+     * @param script     the script of the criterion.
+     * @param collection the expression of the collection, such as {@code query.ids}.
+     * @return the script with the bucket collection.
+     */
+    public static String apply(String script, String collection) {
+        return script.replace("collection=\"" + collection + "\"",
+                "collection=\"" + String.format(COLLECTION_EXPRESSION, collection) + "\"");
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.query.criterion;
+
+import org.ifinalframework.core.IEntity;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Filter the rows by a correlated {@code NOT EXISTS} subquery of another entity, annotated on a property of the query class.
+ *
+ * <p>The properties of the annotated value are the criteria of the subquery, resolved against the {@link #entity()},
+ * and a {@link Boolean} value of {@code true} only tests the absence of the correlated rows.</p>
+ *
+ * <pre class="code">
+ * public class OrderQuery extends PageQuery {
+ *
+ *     // NOT EXISTS (SELECT 1 FROM order_item WHERE order_item.order_id = order.id AND sku = #{query.items.sku})
+ *     &#64;NotExists(entity = OrderItem.class, property = "orderId")
+ *     private OrderItemQuery items;
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Exists
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NotExists {
+
+    /**
+     * the entity of the subquery.
+     */
+    Class<? extends IEntity> entity();
+
+    /**
+     * the property of the {@link #entity()} which references the outer entity.
+     */
+    String property();
+
+    /**
+     * the property of the outer entity which is referenced.
+     */
+    String reference() default "id";
+
+}
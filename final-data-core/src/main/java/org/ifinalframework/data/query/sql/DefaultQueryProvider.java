@@ -25,9 +25,12 @@ import org.ifinalframework.core.Orderable;
 import org.ifinalframework.data.annotation.criterion.Criteria;
 import org.ifinalframework.data.annotation.criterion.Criterion;
 import org.ifinalframework.data.annotation.criterion.CriterionSqlProvider;
+import org.ifinalframework.data.annotation.criterion.In;
+import org.ifinalframework.data.annotation.criterion.NotIn;
 import org.ifinalframework.data.annotation.criterion.Or;
 import org.ifinalframework.data.annotation.function.Function;
 import org.ifinalframework.data.mapping.Entity;
+import org.ifinalframework.data.mapping.Property;
 import org.ifinalframework.data.query.AndOr;
 import org.ifinalframework.data.query.CriterionAttributes;
 import org.ifinalframework.data.query.DefaultQEntityFactory;
@@ -35,7 +38,11 @@ import org.ifinalframework.data.query.PageQuery;
 import org.ifinalframework.data.query.QEntity;
 import org.ifinalframework.data.query.QEntityFactory;
 import org.ifinalframework.data.query.criterion.CriterionHandlerRegistry;
+import org.ifinalframework.data.query.criterion.Exists;
+import org.ifinalframework.data.query.criterion.InListBuckets;
+import org.ifinalframework.data.query.criterion.NotExists;
 import org.ifinalframework.data.query.criterion.VelocityCriterionValue;
+import org.ifinalframework.data.util.TableUtils;
 import org.ifinalframework.data.util.TenantUtils;
 import org.ifinalframework.util.Asserts;
 import org.ifinalframework.velocity.Velocities;
@@ -65,6 +72,10 @@ public final class DefaultQueryProvider extends AbsQueryProvider {
 
     public static final String FORMAT = "%s.%s";
 
+    private static final String TABLE = "${table}";
+
+    private static final String EXISTS_ALIAS_PREFIX = "exists_";
+
     private static final Set<String> IGNORE_ATTRIBUTES = Stream.of(
             CriterionAttributes.ATTRIBUTE_NAME_PROPERTY,
             CriterionAttributes.ATTRIBUTE_NAME_VALUE
@@ -97,7 +108,7 @@ public final class DefaultQueryProvider extends AbsQueryProvider {
 
         final Class<?> queryClass = query.getClass();
         appendCriteria(whereBuilder, expression, properties, queryClass,
-                AnnotatedElementUtils.isAnnotated(queryClass, Or.class) ? AndOr.OR : AndOr.AND);
+                AnnotatedElementUtils.isAnnotated(queryClass, Or.class) ? AndOr.OR : AndOr.AND, TABLE);
 
         whereBuilder.append("</where>");
 
@@ -145,12 +156,23 @@ public final class DefaultQueryProvider extends AbsQueryProvider {
         }
     }
 
+    /**
+     * @param owner the table or alias of the {@code entity}, which is referenced by the correlated subqueries.
+     */
     private void appendCriteria(final StringBuilder sql, final String expression, final QEntity<?, ?> entity,
-                                final Class<?> query, final AndOr andOr) {
+                                final Class<?> query, final AndOr andOr, final String owner) {
 
         Entity.from(query)
                 .forEach(property -> {
-                    if (property.isAnnotationPresent(Criterion.class)) {
+                    if (property.isAnnotationPresent(Exists.class)) {
+                        final Exists exists = property.getRequiredAnnotation(Exists.class);
+                        appendExists(sql, expression, entity, property, andOr, owner, false,
+                                exists.entity(), exists.property(), exists.reference());
+                    } else if (property.isAnnotationPresent(NotExists.class)) {
+                        final NotExists exists = property.getRequiredAnnotation(NotExists.class);
+                        appendExists(sql, expression, entity, property, andOr, owner, true,
+                                exists.entity(), exists.property(), exists.reference());
+                    } else if (property.isAnnotationPresent(Criterion.class)) {
                         final Criterion criterion = property.getRequiredAnnotation(Criterion.class);
                         Class<? extends Annotation> annotation = criterion.annotation();
                         Field field = property.getField();
@@ -216,20 +238,65 @@ public final class DefaultQueryProvider extends AbsQueryProvider {
                         criterionAttributes.put("expression", criterion.value());
                         // process @Criterion annotation
                         final String value = criterionSqlProvider.provide(criterionAttributes, metadata);
-                        sql.append(value);
+                        if (In.class == annotation || NotIn.class == annotation) {
+                            sql.append(InListBuckets.apply(value, String.format(FORMAT, expression, property.getName())));
+                        } else {
+                            sql.append(value);
+                        }
                     } else if (property.isAnnotationPresent(Criteria.class)) {
                         sql.append("<if test=\"").append(expression).append(".").append(property.getName())
                                 .append(" != null\">");
                         sql.append("<trim prefix=\" ").append(andOr.name())
                                 .append(" (\" suffix=\")\" prefixOverrides=\"AND |OR \">");
                         appendCriteria(sql, expression + "." + property.getName(), entity, property.getType(),
-                                property.isAnnotationPresent(Or.class) ? AndOr.OR : AndOr.AND);
+                                property.isAnnotationPresent(Or.class) ? AndOr.OR : AndOr.AND, owner);
                         sql.append("</trim>");
                         sql.append("</if>");
                     }
                 });
     }
 
+    /**
+     * <pre class="code">
+     * AND [NOT] EXISTS (SELECT 1 FROM sub_table AS exists_property
+     *      WHERE exists_property.sub_column = owner.column AND (criteria of the property value))
+     * </pre>
+     *
+     * <p>The subquery table is aliased, so the owner is visible even if the subquery entity is the outer one, and
+     * the unqualified columns of the criteria are resolved to the subquery table.</p>
+     */
+    private void appendExists(final StringBuilder sql, final String expression, final QEntity<?, ?> entity,
+                              final Property property, final AndOr andOr, final String owner, final boolean not,
+                              final Class<? extends IEntity> subEntity, final String subProperty, final String reference) {
+
+        final String value = expression + "." + property.getName();
+        final boolean flag = Boolean.class == property.getType() || boolean.class == property.getType();
+        final QEntity<?, ?> sub = entityFactory.create(subEntity);
+        final String alias = EXISTS_ALIAS_PREFIX + property.getName();
+
+        sql.append("<if test=\"").append(value).append(flag ? " == true\">" : " != null\">");
+        sql.append(" ").append(andOr.name()).append(not ? " NOT EXISTS" : " EXISTS")
+                .append(" (SELECT 1 FROM ").append(TableUtils.getTable(subEntity)).append(" AS ").append(alias)
+                .append(" WHERE ").append(alias).append(".").append(sub.getRequiredProperty(subProperty).getColumn())
+                .append(" = ").append(owner).append(".").append(entity.getRequiredProperty(reference).getColumn());
+
+        if (TenantUtils.isTenant(subEntity) && sub.hasTenantProperty()) {
+            // not guarded by the tenant of the outer entity, which is null when the outer entity is not a tenant entity.
+            sql.append(" AND ").append(alias).append(".").append(sub.getTenantProperty().getColumn())
+                    .append(" = #{").append(Exists.TENANT_PARAM_NAME).append("}");
+        }
+
+        if (!flag) {
+            final Class<?> subQuery = property.getType();
+            sql.append("<trim prefix=\" AND (\" suffix=\")\" prefixOverrides=\"AND |OR \">");
+            appendCriteria(sql, value, sub, subQuery,
+                    AnnotatedElementUtils.isAnnotated(subQuery, Or.class) ? AndOr.OR : AndOr.AND, alias);
+            sql.append("</trim>");
+        }
+
+        sql.append(")</if>");
+    }
+
 
     private void appendAnnotationAttributesToMetadata(final AnnotationAttributes annotationAttributes,
                                                       final CriterionAttributes metadata) {
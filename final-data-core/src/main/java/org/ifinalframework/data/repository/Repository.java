@@ -25,13 +25,30 @@ import org.ifinalframework.core.IUpdate;
 import org.ifinalframework.core.Pageable;
 import org.ifinalframework.core.ParamsBuilder;
 import org.ifinalframework.data.query.Update;
+import org.ifinalframework.data.repository.aggregate.AggregateSpec;
+import org.ifinalframework.data.repository.batch.BatchContext;
+import org.ifinalframework.data.repository.checkpoint.CheckpointPolicy;
+import org.ifinalframework.data.repository.claim.Claim;
+import org.ifinalframework.data.repository.claim.Claims;
+import org.ifinalframework.data.repository.checkpoint.CheckpointScanner;
+import org.ifinalframework.data.repository.checkpoint.Keyset;
+import org.ifinalframework.data.repository.checkpoint.KeysetContext;
+import org.ifinalframework.data.repository.chunk.ChunkPolicy;
+import org.ifinalframework.data.repository.chunk.Chunks;
+import org.ifinalframework.data.repository.page.HasNextContext;
+import org.ifinalframework.data.repository.page.Slice;
+import org.ifinalframework.data.repository.projection.Projection;
+import org.ifinalframework.data.repository.retry.OptimisticRetry;
+import org.ifinalframework.data.repository.retry.RetryPolicy;
 import org.ifinalframework.util.Asserts;
 
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -351,9 +368,9 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default int update(@NonNull Collection<T> entities) {
-        return entities.stream()
+        return BatchContext.execute(() -> entities.stream()
                 .mapToInt(this::update)
-                .sum();
+                .sum());
     }
 
     default int update(String table, T... entities) {
@@ -377,9 +394,9 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default int update(@NonNull Collection<T> entities, boolean selective) {
-        return entities.stream()
+        return BatchContext.execute(() -> entities.stream()
                 .mapToInt(it -> update(it, selective))
-                .sum();
+                .sum());
     }
 
     default int update(String table, Class<?> view, Collection<T> entities) {
@@ -391,9 +408,9 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default int update(String table, Class<?> view, Collection<T> entities, boolean selective) {
-        return entities.stream()
+        return BatchContext.execute(() -> entities.stream()
                 .mapToInt(it -> update(table, view, it, selective))
-                .sum();
+                .sum());
     }
 
     // -----------------Update---------
@@ -422,6 +439,84 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
         return update(table, null, null, update, false, null, query);
     }
 
+    default long updateInChunks(@NonNull IUpdate update, @NonNull IQuery query, @NonNull ChunkPolicy policy) {
+        return updateInChunks(null, update, query, policy);
+    }
+
+    /**
+     * update the rows matching the query in the chunks of ids, use {@link ChunkPolicy.Mode#KEY} unless the update makes
+     * the rows no longer matching the query.
+     *
+     * @param table  表名
+     * @param update 更新
+     * @param query  更新条件，must be {@link org.ifinalframework.core.Pageable}
+     * @param policy the chunk policy
+     * @return 更新数据后影响的行数
+     * @see Chunks
+     * @since 1.6.0
+     */
+    default long updateInChunks(@Nullable String table, @NonNull IUpdate update, @NonNull IQuery query, @NonNull ChunkPolicy policy) {
+        return Chunks.<I>execute(policy, ChunkPolicy.Mode.KEY, query, it -> selectIds(table, it),
+                keyset -> selectIds(table, query, keyset), ids -> update(table, update, ids));
+    }
+
+    default List<T> claim(@NonNull IQuery query, int batch, @NonNull IUpdate mark) {
+        return claim(null, query, batch, mark);
+    }
+
+    /**
+     * claim at most {@code batch} rows matching the query, which are not locked by other transactions, and mark them by
+     * the update, must be called in a transaction.
+     *
+     * @param table 表名
+     * @param query 查询条件，the orders are honored and the rows are ordered by the id by default.
+     * @param batch the max rows to claim
+     * @param mark  the update to mark the claimed rows, such as the status and the owner.
+     * @return the claimed rows, before marked.
+     * @see Claims
+     * @since 1.6.0
+     */
+    default List<T> claim(@Nullable String table, @NonNull IQuery query, int batch, @NonNull IUpdate mark) {
+        return Claims.claim(query, batch, claim -> {
+            final ParamsBuilder<I, T> builder = ParamsBuilder.builder();
+            final Map<String, Object> params = builder.table(table).query(query).build();
+            params.put(Claim.PARAM_NAME, claim);
+            return select(params);
+        }, ids -> update(table, mark, ids));
+    }
+
+    default T updateWithRetry(@NonNull I id, @NonNull Function<T, T> mutator, @NonNull RetryPolicy policy) {
+        return updateWithRetry(null, id, mutator, policy);
+    }
+
+    /**
+     * load the entity, apply the mutator and update it with the version of the loaded entity, reload and reapply when
+     * the version is conflicted by another writer. The whole entity is updated, so the properties set to {@code null}
+     * by the mutator are updated too.
+     *
+     * @param table   表名
+     * @param id      the id of the entity
+     * @param mutator apply the changes to the loaded entity, may be called more than once.
+     * @param policy  the retry policy
+     * @return the reloaded entity after updated, or {@code null} if the entity is not found.
+     * @throws org.ifinalframework.data.repository.retry.OptimisticLockException if the version is still conflicted after
+     *                                                                           the max attempts.
+     * @throws IllegalArgumentException                                          if the entity has not a {@code @Version}
+     *                                                                           property.
+     * @throws IllegalStateException                                             if there is an actual transaction.
+     * @see OptimisticRetry
+     * @since 1.6.0
+     */
+    default T updateWithRetry(@Nullable String table, @NonNull I id, @NonNull Function<T, T> mutator,
+                              @NonNull RetryPolicy policy) {
+        return OptimisticRetry.execute(policy, id, () -> selectOne(table, null, id, null), mutator, entity -> {
+            final ParamsBuilder<I, T> builder = ParamsBuilder.builder();
+            final Map<String, Object> params = builder.table(table).update(entity).selective(false).ids(List.of(id)).build();
+            params.put(OptimisticRetry.VERSION_CHECK_PARAM_NAME, true);
+            return update(params);
+        });
+    }
+
     /**
      * 更新数据并返回影响的行数
      *
@@ -517,6 +612,26 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
         listener.onFinish(param);
     }
 
+    default long deleteInChunks(@NonNull IQuery query, @NonNull ChunkPolicy policy) {
+        return deleteInChunks(null, query, policy);
+    }
+
+    /**
+     * delete the rows matching the query in the chunks of ids, each chunk is a short statement instead of a
+     * {@code DELETE} locking all the rows.
+     *
+     * @param table  表名
+     * @param query  条件，must be {@link org.ifinalframework.core.Pageable}
+     * @param policy the chunk policy
+     * @return 删除符合条件的数据所影响的行数
+     * @see Chunks
+     * @since 1.6.0
+     */
+    default long deleteInChunks(@Nullable String table, @NonNull IQuery query, @NonNull ChunkPolicy policy) {
+        return Chunks.<I>execute(policy, ChunkPolicy.Mode.LIMIT, query, it -> selectIds(table, it),
+                keyset -> selectIds(table, query, keyset), ids -> delete(table, ids));
+    }
+
     /*==============================================================================================*/
     /*=========================================== SELECT ===========================================*/
     /*==============================================================================================*/
@@ -593,13 +708,91 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
      * @param ids   要查询的IDS
      * @param query 查询条件
      * @return list
+     * @see KeysetContext
+     * @see HasNextContext#bind(IQuery)
      */
     default List<T> select(@Nullable String table, @Nullable Class<?> view, @Nullable Collection<I> ids,
                            @Nullable IQuery query) {
         final ParamsBuilder<I, T> builder = ParamsBuilder.builder();
-        return select(builder.table(table).view(view).ids(ids).query(query).build());
+        final Map<String, Object> params = builder.table(table).view(view).ids(ids).query(query).build();
+        final Keyset keyset = KeysetContext.get(query);
+        if (Objects.nonNull(keyset)) {
+            params.put(Keyset.PARAM_NAME, keyset);
+        }
+        final List<T> list = HasNextContext.isBound(query) ? HasNextContext.execute(() -> select(params)) : select(params);
+        if (Objects.nonNull(keyset)) {
+            KeysetContext.selected(query, list);
+        }
+        return list;
+    }
+
+    /**
+     * select the entities with only the given properties and the id.
+     *
+     * @param properties the properties to select
+     * @param ids        要查询的IDS
+     * @param query      查询条件
+     * @return list
+     * @since 1.6.0
+     */
+    default List<T> selectProperties(@NonNull Collection<String> properties, @Nullable Collection<I> ids, @Nullable IQuery query) {
+        final ParamsBuilder<I, T> builder = ParamsBuilder.builder();
+        final Map<String, Object> params = builder.ids(ids).query(query).build();
+        params.put(Projection.PROPERTIES_PARAM_NAME, properties);
+        return select(params);
+    }
+
+    /**
+     * select the properties of the projection, which is a {@code record} or an {@code interface}.
+     *
+     * @param query      查询条件
+     * @param projection the projection class
+     * @return the list of projection
+     * @see Projection
+     * @since 1.6.0
+     */
+    default <D> List<D> select(@NonNull IQuery query, @NonNull Class<D> projection) {
+        return select(null, query, projection);
+    }
+
+    default <D> List<D> select(@Nullable String table, @NonNull IQuery query, @NonNull Class<D> projection) {
+        final Projection<D> mapper = Projection.of(projection);
+        final Map<String, Object> params = ParamsBuilder.builder().table(table).query(query).build();
+        params.put(Projection.PROJECTION_PARAM_NAME, projection);
+        return mapper.map(selectMaps(params));
+    }
+
+    /**
+     * aggregate the rows matching the query by the spec.
+     *
+     * @param query 查询条件
+     * @param spec  the aggregate spec
+     * @return the aggregated rows
+     * @see AggregateSpec
+     * @since 1.6.0
+     */
+    default <D> List<D> aggregate(@NonNull IQuery query, @NonNull AggregateSpec<D> spec) {
+        return aggregate(null, query, spec);
+    }
+
+    default <D> List<D> aggregate(@Nullable String table, @NonNull IQuery query, @NonNull AggregateSpec<D> spec) {
+        if (spec.isEmpty()) {
+            throw new IllegalArgumentException("aggregate spec is empty");
+        }
+        final Map<String, Object> params = ParamsBuilder.builder().table(table).query(query).build();
+        params.put(AggregateSpec.AGGREGATE_PARAM_NAME, spec);
+        return spec.map(selectMaps(params));
     }
 
+    /**
+     * select the rows of the {@link Projection} or {@link AggregateSpec}, the keys of the row are the property names or aliases.
+     *
+     * @param params the params with {@link Projection#PROJECTION_PARAM_NAME} or {@link AggregateSpec#AGGREGATE_PARAM_NAME}
+     * @return the rows
+     * @since 1.6.0
+     */
+    List<Map<String, Object>> selectMaps(@NonNull Map<String, Object> params);
+
     /*==============================================================================================*/
     /*========================================= SELECT ONE =========================================*/
     /*==============================================================================================*/
@@ -677,15 +870,47 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
         listener.onStart(param);
 
         List<T> list;
+        boolean hasNext;
 
         do {
             query.setPage(index + offset);
-            list = select(table, view, query);
+            // fetch the page in the "has next" mode, which skips the count statement, but not the selects of the listener.
+            list = HasNextContext.execute(() -> select(table, view, query));
             offset++;
+            hasNext = list instanceof Slice<?> slice ? slice.hasNext() : Asserts.nonEmpty(list) && list.size() >= query.getSize();
             if (!listener.onListening(offset, param, list)) {
                 break;
             }
-        } while (Asserts.isEmpty(list) || list.size() < query.getSize());
+        } while (hasNext);
+
+        listener.onFinish(param);
+    }
+
+    default <P> void scan(@NonNull IQuery query, @NonNull CheckpointPolicy policy, @NonNull Listener<P, List<T>> listener) {
+        scan(null, null, query, policy, listener);
+    }
+
+    /**
+     * scan the rows in the keyset order of the id, and resume from the checkpoint of the {@link CheckpointPolicy#getName()}
+     * after a restart.
+     *
+     * @param table    表名
+     * @param view     视图
+     * @param query    查询条件，the page and size are ignored.
+     * @param policy   the checkpoint policy
+     * @param listener the listener of the pages
+     * @see CheckpointScanner
+     * @since 1.6.0
+     */
+    default <P> void scan(@Nullable String table, @Nullable Class<?> view, @NonNull IQuery query,
+                          @NonNull CheckpointPolicy policy, @NonNull Listener<P, List<T>> listener) {
+        Asserts.requiredNonNull(listener, "listener is null");
+        CheckpointScanner.scan(policy, table, view, query, keyset -> {
+            final ParamsBuilder<I, T> builder = ParamsBuilder.builder();
+            final Map<String, Object> params = builder.table(table).view(view).query(query).build();
+            params.put(Keyset.PARAM_NAME, keyset);
+            return select(params);
+        }, listener);
     }
 
     /*==============================================================================================*/
@@ -707,6 +932,21 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
         return selectIds(ParamsBuilder.builder().table(table).query(query).build());
     }
 
+    /**
+     * 返回符合查询条件 {@link IQuery} 的 {@link Keyset} 页的主键集合，按主键升序
+     *
+     * @param table  表名
+     * @param query  query, the page and size are ignored.
+     * @param keyset the keyset page
+     * @return 符合查询条件 {@link IQuery} 的主键集合 {@link I}
+     * @since 1.6.0
+     */
+    default List<I> selectIds(@Nullable String table, @NonNull IQuery query, @NonNull Keyset keyset) {
+        final Map<String, Object> params = ParamsBuilder.builder().table(table).query(query).build();
+        params.put(Keyset.PARAM_NAME, keyset);
+        return selectIds(params);
+    }
+
     /*==============================================================================================*/
     /*======================================== SELECT COUNT ========================================*/
     /*==============================================================================================*/
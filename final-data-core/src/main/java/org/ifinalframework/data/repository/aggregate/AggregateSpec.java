@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.aggregate;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.data.repository.projection.Projection;
+import org.ifinalframework.util.Asserts;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The specification of the aggregate query, which renders {@code SELECT group_cols, agg(col) ... GROUP BY ... HAVING ...}.
+ *
+ * <pre class="code">
+ * public record OrderStat(Integer status, Long total, BigDecimal amount) {
+ * }
+ *
+ * final List&lt;OrderStat&gt; stats = repository.aggregate(query, AggregateSpec.of(OrderStat.class)
+ *         .groupBy("status")
+ *         .count("total")
+ *         .sum("amount", "amount")
+ *         .having(AggregateFunction.SUM, "amount", AggregateSpec.Operator.GT, 100));
+ * </pre>
+ *
+ * <p>The group properties are mapped by the type handlers of the entity, and the aggregate values are mapped by the
+ * aliases, the rows are mapped into the {@link Projection} of the type, or returned as the maps when the type is
+ * {@link Map}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.repository.Repository#aggregate(String, org.ifinalframework.core.IQuery, AggregateSpec)
+ * @since 1.6.0
+ */
+@Getter
+public final class AggregateSpec<D> {
+
+    public static final String AGGREGATE_PARAM_NAME = "aggregate";
+
+    private static final Pattern ALIAS = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final Class<D> type;
+
+    /**
+     * the group properties of the entity.
+     */
+    private final List<String> groups = new ArrayList<>();
+
+    private final List<Aggregate> aggregates = new ArrayList<>();
+
+    private final List<Having> havings = new ArrayList<>();
+
+    private AggregateSpec(Class<D> type) {
+        this.type = type;
+    }
+
+    /**
+     * @param type the row type, a {@code record}, an {@code interface} or {@link Map}.
+     */
+    public static <D> AggregateSpec<D> of(@NonNull Class<D> type) {
+        return new AggregateSpec<>(type);
+    }
+
+    public AggregateSpec<D> groupBy(@NonNull String... properties) {
+        Collections.addAll(groups, properties);
+        return this;
+    }
+
+    /**
+     * {@code COUNT(*) AS alias}
+     */
+    public AggregateSpec<D> count(@NonNull String alias) {
+        return aggregate(AggregateFunction.COUNT, null, alias);
+    }
+
+    public AggregateSpec<D> count(@NonNull String property, @NonNull String alias) {
+        return aggregate(AggregateFunction.COUNT, property, alias);
+    }
+
+    public AggregateSpec<D> sum(@NonNull String property, @NonNull String alias) {
+        return aggregate(AggregateFunction.SUM, property, alias);
+    }
+
+    public AggregateSpec<D> avg(@NonNull String property, @NonNull String alias) {
+        return aggregate(AggregateFunction.AVG, property, alias);
+    }
+
+    public AggregateSpec<D> min(@NonNull String property, @NonNull String alias) {
+        return aggregate(AggregateFunction.MIN, property, alias);
+    }
+
+    public AggregateSpec<D> max(@NonNull String property, @NonNull String alias) {
+        return aggregate(AggregateFunction.MAX, property, alias);
+    }
+
+    public AggregateSpec<D> aggregate(@NonNull AggregateFunction function, @Nullable String property, @NonNull String alias) {
+        if (!ALIAS.matcher(alias).matches()) {
+            throw new IllegalArgumentException("illegal aggregate alias: " + alias);
+        }
+        aggregates.add(new Aggregate(function, property, alias));
+        return this;
+    }
+
+    /**
+     * {@code HAVING function(property) operator value}, the property is {@code null} for {@code COUNT(*)}.
+     */
+    public AggregateSpec<D> having(@NonNull AggregateFunction function, @Nullable String property,
+                                   @NonNull Operator operator, @NonNull Object value) {
+        havings.add(new Having(function, property, operator, value));
+        return this;
+    }
+
+    /**
+     * the signature of the result columns.
+     */
+    public String getSignature() {
+        return type.getName() + ":" + String.join(",", groups) + ":" + aggregates.stream()
+                .map(it -> it.getFunction() + "(" + it.getProperty() + ")" + it.getAlias())
+                .collect(Collectors.joining(","));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<D> map(@Nullable List<Map<String, Object>> rows) {
+        if (Objects.isNull(rows)) {
+            return Collections.emptyList();
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return (List<D>) rows;
+        }
+        return Projection.of(type).map(rows);
+    }
+
+    public boolean isEmpty() {
+        return Asserts.isEmpty(groups) && Asserts.isEmpty(aggregates);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Aggregate {
+        private final AggregateFunction function;
+        @Nullable
+        private final String property;
+        private final String alias;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Having {
+        private final AggregateFunction function;
+        @Nullable
+        private final String property;
+        private final Operator operator;
+        private final Object value;
+    }
+
+    /**
+     * The operators of {@link Having}, the symbols are escaped for the xml script.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Operator {
+        EQ("="),
+        NE("&lt;&gt;"),
+        GT("&gt;"),
+        GE("&gt;="),
+        LT("&lt;"),
+        LE("&lt;=");
+
+        private final String symbol;
+    }
+
+}
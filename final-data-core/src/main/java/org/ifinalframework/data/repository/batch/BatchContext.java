@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+
+/**
+ * The scope of the bulk writes, which could be deferred by a batch executor and flushed at the end of the scope.
+ *
+ * <p>The deferred writes return a placeholder of the affected rows, the executor registers a flusher which returns
+ * the real affected rows, and {@link #execute(IntSupplier)} returns the sum of the flushed rows instead of the
+ * placeholders. The pending writes should be {@link #flush() flushed} before the reads of the scope, and are discarded
+ * when the action throws.</p>
+ *
+ * <p>The placeholder, such as {@code Integer.MIN_VALUE + 1002} of the MyBatis batch executor, is not an affected row
+ * count, so a write which checks its own result, like the optimistic retry, must not run in the scope.</p>
+ *
+ * <pre class="code">
+ * default int update(Collection&lt;T&gt; entities) {
+ *     return BatchContext.execute(() -&gt; entities.stream().mapToInt(this::update).sum());
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public final class BatchContext {
+
+    private static final ThreadLocal<Batch> BATCH = new ThreadLocal<>();
+
+    private BatchContext() {
+    }
+
+    public static boolean isActive() {
+        return Objects.nonNull(BATCH.get());
+    }
+
+    /**
+     * execute the action in a batch scope, a nested scope joins the outer one.
+     *
+     * @param action the bulk writes.
+     * @return the affected rows of the writes.
+     */
+    public static int execute(IntSupplier action) {
+        if (isActive()) {
+            return action.getAsInt();
+        }
+
+        final Batch batch = new Batch();
+        BATCH.set(batch);
+        try {
+            final int rows;
+            try {
+                rows = action.getAsInt();
+            } catch (RuntimeException | Error e) {
+                batch.discard();
+                throw e;
+            }
+            return batch.flushers.isEmpty() ? rows : batch.flush();
+        } finally {
+            BATCH.remove();
+        }
+    }
+
+    /**
+     * register the flusher of the pending writes, only the first flusher of the key is registered.
+     *
+     * @param key     the key of the flusher, such as the batch session.
+     * @param flusher flush the pending writes and return the affected rows.
+     */
+    public static void register(Object key, IntSupplier flusher) {
+        register(key, flusher, () -> {
+        });
+    }
+
+    /**
+     * register the flusher and the discarder of the pending writes, only the first ones of the key are registered.
+     *
+     * @param key       the key of the flusher, such as the batch session.
+     * @param flusher   flush the pending writes and return the affected rows.
+     * @param discarder discard the pending writes when the action of the scope throws.
+     */
+    public static void register(Object key, IntSupplier flusher, Runnable discarder) {
+        final Batch batch = BATCH.get();
+        if (Objects.nonNull(batch) && !batch.flushers.containsKey(key)) {
+            batch.flushers.put(key, flusher);
+            batch.discarders.add(discarder);
+        }
+    }
+
+    /**
+     * flush the pending writes of current scope, the affected rows are accumulated to the result of the scope.
+     */
+    public static void flush() {
+        final Batch batch = BATCH.get();
+        if (Objects.nonNull(batch)) {
+            batch.rows += batch.flushPending();
+        }
+    }
+
+    private static final class Batch {
+
+        private final Map<Object, IntSupplier> flushers = new LinkedHashMap<>();
+
+        private final List<Runnable> discarders = new ArrayList<>();
+
+        private int rows;
+
+        private int flushPending() {
+            int flushed = 0;
+            for (IntSupplier flusher : flushers.values()) {
+                flushed += flusher.getAsInt();
+            }
+            return flushed;
+        }
+
+        private int flush() {
+            return rows + flushPending();
+        }
+
+        private void discard() {
+            for (Runnable discarder : discarders) {
+                discarder.run();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.cache;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.ParamsBuilder;
+import org.ifinalframework.data.repository.projection.Projection;
+import org.ifinalframework.data.util.Transactions;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A near cache of entities by id, in front of {@code selectOne(id)} and {@code select(ids)}.
+ *
+ * <ul>
+ *     <li>the local tier is a bounded {@link LocalCache} of the copies of entities;</li>
+ *     <li>the optional remote tier is a {@link Cache}, the entities of a table are stored in the hash
+ *     {@code final:near:${table}:${generation}:${id}} with the field {@code ${view}#${tenant}}, and the misses of
+ *     {@code select(ids)} are read in one round trip if the cache is a {@link MultiGetCache};</li>
+ *     <li>the entries of ids are evicted after {@code update}, {@code delete}, {@code save} and {@code replace} by ids or
+ *     entities, and all entries of the table are evicted after the writes by query.</li>
+ * </ul>
+ *
+ * <p>The entities are cached and returned as shallow copies of the properties, so the callers could set the properties
+ * of the returned entities, but should not modify the nested objects. The projected selects, which load only some
+ * properties, are not cached.</p>
+ *
+ * <p>The evictions are applied immediately and again after the current transaction completed, and the entities loaded in
+ * an actual transaction are not cached.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see NearCache
+ * @since 1.6.0
+ */
+@Slf4j
+public class EntityNearCache<I extends Serializable, T extends IEntity<I>> {
+
+    private static final String KEY_PREFIX = "final:near:";
+
+    private static final String COLUMNS_PARAM_NAME = "columns";
+
+    private final String defaultTable;
+    private final Class<T> entityClass;
+    private final Supplier<?> tenantSupplier;
+    private final LocalCache<Key, T> local;
+    @Nullable
+    private final Cache remote;
+    private final long ttl;
+    private final TimeUnit timeUnit;
+    private final CacheStats stats = new CacheStats();
+
+    public EntityNearCache(@NonNull String defaultTable, @NonNull Class<T> entityClass, @NonNull Supplier<?> tenantSupplier,
+                           int maxSize, long ttl, @NonNull TimeUnit timeUnit, @Nullable Cache remote) {
+        this.defaultTable = Objects.requireNonNull(defaultTable);
+        this.entityClass = Objects.requireNonNull(entityClass);
+        this.tenantSupplier = Objects.requireNonNull(tenantSupplier);
+        this.ttl = ttl;
+        this.timeUnit = Objects.requireNonNull(timeUnit);
+        this.local = new LocalCache<>(maxSize, timeUnit.toMillis(ttl));
+        this.remote = remote;
+    }
+
+    /**
+     * return {@code true} if the params only select the whole entities by id or ids.
+     */
+    public static boolean isCacheable(@NonNull Map<String, Object> params) {
+        return Objects.isNull(params.get("query")) && (Objects.nonNull(params.get("id")) || Objects.nonNull(params.get("ids")))
+                && Objects.isNull(params.get(Projection.PROPERTIES_PARAM_NAME))
+                && Objects.isNull(params.get(Projection.PROJECTION_PARAM_NAME))
+                && Objects.isNull(params.get(COLUMNS_PARAM_NAME));
+    }
+
+    @SuppressWarnings("unchecked")
+    public T selectOne(@NonNull Map<String, Object> params, @NonNull Function<Map<String, Object>, T> loader) {
+        final I id = (I) params.get("id");
+        final Key key = key(params, id);
+        T entity = get(key);
+        if (Objects.nonNull(entity)) {
+            return entity;
+        }
+        entity = loader.apply(params);
+        if (Objects.nonNull(entity)) {
+            put(key, entity);
+        }
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> select(@NonNull Map<String, Object> params, @NonNull Function<Map<String, Object>, List<T>> loader) {
+        final Set<I> ids = new LinkedHashSet<>((Collection<I>) params.get("ids"));
+        final Map<I, T> entities = new HashMap<>();
+        final List<Key> localMisses = new ArrayList<>();
+        for (I id : ids) {
+            final Key key = key(params, id);
+            final T entity = getLocal(key);
+            if (Objects.nonNull(entity)) {
+                entities.put(id, entity);
+            } else {
+                localMisses.add(key);
+            }
+        }
+
+        final List<I> misses = new ArrayList<>();
+        final List<T> remoteValues = getRemote(localMisses);
+        for (int i = 0; i < localMisses.size(); i++) {
+            final I id = (I) localMisses.get(i).id();
+            final T entity = remoteValues.get(i);
+            if (Objects.nonNull(entity)) {
+                entities.put(id, entity);
+            } else {
+                stats.recordMiss();
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            final Map<String, Object> missParams = new HashMap<>(params);
+            missParams.put("ids", misses);
+            for (T entity : loader.apply(missParams)) {
+                entities.put(entity.getId(), entity);
+                put(key(params, entity.getId()), entity);
+            }
+        }
+
+        return ids.stream().map(entities::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * evict the entries written by the params, evict the table when the params is not written by ids or entities.
+     *
+     * @param params the params of write.
+     */
+    @SuppressWarnings("unchecked")
+    public void evict(@NonNull Map<String, Object> params) {
+        final String table = table(params);
+        final Collection<I> ids;
+        if (Objects.nonNull(params.get("ids"))) {
+            ids = (Collection<I>) params.get("ids");
+        } else if (Objects.nonNull(params.get(ParamsBuilder.LIST_PARAM_NAME))) {
+            ids = ((Collection<T>) params.get(ParamsBuilder.LIST_PARAM_NAME)).stream()
+                    .map(IEntity::getId).filter(Objects::nonNull).collect(Collectors.toList());
+        } else {
+            ids = null;
+        }
+
+        final Runnable eviction = Objects.isNull(ids) ? () -> evict(table) : () -> evict(table, ids);
+        eviction.run();
+        if (Transactions.isActive()) {
+            Transactions.afterCompletion(eviction);
+        }
+    }
+
+    public void evict(@NonNull String table, @NonNull Collection<I> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        local.removeIf(key -> key.table().equals(table) && ids.contains(key.id()));
+        stats.recordEviction();
+        if (Objects.nonNull(remote)) {
+            try {
+                final long generation = generation(table);
+                ids.forEach(id -> remote.del(remoteKey(table, generation, id), null));
+            } catch (Exception e) {
+                logger.warn("evict remote near cache error: table={},ids={}", table, ids, e);
+            }
+        }
+    }
+
+    public void evict(@NonNull String table) {
+        local.removeIf(key -> key.table().equals(table));
+        stats.recordEviction();
+        if (Objects.nonNull(remote)) {
+            try {
+                remote.increment(KEY_PREFIX + table + ":generation", null, 1L);
+            } catch (Exception e) {
+                logger.warn("evict remote near cache error: table={}", table, e);
+            }
+        }
+    }
+
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    @Nullable
+    private T get(Key key) {
+        final T entity = getLocal(key);
+        if (Objects.nonNull(entity)) {
+            return entity;
+        }
+        final T value = getRemote(List.of(key)).get(0);
+        if (Objects.isNull(value)) {
+            stats.recordMiss();
+        }
+        return value;
+    }
+
+    @Nullable
+    private T getLocal(Key key) {
+        final T entity = local.get(key);
+        if (Objects.isNull(entity)) {
+            return null;
+        }
+        stats.recordLocalHit();
+        return copy(entity);
+    }
+
+    /**
+     * get the entities of the keys from the remote tier, read the generation once and the entities in one round trip if
+     * the remote is a {@link MultiGetCache}.
+     *
+     * @return the entities in the order of keys, {@code null} if missed.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> getRemote(List<Key> keys) {
+        final List<T> values = new ArrayList<>(keys.size());
+        keys.forEach(key -> values.add(null));
+        if (Objects.isNull(remote) || keys.isEmpty()) {
+            return values;
+        }
+
+        // the keys of a call share the table, view and tenant.
+        final Key first = keys.get(0);
+        try {
+            final long generation = generation(first.table());
+            final List<String> remoteKeys = keys.stream().map(key -> remoteKey(key.table(), generation, key.id()))
+                    .collect(Collectors.toList());
+            if (remote instanceof MultiGetCache multiGetCache) {
+                final List<Object> found = multiGetCache.multiGet(remoteKeys, first.field(), entityClass, null);
+                for (int i = 0; i < found.size() && i < keys.size(); i++) {
+                    values.set(i, (T) found.get(i));
+                }
+            } else {
+                for (int i = 0; i < keys.size(); i++) {
+                    values.set(i, remote.get(remoteKeys.get(i), first.field(), entityClass, null));
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("get remote near cache error: table={}, keys={}", first.table(), keys.size(), e);
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            final T value = values.get(i);
+            if (Objects.nonNull(value)) {
+                stats.recordRemoteHit();
+                local.put(keys.get(i), copy(value));
+            }
+        }
+        return values;
+    }
+
+    private void put(Key key, T entity) {
+        if (Transactions.isActive()) {
+            return;
+        }
+        local.put(key, copy(entity));
+        if (Objects.nonNull(remote)) {
+            try {
+                remote.set(remoteKey(key.table(), generation(key.table()), key.id()), key.field(), entity, ttl, timeUnit, null);
+            } catch (Exception e) {
+                logger.warn("set remote near cache error: key={}", key, e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T copy(T entity) {
+        final T copy = (T) BeanUtils.instantiateClass(entity.getClass());
+        BeanUtils.copyProperties(entity, copy);
+        return copy;
+    }
+
+    private long generation(String table) {
+        final Long generation = Objects.requireNonNull(remote).get(KEY_PREFIX + table + ":generation", null, Long.class, null);
+        return Objects.isNull(generation) ? 0L : generation;
+    }
+
+    private Key key(Map<String, Object> params, Object id) {
+        return new Key(table(params), id, (Class<?>) params.get("view"), tenantSupplier.get());
+    }
+
+    private String table(Map<String, Object> params) {
+        final Object table = params.get("table");
+        return Objects.isNull(table) ? defaultTable : table.toString();
+    }
+
+    private static String remoteKey(String table, long generation, Object id) {
+        return KEY_PREFIX + table + ":" + generation + ":" + id;
+    }
+
+    private record Key(String table, Object id, Class<?> view, Object tenant) {
+
+        String field() {
+            return (Objects.isNull(view) ? "" : view.getName()) + "#" + (Objects.isNull(tenant) ? "" : tenant);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.cache;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The capability of a {@link org.ifinalframework.cache.annotation.Cache} to get the same field of many keys in one round
+ * trip, such as a pipeline of {@code HGET}s.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see EntityNearCache
+ * @since 1.6.0
+ */
+public interface MultiGetCache {
+
+    /**
+     * get the values of the field of the keys.
+     *
+     * @param keys  the keys.
+     * @param field the field of the keys, or {@code null} for the plain values.
+     * @param type  the type of the values.
+     * @param view  the view of the values.
+     * @return the values in the order of the keys, {@code null} if missed.
+     */
+    @NonNull
+    <T> List<T> multiGet(@NonNull Collection<?> keys, @Nullable Object field, @NonNull Type type, @Nullable Class<?> view);
+
+}
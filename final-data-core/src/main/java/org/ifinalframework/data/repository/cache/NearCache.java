@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache the entities selected by {@code selectOne(id)} and {@code select(ids)} in an {@link EntityNearCache}.
+ *
+ * <pre class="code">
+ * &#64;NearCache(maxSize = 1024, ttl = 60, remote = true)
+ * public class Dict extends AbsEntity {
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see EntityNearCache
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NearCache {
+
+    /**
+     * the max size of the local tier.
+     */
+    int maxSize() default 1024;
+
+    long ttl() default 60;
+
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * use the {@link org.ifinalframework.cache.annotation.Cache} bean as the remote tier, such as {@code RedisCache}.
+     */
+    boolean remote() default false;
+}
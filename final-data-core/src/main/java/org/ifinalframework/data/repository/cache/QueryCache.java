@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache the results of {@code select(IQuery)} and {@code selectCount(IQuery)}, annotated on the entity class or the query class.
+ *
+ * <p>The results are keyed by the rendered sql and bound parameters, and invalidated by the version of the table
+ * which is increased by every write of the table.</p>
+ *
+ * <pre class="code">
+ * &#64;QueryCache(ttl = 30)
+ * public class DictQuery extends PageQuery {
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryCache {
+
+    /**
+     * the max size of the local tier.
+     */
+    int maxSize() default 256;
+
+    long ttl() default 60;
+
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * use the {@link org.ifinalframework.cache.annotation.Cache} bean as the remote tier, such as {@code RedisCache}.
+     *
+     * <p>Only honored on the entity class, because the remote table version is shared by all queries of the table.</p>
+     */
+    boolean remote() default false;
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The policy of the checkpointed scan.
+ *
+ * <pre class="code">
+ * CheckpointPolicy policy = CheckpointPolicy.builder()
+ *         .name("order-archive")
+ *         .store(new JdbcScanCheckpointStore(dataSource))
+ *         .size(500)
+ *         .every(10)
+ *         .build();
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see CheckpointScanner
+ * @since 1.6.0
+ */
+@Getter
+@Builder
+public class CheckpointPolicy {
+
+    /**
+     * the unique name of the scan, which is the key of the checkpoint.
+     */
+    @NonNull
+    private final String name;
+
+    @NonNull
+    private final ScanCheckpointStore store;
+
+    /**
+     * the rows of a page.
+     */
+    @Builder.Default
+    private final int size = 100;
+
+    /**
+     * save the checkpoint every {@code every} pages, the pages after the last checkpoint are processed again after a
+     * restart.
+     */
+    @Builder.Default
+    private final int every = 1;
+
+}
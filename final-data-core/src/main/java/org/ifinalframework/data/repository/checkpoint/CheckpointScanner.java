@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.repository.Listener;
+import org.ifinalframework.data.util.Transactions;
+import org.ifinalframework.json.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scan the rows in the keyset order of the id, and save the last id of the processed pages as the checkpoint, so the
+ * scan resumes from the checkpoint after a restart.
+ *
+ * <p>The checkpoint is saved after the pages are processed by the listener, so every row is processed at least once.
+ * The checkpoint is ignored if the fingerprint of the table, view and query is changed, and removed when the scan is
+ * finished. A scan cancelled by the listener keeps the checkpoint.</p>
+ *
+ * <p>When the scan runs in a transaction, the checkpoints are saved and removed after the transaction committed, so a
+ * rolled back transaction never leaves the checkpoint ahead of the work.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.repository.Repository#scan(String, Class, IQuery, CheckpointPolicy, Listener)
+ * @since 1.6.0
+ */
+@Slf4j
+public final class CheckpointScanner {
+
+    private CheckpointScanner() {
+    }
+
+    /**
+     * @param select select the page of the {@link Keyset}
+     */
+    public static <P, T extends IEntity<?>> void scan(@NonNull CheckpointPolicy policy, @Nullable String table,
+                                                      @Nullable Class<?> view, @NonNull IQuery query,
+                                                      @NonNull Function<Keyset, List<T>> select,
+                                                      @NonNull Listener<P, List<T>> listener) {
+        final Pageable pageable = query instanceof Pageable it ? it : null;
+        final Integer page = Objects.isNull(pageable) ? null : pageable.getPage();
+        final Integer size = Objects.isNull(pageable) ? null : pageable.getSize();
+        if (Objects.nonNull(pageable)) {
+            // the pages are limited by the keyset.
+            pageable.setPage(null);
+            pageable.setSize(null);
+        }
+
+        try {
+            doScan(policy, fingerprint(table, view, query), select, listener);
+        } finally {
+            if (Objects.nonNull(pageable)) {
+                pageable.setPage(page);
+                pageable.setSize(size);
+            }
+        }
+    }
+
+    private static <P, T extends IEntity<?>> void doScan(CheckpointPolicy policy, String fingerprint,
+                                                         Function<Keyset, List<T>> select, Listener<P, List<T>> listener) {
+        final String name = policy.getName();
+        final ScanCheckpointStore store = policy.getStore();
+
+        Object after = null;
+        final ScanCheckpoint checkpoint = store.load(name);
+        if (Objects.nonNull(checkpoint)) {
+            if (fingerprint.equals(checkpoint.fingerprint())) {
+                after = DefaultConversionService.getSharedInstance().convert(checkpoint.key(),
+                        ClassUtils.resolveClassName(checkpoint.keyType(), CheckpointScanner.class.getClassLoader()));
+                logger.info("resume the scan from the checkpoint: name={}, key={}", name, after);
+            } else {
+                logger.warn("the query of the scan is changed, scan from the beginning: name={}", name);
+            }
+        }
+
+        final P param = listener.onInit();
+        listener.onStart(param);
+
+        int index = 0;
+        int unsaved = 0;
+        boolean finished = false;
+        while (true) {
+            final List<T> list = select.apply(new Keyset(after, policy.getSize()));
+            if (Objects.isNull(list) || list.isEmpty()) {
+                finished = true;
+                break;
+            }
+
+            index++;
+            final boolean next = listener.onListening(index, param, list);
+            after = list.get(list.size() - 1).getId();
+            unsaved++;
+
+            final boolean last = list.size() < policy.getSize();
+            if (!next || last || unsaved >= policy.getEvery()) {
+                final ScanCheckpoint saved = new ScanCheckpoint(name, fingerprint, String.valueOf(after),
+                        after.getClass().getName());
+                afterCommit(() -> store.save(saved));
+                unsaved = 0;
+            }
+
+            if (!next) {
+                break;
+            }
+            if (last) {
+                finished = true;
+                break;
+            }
+        }
+
+        if (finished) {
+            afterCommit(() -> store.remove(name));
+        }
+        listener.onFinish(param);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (Transactions.isActive()) {
+            Transactions.afterCommit(action);
+        } else {
+            action.run();
+        }
+    }
+
+    private static String fingerprint(@Nullable String table, @Nullable Class<?> view, IQuery query) {
+        final String value = String.join("\n", String.valueOf(table), Objects.isNull(view) ? "" : view.getName(),
+                query.getClass().getName(), Json.toJson(query));
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
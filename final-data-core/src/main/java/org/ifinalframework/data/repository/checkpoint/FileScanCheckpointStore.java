@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Store the checkpoints in the {@code <name>.properties} files of a local directory, the file is replaced atomically.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class FileScanCheckpointStore implements ScanCheckpointStore {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[\\w.-]+");
+
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String KEY = "key";
+    private static final String KEY_TYPE = "keyType";
+
+    private final Path directory;
+
+    public FileScanCheckpointStore(@NonNull Path directory) {
+        this.directory = directory;
+    }
+
+    @Nullable
+    @Override
+    public ScanCheckpoint load(@NonNull String name) {
+        final Path file = file(name);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not load the checkpoint: " + file, e);
+        }
+        return new ScanCheckpoint(name, properties.getProperty(FINGERPRINT), properties.getProperty(KEY), properties.getProperty(KEY_TYPE));
+    }
+
+    @Override
+    public void save(@NonNull ScanCheckpoint checkpoint) {
+        final Path file = file(checkpoint.name());
+        final Properties properties = new Properties();
+        properties.setProperty(FINGERPRINT, checkpoint.fingerprint());
+        properties.setProperty(KEY, checkpoint.key());
+        properties.setProperty(KEY_TYPE, checkpoint.keyType());
+        try {
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, checkpoint.name(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                properties.store(output, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not save the checkpoint: " + file, e);
+        }
+    }
+
+    @Override
+    public void remove(@NonNull String name) {
+        try {
+            Files.deleteIfExists(file(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not remove the checkpoint: " + name, e);
+        }
+    }
+
+    private Path file(String name) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("illegal checkpoint name: " + name);
+        }
+        return directory.resolve(name + ".properties");
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import javax.sql.DataSource;
+
+/**
+ * Store the checkpoints in a table, the statements are executed by the connections of the {@link DataSource} directly.
+ * The {@link CheckpointScanner} defers the statements until the transaction of the scan committed.
+ *
+ * <p>The table is not created automatically, the DDL is shipped as {@value #SCHEMA_LOCATION}, e.g. with
+ * {@code spring.sql.init.schema-locations}:</p>
+ *
+ * <pre class="code">
+ * CREATE TABLE IF NOT EXISTS final_scan_checkpoint
+ * (
+ *     name        VARCHAR(128) NOT NULL,
+ *     fingerprint VARCHAR(64)  NOT NULL,
+ *     last_key    VARCHAR(255) NOT NULL,
+ *     key_type    VARCHAR(255) NOT NULL,
+ *     updated     DATETIME     NOT NULL,
+ *     PRIMARY KEY (name)
+ * );
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class JdbcScanCheckpointStore implements ScanCheckpointStore {
+
+    public static final String DEFAULT_TABLE = "final_scan_checkpoint";
+
+    /**
+     * the DDL of the {@link #DEFAULT_TABLE}.
+     */
+    public static final String SCHEMA_LOCATION = "classpath:org/ifinalframework/data/repository/checkpoint/schema.sql";
+
+    private final DataSource dataSource;
+
+    private final String table;
+
+    public JdbcScanCheckpointStore(@NonNull DataSource dataSource) {
+        this(dataSource, DEFAULT_TABLE);
+    }
+
+    public JdbcScanCheckpointStore(@NonNull DataSource dataSource, @NonNull String table) {
+        this.dataSource = dataSource;
+        this.table = table;
+    }
+
+    @Nullable
+    @Override
+    public ScanCheckpoint load(@NonNull String name) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT fingerprint, last_key, key_type FROM " + table + " WHERE name = ?")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next()
+                        ? new ScanCheckpoint(name, resultSet.getString(1), resultSet.getString(2), resultSet.getString(3))
+                        : null;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("could not load the checkpoint: " + name, e);
+        }
+    }
+
+    @Override
+    public void save(@NonNull ScanCheckpoint checkpoint) {
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection connection = dataSource.getConnection()) {
+            final int updated;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE " + table + " SET fingerprint = ?, last_key = ?, key_type = ?, updated = ? WHERE name = ?")) {
+                statement.setString(1, checkpoint.fingerprint());
+                statement.setString(2, checkpoint.key());
+                statement.setString(3, checkpoint.keyType());
+                statement.setTimestamp(4, now);
+                statement.setString(5, checkpoint.name());
+                updated = statement.executeUpdate();
+            }
+            if (updated == 0) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO " + table + " (name, fingerprint, last_key, key_type, updated) VALUES (?, ?, ?, ?, ?)")) {
+                    statement.setString(1, checkpoint.name());
+                    statement.setString(2, checkpoint.fingerprint());
+                    statement.setString(3, checkpoint.key());
+                    statement.setString(4, checkpoint.keyType());
+                    statement.setTimestamp(5, now);
+                    statement.executeUpdate();
+                }
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("could not save the checkpoint: " + checkpoint.name(), e);
+        }
+    }
+
+    @Override
+    public void remove(@NonNull String name) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM " + table + " WHERE name = ?")) {
+            statement.setString(1, name);
+            statement.executeUpdate();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("could not remove the checkpoint: " + name, e);
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * The keyset param of {@code select}, which selects the first {@code size} rows ordered by the id after the id of
+ * {@code after}.
+ *
+ * <pre class="code">
+ * SELECT ... FROM table WHERE id &gt; #{keyset.after} AND (...) ORDER BY id LIMIT #{keyset.size}
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public final class Keyset {
+
+    public static final String PARAM_NAME = "keyset";
+
+    @Nullable
+    private final Object after;
+
+    private final int size;
+
+    public Keyset(@Nullable Object after, int size) {
+        this.after = after;
+        this.size = size;
+    }
+
+    @Nullable
+    public Object getAfter() {
+        return after;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+}
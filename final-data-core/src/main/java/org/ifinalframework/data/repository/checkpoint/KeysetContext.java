@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.data.repository.checkpoint;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IQuery;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The context which binds a {@link Keyset} to the query of current thread, so the select of the query is paged by the
+ * keyset even if it is executed by a layer which only accepts the query, such as the select action of the domain.
+ *
+ * <p>The keyset applies only to the selects of the same query instance, the selects of other queries executed by the
+ * hooks are not affected. The page selected by the keyset is recorded before the hooks, which may filter the rows out,
+ * so the next page is resolved by {@link #next()} rather than the rows returned by the layer.</p>
+ *
+ * <pre class="code">
+ * KeysetContext.bind(query, new Keyset(after, 1000));
+ * try {
+ *     final List&lt;T&gt; list = selectAction.select(query, user);
+ *     final Keyset next = KeysetContext.next();
+ * } finally {
+ *     KeysetContext.clear();
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.repository.Repository#select(String, Class, java.util.Collection, IQuery)
+ * @since 1.6.0
+ */
+public final class KeysetContext {
+
+    private static final ThreadLocal<Binding> BINDING = new ThreadLocal<>();
+
+    private KeysetContext() {
+    }
+
+    public static void bind(@NonNull IQuery query, @NonNull Keyset keyset) {
+        BINDING.set(new Binding(query, keyset));
+    }
+
+    /**
+     * record the page selected by the keyset bound to the query, ignored if it is bound to another query.
+     */
+    public static void selected(@Nullable IQuery query, @NonNull List<? extends IEntity<?>> page) {
+        final Binding binding = BINDING.get();
+        if (Objects.nonNull(binding) && Objects.nonNull(query) && binding.query == query) {
+            binding.selected = true;
+            binding.last = page.isEmpty() ? null : page.get(page.size() - 1).getId();
+            binding.rows = page.size();
+        }
+    }
+
+    /**
+     * return whether the keyset bound to current thread has selected a page.
+     */
+    public static boolean isSelected() {
+        final Binding binding = BINDING.get();
+        return Objects.nonNull(binding) && binding.selected;
+    }
+
+    /**
+     * return the keyset of the page after the selected page, {@code null} if the keyset has not selected a page or the
+     * selected page is the last one.
+     */
+    @Nullable
+    public static Keyset next() {
+        final Binding binding = BINDING.get();
+        if (Objects.isNull(binding) || !binding.selected || binding.rows < binding.keyset.getSize()) {
+            return null;
+        }
+        return new Keyset(binding.last, binding.keyset.getSize());
+    }
+
+    /**
+     * return the keyset bound to the query, {@code null} if there is not a keyset or it is bound to another query.
+     */
+    @Nullable
+    public static Keyset get(@Nullable IQuery query) {
+        final Binding binding = BINDING.get();
+        return Objects.nonNull(binding) && Objects.nonNull(query) && binding.query == query ? binding.keyset : null;
+    }
+
+    public static void clear() {
+        BINDING.remove();
+    }
+
+    private static final class Binding {
+
+        private final IQuery query;
+
+        private final Keyset keyset;
+
+        private boolean selected;
+
+        @Nullable
+        private Object last;
+
+        private int rows;
+
+        private Binding(IQuery query, Keyset keyset) {
+            this.query = query;
+            this.keyset = keyset;
+        }
+    }
+
+}
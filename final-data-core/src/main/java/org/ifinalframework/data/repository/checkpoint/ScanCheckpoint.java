@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+/**
+ * The checkpoint of a scan, the last id of the processed rows and the fingerprint of the scanned query.
+ *
+ * @param name        the name of the scan
+ * @param fingerprint the fingerprint of the table, view and query
+ * @param key         the last processed id
+ * @param keyType     the class name of the id
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public record ScanCheckpoint(String name, String fingerprint, String key, String keyType) {
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * The store of the {@link ScanCheckpoint}s, which must be durable across the restarts.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see FileScanCheckpointStore
+ * @see JdbcScanCheckpointStore
+ * @since 1.6.0
+ */
+public interface ScanCheckpointStore {
+
+    @Nullable
+    ScanCheckpoint load(@NonNull String name);
+
+    void save(@NonNull ScanCheckpoint checkpoint);
+
+    void remove(@NonNull String name);
+
+}
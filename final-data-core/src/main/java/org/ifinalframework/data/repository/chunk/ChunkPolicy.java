@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.chunk;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The policy of the chunked delete and update, see {@link org.ifinalframework.data.repository.Repository#deleteInChunks(String, org.ifinalframework.core.IQuery, ChunkPolicy)}.
+ *
+ * <pre class="code">
+ * ChunkPolicy policy = ChunkPolicy.builder()
+ *         .size(500)
+ *         .pause(Duration.ofMillis(50))
+ *         .targetLatency(Duration.ofMillis(200))
+ *         .listener(progress -&gt; !cancelled.get())
+ *         .build();
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Getter
+@Builder
+public class ChunkPolicy {
+
+    /**
+     * the mode of the chunks, the default mode of the write is used if {@code null}, which is {@link Mode#LIMIT} for
+     * the delete and {@link Mode#KEY} for the update.
+     */
+    @Nullable
+    private final Mode mode;
+
+    /**
+     * the initial rows of a chunk.
+     */
+    @Builder.Default
+    private final int size = 1000;
+
+    @Builder.Default
+    private final int minSize = 10;
+
+    @Builder.Default
+    private final int maxSize = 10000;
+
+    /**
+     * the pause between the chunks.
+     */
+    @Builder.Default
+    private final Duration pause = Duration.ZERO;
+
+    /**
+     * the target latency of a chunk, the size of the next chunk is halved when a chunk exceeds it, and grows slowly
+     * when it does not. The size is fixed if {@code null}.
+     */
+    @Nullable
+    private final Duration targetLatency;
+
+    /**
+     * the listener of the progress, which cancels the remaining chunks by returning {@code false}.
+     */
+    @Nullable
+    private final ChunkListener listener;
+
+    public static ChunkPolicy of(int size) {
+        return ChunkPolicy.builder().size(size).build();
+    }
+
+    public enum Mode {
+        /**
+         * select the ids of the first {@code size} matched rows and write them until no row is matched, the written
+         * rows must not match the query any more, such as the deleted rows. The chunks are stopped when a chunk
+         * selects the ids of the previous chunk again.
+         */
+        LIMIT,
+        /**
+         * select the ids of the matched rows in the keyset pages of the ascending ids and write them page by page,
+         * which is required by the updates which keep the rows matching the query.
+         */
+        KEY
+    }
+}
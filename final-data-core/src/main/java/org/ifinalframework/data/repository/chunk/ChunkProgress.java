@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.chunk;
+
+/**
+ * The progress of the chunked delete and update.
+ *
+ * @param chunks   the count of the written chunks.
+ * @param rows     the affected rows of the last chunk.
+ * @param affected the affected rows of all written chunks.
+ * @param size     the size of the next chunk.
+ * @param latency  the latency of the last chunk in milliseconds, including the select of the ids.
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public record ChunkProgress(int chunks, int rows, long affected, int size, long latency) {
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.chunk;
+
+import org.springframework.lang.NonNull;
+
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.repository.checkpoint.Keyset;
+import org.ifinalframework.data.repository.page.HasNextContext;
+import org.ifinalframework.data.util.Transactions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write the rows matching a query in the chunks of ids, each chunk is a short statement which is committed by itself
+ * when there is not an active transaction.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ChunkPolicy
+ * @since 1.6.0
+ */
+@Slf4j
+public final class Chunks {
+
+    private Chunks() {
+    }
+
+    /**
+     * @param policy       the policy
+     * @param defaultMode  the mode if the mode of the policy is {@code null}
+     * @param query        the query of the rows
+     * @param selectIds    select the ids matching the paged query, used by {@link ChunkPolicy.Mode#LIMIT}
+     * @param selectKeyset select the ids matching the query in the {@link Keyset}, used by {@link ChunkPolicy.Mode#KEY}
+     * @param writer       write the chunk of ids and return the affected rows
+     * @return the affected rows of all written chunks.
+     */
+    public static <I> long execute(@NonNull ChunkPolicy policy, @NonNull ChunkPolicy.Mode defaultMode, @NonNull IQuery query,
+                                   @NonNull Function<IQuery, List<I>> selectIds, @NonNull Function<Keyset, List<I>> selectKeyset,
+                                   @NonNull ToIntFunction<List<I>> writer) {
+        if (Transactions.isActive()) {
+            logger.warn("the chunks are written in the current transaction, which would hold the locks until it is completed: query={}",
+                    query.getClass().getSimpleName());
+        }
+        if (!(query instanceof Pageable pageable)) {
+            throw new IllegalArgumentException("the query of chunks must be pageable: " + query.getClass().getName());
+        }
+
+        final Integer page = pageable.getPage();
+        final Integer size = pageable.getSize();
+        final ChunkPolicy.Mode mode = Objects.isNull(policy.getMode()) ? defaultMode : policy.getMode();
+        try {
+            return mode == ChunkPolicy.Mode.KEY
+                    ? executeKey(policy, pageable, selectKeyset, writer)
+                    : executeLimit(policy, pageable, selectIds, writer);
+        } finally {
+            pageable.setPage(page);
+            pageable.setSize(size);
+        }
+    }
+
+    private static <I> long executeLimit(ChunkPolicy policy, Pageable query, Function<IQuery, List<I>> selectIds,
+                                         ToIntFunction<List<I>> writer) {
+        final Throttle throttle = new Throttle(policy);
+        Set<I> written = Set.of();
+        while (true) {
+            final long start = System.nanoTime();
+            query.setPage(1);
+            query.setSize(throttle.size);
+            // select the first page without the count statement.
+            final List<I> ids = HasNextContext.execute(() -> selectIds.apply((IQuery) query));
+            if (Objects.isNull(ids) || ids.isEmpty()) {
+                break;
+            }
+            if (ids.stream().anyMatch(written::contains)) {
+                // the written rows are still matching the query, stop the endless loop.
+                logger.warn("the written rows are selected again in LIMIT mode, use KEY mode if the rows keep matching the query.");
+                break;
+            }
+            written = new HashSet<>(ids);
+            final int rows = writer.applyAsInt(new ArrayList<>(ids));
+            if (!throttle.onChunk(rows, start)) {
+                break;
+            }
+            if (rows == 0) {
+                // the written rows are still matching the query, stop the endless loop.
+                logger.warn("none of the chunk is written in LIMIT mode, use KEY mode if the rows keep matching the query.");
+                break;
+            }
+        }
+        return throttle.affected;
+    }
+
+    /**
+     * select the ids page by page after the last id of the previous page, so only a page of ids is held at once.
+     */
+    private static <I> long executeKey(ChunkPolicy policy, Pageable query, Function<Keyset, List<I>> selectKeyset,
+                                       ToIntFunction<List<I>> writer) {
+        final Throttle throttle = new Throttle(policy);
+        query.setPage(null);
+        query.setSize(null);
+
+        Object after = null;
+        while (true) {
+            final long start = System.nanoTime();
+            final int size = throttle.size;
+            final List<I> ids = selectKeyset.apply(new Keyset(after, size));
+            if (Objects.isNull(ids) || ids.isEmpty()) {
+                break;
+            }
+            after = ids.get(ids.size() - 1);
+            if (!throttle.onChunk(writer.applyAsInt(new ArrayList<>(ids)), start) || ids.size() < size) {
+                break;
+            }
+        }
+        return throttle.affected;
+    }
+
+    private static final class Throttle {
+
+        private final ChunkPolicy policy;
+
+        private int size;
+
+        private int chunks;
+
+        private long affected;
+
+        private Throttle(ChunkPolicy policy) {
+            this.policy = policy;
+            this.size = Math.max(1, policy.getSize());
+        }
+
+        /**
+         * adapt the size of the next chunk, notify the listener and pause.
+         *
+         * @return {@code false} if cancelled.
+         */
+        private boolean onChunk(int rows, long start) {
+            final long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            chunks++;
+            affected += rows;
+
+            final Duration target = policy.getTargetLatency();
+            if (Objects.nonNull(target)) {
+                size = latency > target.toMillis()
+                        ? Math.max(policy.getMinSize(), size / 2)
+                        : Math.min(policy.getMaxSize(), size + Math.max(1, size / 10));
+            }
+
+            if (Objects.nonNull(policy.getListener())
+                    && !policy.getListener().onChunk(new ChunkProgress(chunks, rows, affected, size, latency))) {
+                return false;
+            }
+
+            final Duration pause = policy.getPause();
+            if (Objects.nonNull(pause) && !pause.isZero() && !pause.isNegative()) {
+                try {
+                    Thread.sleep(pause.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return !Thread.currentThread().isInterrupted();
+        }
+
+    }
+
+}
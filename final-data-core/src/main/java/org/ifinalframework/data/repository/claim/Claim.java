@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.claim;
+
+/**
+ * The claim param of {@code select}, which locks the first {@code batch} rows of the query and skips the rows locked by
+ * other transactions.
+ *
+ * <pre class="code">
+ * SELECT ... FROM table WHERE ... ORDER BY id LIMIT #{claim.batch} FOR UPDATE SKIP LOCKED
+ * </pre>
+ *
+ * <p>The row-limit and lock clause is resolved by the dialect of the database and bound as {@link #LOCK_PARAM_NAME}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Claims
+ * @since 1.6.0
+ */
+public final class Claim {
+
+    public static final String PARAM_NAME = "claim";
+
+    public static final String LOCK_PARAM_NAME = "claimLock";
+
+    private final int batch;
+
+    public Claim(int batch) {
+        this.batch = batch;
+    }
+
+    public int getBatch() {
+        return batch;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.claim;
+
+import org.springframework.lang.NonNull;
+
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.util.Transactions;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Claim the rows of a queue table, the rows are locked by {@code SELECT ... FOR UPDATE SKIP LOCKED} and marked in the
+ * current transaction, so the concurrent workers claim the different rows without waiting for each other.
+ *
+ * <p>The claim must be called in a transaction, otherwise the locks are released as soon as the select is
+ * completed.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.repository.Repository#claim(String, IQuery, int, org.ifinalframework.core.IUpdate)
+ * @since 1.6.0
+ */
+@Slf4j
+public final class Claims {
+
+    private Claims() {
+    }
+
+    /**
+     * @param query  the query of the rows to claim, the page and size are ignored.
+     * @param batch  the max rows to claim
+     * @param select select and lock the rows of the {@link Claim}
+     * @param mark   mark the ids of the claimed rows and return the affected rows
+     * @return the claimed rows, before marked.
+     */
+    public static <I, T extends IEntity<I>> List<T> claim(@NonNull IQuery query, int batch,
+                                                          @NonNull Function<Claim, List<T>> select,
+                                                          @NonNull ToIntFunction<List<I>> mark) {
+        if (!Transactions.isActive()) {
+            throw new IllegalStateException("claim must be called in a transaction: query=" + query.getClass().getName());
+        }
+        if (batch <= 0) {
+            throw new IllegalArgumentException("the batch of claim must be positive: " + batch);
+        }
+
+        final Pageable pageable = query instanceof Pageable it ? it : null;
+        final Integer page = Objects.isNull(pageable) ? null : pageable.getPage();
+        final Integer size = Objects.isNull(pageable) ? null : pageable.getSize();
+        if (Objects.nonNull(pageable)) {
+            // the rows are limited by the batch.
+            pageable.setPage(null);
+            pageable.setSize(null);
+        }
+
+        try {
+            final List<T> rows = select.apply(new Claim(batch));
+            if (Objects.isNull(rows) || rows.isEmpty()) {
+                return rows;
+            }
+
+            final List<I> ids = rows.stream().map(IEntity::getId).collect(Collectors.toList());
+            final int marked = mark.applyAsInt(ids);
+            if (marked != ids.size()) {
+                logger.warn("the claimed rows are not all marked: claimed={}, marked={}", ids.size(), marked);
+            }
+            return rows;
+        } finally {
+            if (Objects.nonNull(pageable)) {
+                pageable.setPage(page);
+                pageable.setSize(size);
+            }
+        }
+    }
+
+}
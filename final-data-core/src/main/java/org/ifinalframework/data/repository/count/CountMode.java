@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.count;
+
+/**
+ * The mode to count the total of a paged query.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see PageCount
+ * @since 1.6.0
+ */
+public enum CountMode {
+    /**
+     * count by {@code COUNT(*)} for every paged query.
+     */
+    EXACT,
+    /**
+     * count by {@code COUNT(*)} and cache the total with a ttl, invalidated by the writes of the table.
+     */
+    EXACT_CACHED,
+    /**
+     * use the estimated row count of the database when the query has not any criteria, otherwise same as {@link #EXACT}.
+     */
+    APPROXIMATE
+}
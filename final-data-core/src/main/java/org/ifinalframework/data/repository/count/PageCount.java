@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.count;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Specify the {@link CountMode} of paged queries, annotated on the query class or the resource entity class.
+ *
+ * <pre class="code">
+ * &#64;PageCount(value = CountMode.EXACT_CACHED, ttl = 10)
+ * public class OrderQuery extends PageQuery {
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PageCount {
+
+    CountMode value() default CountMode.EXACT;
+
+    /**
+     * the ttl of {@link CountMode#EXACT_CACHED}.
+     */
+    long ttl() default 10;
+
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * run the exact count and the page fetch concurrently on two pooled connections, only outside of the transaction
+     * and when the pool has a spare connection, otherwise the count is executed sequentially.
+     */
+    boolean parallel() default false;
+}
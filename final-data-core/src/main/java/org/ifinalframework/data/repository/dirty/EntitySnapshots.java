@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.dirty;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.QProperty;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The snapshots of the modifiable properties of the {@link DirtyTracking} entities, which are weakly keyed by the
+ * identities of the entities.
+ *
+ * <p>The values of {@link Collection}s, {@link Map}s and arrays are copied into the snapshot, and the properties of the
+ * other mutable types, such as the json beans, are always dirty because their changes in place could not be detected.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public final class EntitySnapshots {
+
+    private static final Map<IdentityKey, Map<String, Object>> SNAPSHOTS = new HashMap<>();
+
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+    private EntitySnapshots() {
+    }
+
+    public static boolean isTracked(@Nullable Object entity) {
+        return Objects.nonNull(entity) && entity.getClass().isAnnotationPresent(DirtyTracking.class);
+    }
+
+    /**
+     * take the snapshot of the entity if it is {@link DirtyTracking}.
+     */
+    public static void track(@Nullable Object entity) {
+        if (!isTracked(entity)) {
+            return;
+        }
+        final Map<String, Object> snapshot = snapshot(entity);
+        synchronized (SNAPSHOTS) {
+            expunge();
+            SNAPSHOTS.put(new IdentityKey(entity, QUEUE), snapshot);
+        }
+    }
+
+    public static void untrack(@NonNull Object entity) {
+        synchronized (SNAPSHOTS) {
+            SNAPSHOTS.remove(new IdentityKey(entity, null));
+        }
+    }
+
+    /**
+     * return the paths of the dirty properties of the entity.
+     *
+     * @return the dirty paths, or {@code null} if the entity is not tracked.
+     */
+    @Nullable
+    public static Set<String> dirty(@Nullable Object entity) {
+        if (!isTracked(entity)) {
+            return null;
+        }
+        final Map<String, Object> snapshot;
+        synchronized (SNAPSHOTS) {
+            snapshot = SNAPSHOTS.get(new IdentityKey(entity, null));
+        }
+        if (Objects.isNull(snapshot)) {
+            return null;
+        }
+
+        final Set<String> dirty = new LinkedHashSet<>();
+        snapshot(entity).forEach((path, value) -> {
+            final Object previous = snapshot.get(path);
+            if (!isComparable(value) || !isComparable(previous) || !Objects.deepEquals(previous, value)) {
+                dirty.add(path);
+            }
+        });
+        return dirty;
+    }
+
+    private static Map<String, Object> snapshot(Object entity) {
+        final MetaObject metaObject = SystemMetaObject.forObject(entity);
+        final Map<String, Object> snapshot = new LinkedHashMap<>();
+        DefaultQEntityFactory.INSTANCE.create(entity.getClass()).stream()
+                .filter(QProperty::isModifiable)
+                .forEach(property -> snapshot.put(property.getPath(), copy(metaObject.getValue(property.getPath()))));
+        return snapshot;
+    }
+
+    private static boolean isComparable(@Nullable Object value) {
+        return Objects.isNull(value) || value instanceof Collection || value instanceof Map || value.getClass().isArray()
+                || BeanUtils.isSimpleValueType(value.getClass());
+    }
+
+    @Nullable
+    private static Object copy(@Nullable Object value) {
+        if (value instanceof Collection<?> collection) {
+            return new ArrayList<>(collection);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>(map);
+        }
+        if (Objects.nonNull(value) && value.getClass().isArray()) {
+            final int length = Array.getLength(value);
+            final Object array = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, array, 0, length);
+            return array;
+        }
+        return value;
+    }
+
+    private static void expunge() {
+        Reference<?> reference;
+        while (Objects.nonNull(reference = QUEUE.poll())) {
+            SNAPSHOTS.remove(reference);
+        }
+    }
+
+    /**
+     * the weak key which equals by the identity of the referent.
+     */
+    private static final class IdentityKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        private IdentityKey(Object referent, @Nullable ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof IdentityKey other)) {
+                return false;
+            }
+            final Object referent = get();
+            return Objects.nonNull(referent) && referent == other.get();
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.fetch;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.data.repository.Repository;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetch the associations declared by {@link Fetch} of the selected entities.
+ *
+ * <p>The distinct foreign keys of all entities are collected and the referenced entities are loaded with one
+ * {@code select(ids)} per referenced type, so there is no {@code N+1} query. The associations are fetched one level deep,
+ * the nested selects of the referenced repositories will not fetch their associations again.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Fetch
+ * @since 1.6.0
+ */
+@Slf4j
+public class AssociationFetcher<T> {
+
+    private static final ThreadLocal<Boolean> FETCHING = new ThreadLocal<>();
+
+    private final List<FetchProperty> properties;
+    private final Function<Class<?>, Repository<?, ?>> repositoryResolver;
+
+    private AssociationFetcher(List<FetchProperty> properties, Function<Class<?>, Repository<?, ?>> repositoryResolver) {
+        this.properties = properties;
+        this.repositoryResolver = repositoryResolver;
+    }
+
+    /**
+     * return the {@link AssociationFetcher} of the entity, or {@code null} if it has not any {@link Fetch} property.
+     *
+     * @param entityClass        the entity class
+     * @param repositoryResolver resolve the repository of referenced entity class.
+     * @param <T>                the entity type
+     * @return the {@link AssociationFetcher} of the entity.
+     */
+    @Nullable
+    public static <T> AssociationFetcher<T> of(@NonNull Class<T> entityClass,
+                                               @NonNull Function<Class<?>, Repository<?, ?>> repositoryResolver) {
+        final List<FetchProperty> properties = new ArrayList<>();
+        ReflectionUtils.doWithFields(entityClass, field -> {
+            final Fetch fetch = field.getAnnotation(Fetch.class);
+            final String key = fetch.key().isEmpty() ? field.getName() + ".id" : fetch.key();
+            properties.add(new FetchProperty(field.getName(), key, field.getType(), Arrays.asList(fetch.views())));
+        }, field -> field.isAnnotationPresent(Fetch.class));
+
+        return properties.isEmpty() ? null : new AssociationFetcher<>(properties, repositoryResolver);
+    }
+
+    /**
+     * fetch the associations of the entities in the view.
+     *
+     * @param entities the selected entities
+     * @param view     the view of select, only the properties without views are fetched when {@code null}.
+     */
+    public void fetch(@Nullable Collection<T> entities, @Nullable Class<?> view) {
+        if (Objects.isNull(entities) || entities.isEmpty() || Boolean.TRUE.equals(FETCHING.get())) {
+            return;
+        }
+
+        FETCHING.set(Boolean.TRUE);
+        try {
+            doFetch(entities, view);
+        } finally {
+            FETCHING.remove();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void doFetch(Collection<T> entities, @Nullable Class<?> view) {
+        final Map<Class<?>, List<FetchProperty>> targets = properties.stream()
+                .filter(it -> it.isFetch(view))
+                .collect(Collectors.groupingBy(FetchProperty::type, LinkedHashMap::new, Collectors.toList()));
+
+        targets.forEach((type, fetchProperties) -> {
+            final List<BeanWrapper> wrappers = entities.stream().filter(Objects::nonNull)
+                    .map(PropertyAccessorFactory::forBeanPropertyAccess).collect(Collectors.toList());
+
+            final Set<Serializable> ids = new LinkedHashSet<>();
+            for (FetchProperty property : fetchProperties) {
+                wrappers.stream().map(it -> getKey(it, property.key())).filter(Objects::nonNull).forEach(ids::add);
+            }
+
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            final Repository<Serializable, IEntity<Serializable>> repository
+                    = (Repository<Serializable, IEntity<Serializable>>) repositoryResolver.apply(type);
+            if (Objects.isNull(repository)) {
+                logger.warn("not found repository for fetch type: {}", type);
+                return;
+            }
+
+            final Map<Serializable, IEntity<Serializable>> associations = repository.select(ids).stream()
+                    .collect(Collectors.toMap(IEntity::getId, Function.identity(), (a, b) -> a));
+
+            for (FetchProperty property : fetchProperties) {
+                for (BeanWrapper wrapper : wrappers) {
+                    final Serializable key = getKey(wrapper, property.key());
+                    if (Objects.nonNull(key)) {
+                        wrapper.setPropertyValue(property.name(), associations.get(key));
+                    }
+                }
+            }
+        });
+    }
+
+    @Nullable
+    private static Serializable getKey(BeanWrapper wrapper, String key) {
+        try {
+            return (Serializable) wrapper.getPropertyValue(key);
+        } catch (BeansException e) {
+            // the nested path value is null
+            return null;
+        }
+    }
+
+    private record FetchProperty(String name, String key, Class<?> type, List<Class<?>> views) {
+
+        boolean isFetch(@Nullable Class<?> view) {
+            if (views.isEmpty()) {
+                return true;
+            }
+            return Objects.nonNull(view) && views.stream().anyMatch(it -> ClassUtils.isAssignable(it, view));
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.fetch;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark the property which value will be fetched by the referenced entity repository after select.
+ *
+ * <pre class="code">
+ * &#64;Reference(properties = {"id", "name"})
+ * &#64;Fetch(views = IView.Detail.class)
+ * private User creator;
+ *
+ * &#64;Transient
+ * &#64;Fetch(key = "groupId")
+ * private Group group;
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see AssociationFetcher
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Fetch {
+
+    /**
+     * the property path of the foreign key, default is {@code ${property}.id}.
+     */
+    String key() default "";
+
+    /**
+     * the views to fetch, fetch in all views when empty.
+     */
+    Class<?>[] views() default {};
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.loader;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark the entity which {@code selectOne(id)} calls will be coalesced into {@code select(ids)} by a
+ * {@link RepositoryDataLoader}.
+ *
+ * <pre class="code">
+ * &#64;BatchLoad(window = 2, batchSize = 500)
+ * public class User extends AbsEntity {
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RepositoryDataLoader
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BatchLoad {
+
+    /**
+     * the time window in milliseconds to collect the ids before dispatch.
+     */
+    long window() default 2;
+
+    /**
+     * the max size of ids in one {@code select(ids)}.
+     */
+    int batchSize() default 500;
+}
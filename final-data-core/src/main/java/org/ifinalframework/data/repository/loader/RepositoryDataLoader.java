@@ -0,0 +1,270 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.loader;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.data.repository.Repository;
+import org.ifinalframework.data.util.ContextSnapshot;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesce the concurrent {@code selectOne(id)} calls into one {@code select(ids)}.
+ *
+ * <p>The ids are collected into a batch keyed by {@code tenant}, {@code table}, {@code view} and the
+ * {@link ContextSnapshot} of the caller, the batch is dispatched when the {@link #window} is elapsed or the
+ * {@link #batchSize} is reached, and the ids are queried in chunks of {@link #batchSize}. A blocking caller of
+ * {@link #get(String, Class, Serializable)} dispatches the batch immediately when no other caller is waiting.</p>
+ *
+ * <p>The scheduler only fires the windows, the batches are dispatched by a bounded executor with the user, tenant and
+ * security context of the callers, so the entities are never loaded with the context of another user.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see BatchLoad
+ * @since 1.6.0
+ */
+@Slf4j
+public class RepositoryDataLoader<I extends Serializable, T extends IEntity<I>> {
+
+    private static final ScheduledExecutorService DEFAULT_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "final-data-loader-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * the bounded pool of the dispatches, which are run by the submitting thread when the queue is full.
+     */
+    private static final Executor DEFAULT_EXECUTOR = newDefaultExecutor();
+
+    private final Repository<I, T> repository;
+    private final Supplier<?> tenantSupplier;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final long window;
+    private final int batchSize;
+
+    private final Map<BatchKey, Batch<I, T>> batches = new ConcurrentHashMap<>();
+
+    /**
+     * the count of the callers waiting in {@link #get(String, Class, Serializable)}.
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public RepositoryDataLoader(Repository<I, T> repository, Supplier<?> tenantSupplier, long window, int batchSize) {
+        this(repository, tenantSupplier, DEFAULT_SCHEDULER, window, batchSize);
+    }
+
+    public RepositoryDataLoader(Repository<I, T> repository, Supplier<?> tenantSupplier,
+                                ScheduledExecutorService scheduler, long window, int batchSize) {
+        this(repository, tenantSupplier, scheduler, DEFAULT_EXECUTOR, window, batchSize);
+    }
+
+    /**
+     * @param scheduler the scheduler of the windows, which only submits the dispatches to the executor.
+     * @param executor  the executor of the dispatches.
+     */
+    public RepositoryDataLoader(Repository<I, T> repository, Supplier<?> tenantSupplier,
+                                ScheduledExecutorService scheduler, Executor executor, long window, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        this.repository = Objects.requireNonNull(repository);
+        this.tenantSupplier = Objects.requireNonNull(tenantSupplier);
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.executor = Objects.requireNonNull(executor);
+        this.window = Math.max(window, 0);
+        this.batchSize = batchSize;
+    }
+
+    public CompletableFuture<T> load(@NonNull I id) {
+        return load(null, null, id);
+    }
+
+    /**
+     * return the future of the entity with the specified id, complete with {@code null} when not found.
+     *
+     * @param table the table
+     * @param view  the view
+     * @param id    the id
+     * @return the future of entity
+     */
+    public CompletableFuture<T> load(@Nullable String table, @Nullable Class<?> view, @NonNull I id) {
+        Objects.requireNonNull(id, "id is null");
+        return load(new BatchKey(tenantSupplier.get(), table, view, ContextSnapshot.capture()), id);
+    }
+
+    /**
+     * load the entity with the specified id and wait for it, the batch is dispatched by the caller immediately when no
+     * other caller is waiting, so a single caller never waits for the {@link #window}.
+     *
+     * @param table the table
+     * @param view  the view
+     * @param id    the id
+     * @return the entity, or {@code null} when not found
+     * @throws java.util.concurrent.CompletionException when the select failed
+     */
+    @Nullable
+    public T get(@Nullable String table, @Nullable Class<?> view, @NonNull I id) {
+        Objects.requireNonNull(id, "id is null");
+        final BatchKey key = new BatchKey(tenantSupplier.get(), table, view, ContextSnapshot.capture());
+        waiting.incrementAndGet();
+        try {
+            final CompletableFuture<T> future = load(key, id);
+            if (waiting.get() == 1) {
+                final Batch<I, T> batch = batches.get(key);
+                if (Objects.nonNull(batch)) {
+                    dispatch(batch);
+                }
+            }
+            return future.join();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private CompletableFuture<T> load(BatchKey key, I id) {
+        while (true) {
+            final Batch<I, T> batch = batches.computeIfAbsent(key, this::newBatch);
+            final CompletableFuture<T> future = batch.add(id);
+            if (Objects.nonNull(future)) {
+                if (batch.size() >= batchSize) {
+                    executor.execute(() -> dispatch(batch));
+                }
+                return future;
+            }
+            // the batch has been dispatched, remove it and try with a new one.
+            batches.remove(key, batch);
+        }
+    }
+
+    public CompletableFuture<List<T>> loadMany(@Nullable String table, @Nullable Class<?> view, @NonNull Collection<I> ids) {
+        final List<CompletableFuture<T>> futures = ids.stream().map(id -> load(table, view, id)).collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignore -> futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).collect(Collectors.toList()));
+    }
+
+    /**
+     * dispatch all pending batches immediately.
+     */
+    public void dispatch() {
+        new ArrayList<>(batches.values()).forEach(this::dispatch);
+    }
+
+    private Batch<I, T> newBatch(BatchKey key) {
+        final Batch<I, T> batch = new Batch<>(key);
+        scheduler.schedule(() -> executor.execute(() -> dispatch(batch)), window, TimeUnit.MILLISECONDS);
+        return batch;
+    }
+
+    private void dispatch(Batch<I, T> batch) {
+        batches.remove(batch.key, batch);
+        final Map<I, CompletableFuture<T>> futures = batch.close();
+        if (Objects.isNull(futures) || futures.isEmpty()) {
+            return;
+        }
+
+        final BatchKey key = batch.key;
+        final ContextSnapshot previous = key.context.attach();
+        try {
+            final List<I> ids = new ArrayList<>(futures.keySet());
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                final List<I> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                try {
+                    final Map<I, T> entities = repository.select(key.table, key.view, chunk).stream()
+                            .collect(Collectors.toMap(IEntity::getId, Function.identity(), (a, b) -> a));
+                    chunk.forEach(id -> futures.get(id).complete(entities.get(id)));
+                } catch (Exception e) {
+                    logger.error("load entities error: table={},ids={}", key.table, chunk, e);
+                    chunk.forEach(id -> futures.get(id).completeExceptionally(e));
+                }
+            }
+        } finally {
+            previous.attach();
+        }
+    }
+
+    private static Executor newDefaultExecutor() {
+        final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final AtomicInteger index = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000), runnable -> {
+            final Thread thread = new Thread(runnable, "final-data-loader-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @param context the context of the callers, which resolves the same tenant of the key.
+     */
+    private record BatchKey(Object tenant, String table, Class<?> view, ContextSnapshot context) {
+    }
+
+    private static class Batch<I, T> {
+
+        private final BatchKey key;
+        private Map<I, CompletableFuture<T>> futures = new LinkedHashMap<>();
+
+        private Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        synchronized CompletableFuture<T> add(I id) {
+            if (Objects.isNull(futures)) {
+                return null;
+            }
+            return futures.computeIfAbsent(id, it -> new CompletableFuture<>());
+        }
+
+        synchronized int size() {
+            return Objects.isNull(futures) ? 0 : futures.size();
+        }
+
+        synchronized Map<I, CompletableFuture<T>> close() {
+            final Map<I, CompletableFuture<T>> result = futures;
+            futures = null;
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.page;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.core.IQuery;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The context of the count-free "has next" pagination mode.
+ *
+ * <p>When enabled, the paged query fetches {@code size + 1} rows without the count statement, trims the extra row and
+ * returns a {@link Slice} which {@link Slice#hasNext()} is {@code true} if the extra row exists.</p>
+ *
+ * <p>The mode should be enabled only around the paged select, the other selects, such as the ones of the listeners or
+ * the hooks, would be paged by it too.</p>
+ *
+ * <pre class="code">
+ * final List&lt;T&gt; list = HasNextContext.execute(() -&gt; repository.select(query));
+ * </pre>
+ *
+ * <p>When the select is executed by a layer which runs other selects around it, such as the select action of the domain,
+ * bind the query instead, and only the select of the same query instance is in the mode.</p>
+ *
+ * <pre class="code">
+ * HasNextContext.bind(query);
+ * try {
+ *     final Object result = selectAction.select(query, user);
+ * } finally {
+ *     HasNextContext.unbind();
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Slice
+ * @since 1.6.0
+ */
+public final class HasNextContext {
+
+    private static final ThreadLocal<Boolean> ENABLED = new ThreadLocal<>();
+
+    private static final ThreadLocal<IQuery> BOUND = new ThreadLocal<>();
+
+    private HasNextContext() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.TRUE.equals(ENABLED.get());
+    }
+
+    /**
+     * enable the "has next" mode of current thread.
+     *
+     * @return the previous state, which should be passed to {@link #restore(boolean)}.
+     */
+    public static boolean enable() {
+        final boolean previous = isEnabled();
+        ENABLED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    public static void restore(boolean previous) {
+        if (previous) {
+            ENABLED.set(Boolean.TRUE);
+        } else {
+            ENABLED.remove();
+        }
+    }
+
+    /**
+     * execute the action in the "has next" mode, and restore the previous state after.
+     */
+    public static <T> T execute(@NonNull Supplier<T> action) {
+        final boolean previous = enable();
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * bind the "has next" mode to the query of current thread.
+     *
+     * @see org.ifinalframework.data.repository.Repository#select(String, Class, java.util.Collection, IQuery)
+     */
+    public static void bind(@NonNull IQuery query) {
+        BOUND.set(query);
+    }
+
+    /**
+     * return {@code true} if the query is the one bound by {@link #bind(IQuery)}.
+     */
+    public static boolean isBound(@Nullable IQuery query) {
+        return Objects.nonNull(query) && BOUND.get() == query;
+    }
+
+    public static void unbind() {
+        BOUND.remove();
+    }
+
+}
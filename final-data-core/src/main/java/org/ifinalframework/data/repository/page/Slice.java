@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.page;
+
+import java.util.List;
+
+/**
+ * A page of results without the total, which tells whether there is a next page or not.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see HasNextContext
+ * @since 1.6.0
+ */
+public interface Slice<T> extends List<T> {
+
+    boolean hasNext();
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.projection;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The projection of an entity, which is a {@code record} or an {@code interface} declaring the properties to select.
+ *
+ * <pre class="code">
+ * public record PersonName(Long id, String name) {
+ * }
+ *
+ * public interface PersonAge {
+ *     Long getId();
+ *     Integer getAge();
+ * }
+ * </pre>
+ *
+ * <p>The rows are mapped by the cached canonical constructor of the record, or a proxy of the interface backed by the
+ * row, without the instantiation of the entity.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.repository.Repository#select(String, org.ifinalframework.core.IQuery, Class)
+ * @since 1.6.0
+ */
+public final class Projection<D> {
+
+    public static final String PROJECTION_PARAM_NAME = "projection";
+
+    /**
+     * the param name of the properties selected into the entity.
+     *
+     * @see org.ifinalframework.data.repository.Repository#selectProperties(java.util.Collection, java.util.Collection, org.ifinalframework.core.IQuery)
+     */
+    public static final String PROPERTIES_PARAM_NAME = "projectionProperties";
+
+    private static final Map<Class<?>, Projection<?>> CACHE = new ConcurrentHashMap<>();
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private final Class<D> type;
+
+    /**
+     * the property names and types, in the order of the record components.
+     */
+    private final Map<String, Class<?>> properties;
+
+    private final Function<Map<String, Object>, D> mapper;
+
+    private Projection(Class<D> type) {
+        this.type = type;
+        if (type.isRecord()) {
+            this.properties = recordProperties(type);
+            this.mapper = recordMapper(type, properties);
+        } else if (type.isInterface()) {
+            this.properties = interfaceProperties(type);
+            this.mapper = interfaceMapper(type);
+        } else {
+            throw new IllegalArgumentException("projection must be a record or an interface: " + type.getName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <D> Projection<D> of(@NonNull Class<D> type) {
+        return (Projection<D>) CACHE.computeIfAbsent(type, Projection::new);
+    }
+
+    public Class<D> getType() {
+        return type;
+    }
+
+    @NonNull
+    public List<String> getProperties() {
+        return List.copyOf(properties.keySet());
+    }
+
+    @Nullable
+    public D map(@Nullable Map<String, Object> row) {
+        return Objects.isNull(row) ? null : mapper.apply(row);
+    }
+
+    /**
+     * map the rows in place, so the list type such as the page of the rows is kept.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @NonNull
+    public List<D> map(@Nullable List<Map<String, Object>> rows) {
+        if (Objects.isNull(rows)) {
+            return Collections.emptyList();
+        }
+        final List list = rows;
+        list.replaceAll(row -> map((Map<String, Object>) row));
+        return (List<D>) list;
+    }
+
+    private static Map<String, Class<?>> recordProperties(Class<?> type) {
+        final Map<String, Class<?>> properties = new LinkedHashMap<>();
+        for (RecordComponent component : type.getRecordComponents()) {
+            properties.put(component.getName(), component.getType());
+        }
+        return properties;
+    }
+
+    private static <D> Function<Map<String, Object>, D> recordMapper(Class<D> type, Map<String, Class<?>> properties) {
+        final Class<?>[] parameterTypes = properties.values().toArray(new Class<?>[0]);
+        final String[] names = properties.keySet().toArray(new String[0]);
+        final Constructor<D> constructor;
+        try {
+            constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("not found the canonical constructor of " + type.getName(), e);
+        }
+
+        return row -> {
+            final Object[] args = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                args[i] = convert(row.get(names[i]), parameterTypes[i]);
+            }
+            try {
+                return constructor.newInstance(args);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("could not create the projection of " + type.getName(), e);
+            }
+        };
+    }
+
+    private static Map<String, Class<?>> interfaceProperties(Class<?> type) {
+        final Map<String, Class<?>> properties = new LinkedHashMap<>();
+        Arrays.stream(type.getMethods())
+                .filter(Projection::isAccessor)
+                .forEach(method -> properties.put(propertyName(method), method.getReturnType()));
+        return properties;
+    }
+
+    private static <D> Function<Map<String, Object>, D> interfaceMapper(Class<D> type) {
+        final ClassLoader classLoader = type.getClassLoader();
+        final Class<?>[] interfaces = {type};
+        return row -> type.cast(Proxy.newProxyInstance(classLoader, interfaces, new ProjectionInvocationHandler(row)));
+    }
+
+    private static boolean isAccessor(Method method) {
+        return method.getParameterCount() == 0 && !method.isDefault() && !Modifier.isStatic(method.getModifiers())
+                && method.getReturnType() != void.class && method.getDeclaringClass() != Object.class;
+    }
+
+    private static String propertyName(Method method) {
+        final String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        if (name.startsWith("is") && name.length() > 2
+                && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+        return name;
+    }
+
+    @Nullable
+    private static Object convert(@Nullable Object value, Class<?> type) {
+        if (Objects.isNull(value)) {
+            if (!type.isPrimitive()) {
+                return null;
+            }
+            return type == boolean.class ? Boolean.FALSE : type == char.class ? (Object) '\0' : CONVERSION_SERVICE.convert(0, type);
+        }
+        if (ClassUtils.resolvePrimitiveIfNecessary(type).isInstance(value)) {
+            return value;
+        }
+        return CONVERSION_SERVICE.convert(value, type);
+    }
+
+    private record ProjectionInvocationHandler(Map<String, Object> row) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return Objects.nonNull(args[0]) && Proxy.isProxyClass(args[0].getClass())
+                            && Proxy.getInvocationHandler(args[0]) instanceof ProjectionInvocationHandler other
+                            && row.equals(other.row);
+                case "hashCode":
+                    return row.hashCode();
+                case "toString":
+                    return row.toString();
+                default:
+                    return convert(row.get(propertyName(method)), method.getReturnType());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.retry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The attempt and conflict counters of the optimistic lock updates of an entity.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see OptimisticRetry#getStats(Class)
+ * @since 1.6.0
+ */
+public class ConflictStats {
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public void recordAttempt() {
+        attempts.increment();
+    }
+
+    public void recordConflict() {
+        conflicts.increment();
+    }
+
+    public void recordExhausted() {
+        exhausted.increment();
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    /**
+     * the updates which are still conflicted after the max attempts.
+     */
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    /**
+     * return the conflict rate of the attempts, {@code 0} when there is not any attempt.
+     */
+    public double getConflictRate() {
+        final long attempts = getAttempts();
+        return attempts == 0 ? 0 : (double) getConflicts() / attempts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("attempts=%d,conflicts=%d,exhausted=%d,conflictRate=%.4f",
+                getAttempts(), getConflicts(), getExhausted(), getConflictRate());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.retry;
+
+/**
+ * Thrown when the versioned update is still conflicted after the max attempts of the {@link RetryPolicy}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class OptimisticLockException extends RuntimeException {
+
+    private final transient Object id;
+
+    private final int attempts;
+
+    public OptimisticLockException(Class<?> entityClass, Object id, int attempts) {
+        super("the version of " + entityClass.getSimpleName() + " is conflicted after " + attempts + " attempts: id=" + id);
+        this.id = id;
+        this.attempts = attempts;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+}
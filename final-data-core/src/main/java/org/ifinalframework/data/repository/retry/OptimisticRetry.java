@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.retry;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.repository.batch.BatchContext;
+import org.ifinalframework.data.util.Transactions;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reload, reapply and update an entity until the update is not conflicted by the version.
+ *
+ * <p>The update matches both the id and the loaded version, so a zero update count means the row has been updated by
+ * another writer since it was loaded. The entity must have a {@code @Version} property, and the entity is reloaded after
+ * the update, so the returned entity carries the new version. The retry could not run in a transaction, whose reloads
+ * would read the same snapshot again.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RetryPolicy
+ * @since 1.6.0
+ */
+@Slf4j
+public final class OptimisticRetry {
+
+    /**
+     * the param of {@code update} which matches the version of the entity.
+     */
+    public static final String VERSION_CHECK_PARAM_NAME = "versionCheck";
+
+    private static final Map<Class<?>, ConflictStats> STATS = new ConcurrentHashMap<>();
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * @param policy  the retry policy
+     * @param id      the id of the entity
+     * @param load    load the entity
+     * @param mutator apply the changes to the loaded entity
+     * @param update  update the entity with the version check and return the affected rows
+     * @return the reloaded entity after updated, or {@code null} if the entity is not found.
+     * @throws IllegalArgumentException if the entity has not a {@code @Version} property.
+     * @throws IllegalStateException    if there is an active batch context or an actual transaction.
+     */
+    @Nullable
+    public static <T> T execute(@NonNull RetryPolicy policy, @NonNull Object id, @NonNull Supplier<T> load,
+                                @NonNull Function<T, T> mutator, @NonNull ToIntFunction<T> update) {
+        if (BatchContext.isActive()) {
+            throw new IllegalStateException("the retry could not run in a batch context, whose updates return placeholder rows: id=" + id);
+        }
+        if (Transactions.isActive()) {
+            throw new IllegalStateException("the retry could not run in a transaction, whose reloads read the same snapshot: id=" + id);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            final T entity = load.get();
+            if (Objects.isNull(entity)) {
+                return null;
+            }
+
+            final Class<?> entityClass = ClassUtils.getUserClass(entity);
+            if (!DefaultQEntityFactory.INSTANCE.create(entityClass).hasVersionProperty()) {
+                throw new IllegalArgumentException("the retry requires a @Version property of the entity: " + entityClass.getName());
+            }
+            final ConflictStats stats = getStats(entityClass);
+            final T mutated = mutator.apply(entity);
+            stats.recordAttempt();
+            if (update.applyAsInt(mutated) > 0) {
+                // the version is increased by the update statement.
+                final T updated = load.get();
+                return Objects.isNull(updated) ? mutated : updated;
+            }
+
+            stats.recordConflict();
+            if (attempt >= policy.getMaxAttempts()) {
+                stats.recordExhausted();
+                throw new OptimisticLockException(entityClass, id, attempt);
+            }
+
+            final long backoff = backoff(policy, attempt);
+            logger.debug("the version is conflicted, retry after {}ms: entity={}, id={}, attempt={}",
+                    backoff, entityClass.getSimpleName(), id, attempt);
+            sleep(backoff);
+        }
+    }
+
+    @NonNull
+    public static ConflictStats getStats(@NonNull Class<?> entityClass) {
+        return STATS.computeIfAbsent(entityClass, key -> new ConflictStats());
+    }
+
+    static long backoff(RetryPolicy policy, int attempt) {
+        final double delay = Math.min(policy.getMaxBackoff().toMillis(),
+                policy.getInitialBackoff().toMillis() * Math.pow(policy.getMultiplier(), attempt - 1));
+        final double jitter = Math.max(0, Math.min(1, policy.getJitter()));
+        return (long) (delay * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("the retry is interrupted", e);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.retry;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The policy of the optimistic lock retry, see {@link org.ifinalframework.data.repository.Repository#updateWithRetry(java.io.Serializable, java.util.function.Function, RetryPolicy)}.
+ *
+ * <p>The backoff of the {@code n}th retry is {@code min(maxBackoff, initialBackoff * multiplier^(n-1))}, and reduced
+ * by a random ratio up to {@code jitter}, so the conflicted writers do not retry at the same time.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Getter
+@Builder
+public class RetryPolicy {
+
+    /**
+     * the max attempts of the update, including the first one.
+     */
+    @Builder.Default
+    private final int maxAttempts = 5;
+
+    @Builder.Default
+    private final Duration initialBackoff = Duration.ofMillis(10);
+
+    @Builder.Default
+    private final Duration maxBackoff = Duration.ofSeconds(1);
+
+    @Builder.Default
+    private final double multiplier = 2.0;
+
+    /**
+     * the max ratio of the backoff reduced randomly, between {@code 0} and {@code 1}.
+     */
+    @Builder.Default
+    private final double jitter = 0.5;
+
+    public static RetryPolicy of(int maxAttempts) {
+        return RetryPolicy.builder().maxAttempts(maxAttempts).build();
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.sink;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionOperations;
+
+import org.ifinalframework.context.user.UserContextHolder;
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IRecord;
+import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.repository.Repository;
+import org.ifinalframework.data.repository.batch.BatchContext;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An asynchronous write-behind sink of the append-only entities, such as the audits, events and logs.
+ *
+ * <p>The submitted rows are accumulated in a bounded queue and inserted by a worker thread in a batch when the batch
+ * has {@link WriteBehindPolicy#getBatchSize()} rows or the first row has been waiting for
+ * {@link WriteBehindPolicy#getFlushInterval()}. The submit is blocked when the queue is full, and rejected after
+ * {@link WriteBehindPolicy#getOfferTimeout()}.</p>
+ *
+ * <p>The future of a row is completed with the entity after it is inserted, so the generated id is available. Each
+ * batch is inserted in a transaction of the {@link TransactionOperations}, so the batch is atomic and the
+ * {@link WriteBehindPolicy.Mode#BATCH} writes are routed to the batch executor. A failed batch is rolled back and
+ * inserted row by row, and only the futures of the failed rows are completed exceptionally.</p>
+ *
+ * <p>The creator of the {@link IRecord} is taken from the submitting thread, the other thread bound contexts are not
+ * available in the worker thread.</p>
+ *
+ * <pre class="code">
+ * &#64;Bean
+ * public InsertSink&lt;Long, AuditLog&gt; auditLogSink(AuditLogMapper mapper, PlatformTransactionManager transactionManager) {
+ *     return new InsertSink&lt;&gt;("audit-log", mapper, WriteBehindPolicy.builder().build(),
+ *             new TransactionTemplate(transactionManager));
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see WriteBehindPolicy
+ * @since 1.6.0
+ */
+@Slf4j
+public class InsertSink<I extends Serializable, T extends IEntity<I>> implements AutoCloseable {
+
+    private final String name;
+
+    private final Repository<I, T> repository;
+
+    private final WriteBehindPolicy policy;
+
+    @Nullable
+    private final TransactionOperations transactionOperations;
+
+    private final BlockingQueue<Entry<T>> queue;
+
+    private final Thread worker;
+
+    private final SinkStats stats = new SinkStats();
+
+    /**
+     * the submits hold the read lock, and the close holds the write lock, so no row is queued after the sink is closed.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean closed;
+
+    /**
+     * create a sink without transaction, only the {@link WriteBehindPolicy.Mode#MULTI_ROW} mode is supported, whose
+     * batch is a single atomic statement.
+     */
+    public InsertSink(@NonNull String name, @NonNull Repository<I, T> repository, @NonNull WriteBehindPolicy policy) {
+        this(name, repository, policy, null);
+    }
+
+    /**
+     * @param transactionOperations the transaction of each batch, required by the {@link WriteBehindPolicy.Mode#BATCH}
+     *                              mode, whose rows would be committed one by one without a transaction.
+     */
+    public InsertSink(@NonNull String name, @NonNull Repository<I, T> repository, @NonNull WriteBehindPolicy policy,
+                      @Nullable TransactionOperations transactionOperations) {
+        if (policy.getMode() == WriteBehindPolicy.Mode.BATCH && Objects.isNull(transactionOperations)) {
+            throw new IllegalArgumentException("the BATCH mode of the sink requires the transaction operations: " + name);
+        }
+        this.name = name;
+        this.repository = repository;
+        this.policy = policy;
+        this.transactionOperations = transactionOperations;
+        this.queue = new ArrayBlockingQueue<>(policy.getCapacity());
+        this.worker = new Thread(this::run, "final-insert-sink-" + name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * submit the entity to insert.
+     *
+     * @param entity the entity
+     * @return the future completed with the inserted entity.
+     * @throws RejectedExecutionException if the sink is closed or the queue is still full after the offer timeout.
+     */
+    public CompletableFuture<T> submit(@NonNull T entity) {
+        setCreator(entity);
+        final Entry<T> entry = new Entry<>(entity, new CompletableFuture<>());
+
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("the sink is closed: " + name);
+            }
+            if (!offer(entry)) {
+                stats.recordRejected();
+                throw new RejectedExecutionException("the queue of the sink is full: " + name);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        stats.recordSubmitted();
+        return entry.future();
+    }
+
+    /**
+     * stop accepting the rows, and wait for the queued rows to be inserted until the shutdown timeout.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            worker.join(policy.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final List<Entry<T>> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.warn("the sink is not drained in {}: name={}, remaining={}", policy.getShutdownTimeout(), name, remaining.size());
+            final RejectedExecutionException exception = new RejectedExecutionException("the sink is closed: " + name);
+            remaining.forEach(it -> it.future().completeExceptionally(exception));
+        }
+        logger.info("the sink is closed: name={}, stats={}", name, stats);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public SinkStats getStats() {
+        return stats;
+    }
+
+    private boolean offer(Entry<T> entry) {
+        try {
+            final Duration timeout = policy.getOfferTimeout();
+            if (Objects.isNull(timeout)) {
+                queue.put(entry);
+                return true;
+            }
+            return queue.offer(entry, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("the submit is interrupted: " + name, e);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void setCreator(Object entity) {
+        if (entity instanceof IRecord record && Objects.isNull(record.getCreator())) {
+            final IUser<?> user = UserContextHolder.getUser();
+            if (Objects.nonNull(user)) {
+                record.setCreator(user);
+            }
+        }
+    }
+
+    private void run() {
+        final long interval = policy.getFlushInterval().toNanos();
+        final List<Entry<T>> batch = new ArrayList<>(policy.getBatchSize());
+        while (!closed || !queue.isEmpty()) {
+            try {
+                final Entry<T> first = queue.poll(interval, TimeUnit.NANOSECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + interval;
+                while (batch.size() < policy.getBatchSize()) {
+                    final long timeout = closed ? 0 : deadline - System.nanoTime();
+                    final Entry<T> next = timeout > 0 ? queue.poll(timeout, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (Objects.isNull(next)) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                logger.warn("the worker of the sink is interrupted: name={}", name);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                logger.error("flush the sink error: name={}", name, e);
+                batch.forEach(it -> it.future().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry<T>> batch) {
+        final List<T> entities = batch.stream().map(Entry::entity).collect(Collectors.toList());
+        final List<T> generated = entities.stream().filter(it -> Objects.isNull(it.getId())).collect(Collectors.toList());
+        try {
+            inTransaction(() -> {
+                if (policy.getMode() == WriteBehindPolicy.Mode.BATCH) {
+                    BatchContext.execute(() -> entities.stream().mapToInt(it -> repository.insert(policy.getTable(), it)).sum());
+                } else {
+                    repository.insert(policy.getTable(), entities);
+                }
+            });
+            stats.recordFlush(batch.size());
+            batch.forEach(it -> it.future().complete(it.entity()));
+        } catch (Exception e) {
+            logger.warn("insert the batch error, insert the rows one by one: name={}, rows={}", name, batch.size(), e);
+            // the batch is rolled back, clear the ids generated by the rolled back inserts.
+            generated.forEach(it -> it.setId(null));
+            for (Entry<T> entry : batch) {
+                try {
+                    repository.insert(policy.getTable(), entry.entity());
+                    stats.recordFlush(1);
+                    entry.future().complete(entry.entity());
+                } catch (Exception ex) {
+                    stats.recordFailed();
+                    entry.future().completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private void inTransaction(Runnable action) {
+        if (Objects.isNull(transactionOperations)) {
+            action.run();
+        } else {
+            transactionOperations.executeWithoutResult(status -> action.run());
+        }
+    }
+
+    private record Entry<T>(T entity, CompletableFuture<T> future) {
+    }
+
+}
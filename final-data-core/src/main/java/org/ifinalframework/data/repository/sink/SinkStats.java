@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.sink;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of an {@link InsertSink}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class SinkStats {
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    public void recordSubmitted() {
+        submitted.increment();
+    }
+
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    public void recordFlush(int rows) {
+        flushes.increment();
+        inserted.add(rows);
+    }
+
+    public void recordFailed() {
+        failed.increment();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getInserted() {
+        return inserted.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    /**
+     * return the average rows of a flush, {@code 0} when there is not any flush.
+     */
+    public double getAverageBatchSize() {
+        final long flushes = getFlushes();
+        return flushes == 0 ? 0 : (double) getInserted() / flushes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("submitted=%d,rejected=%d,inserted=%d,failed=%d,flushes=%d,averageBatchSize=%.2f",
+                getSubmitted(), getRejected(), getInserted(), getFailed(), getFlushes(), getAverageBatchSize());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.sink;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The policy of the {@link InsertSink}.
+ *
+ * <pre class="code">
+ * WriteBehindPolicy policy = WriteBehindPolicy.builder()
+ *         .capacity(10000)
+ *         .batchSize(500)
+ *         .flushInterval(Duration.ofMillis(50))
+ *         .build();
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Getter
+@Builder
+public class WriteBehindPolicy {
+
+    /**
+     * the table of the rows, the table of the entity if {@code null}.
+     */
+    @Nullable
+    private final String table;
+
+    @Builder.Default
+    private final Mode mode = Mode.MULTI_ROW;
+
+    /**
+     * the max rows waiting in the queue.
+     */
+    @Builder.Default
+    private final int capacity = 10000;
+
+    /**
+     * flush when the batch has {@code batchSize} rows.
+     */
+    @Builder.Default
+    private final int batchSize = 500;
+
+    /**
+     * flush when the first row of the batch has been waiting for {@code flushInterval}.
+     */
+    @Builder.Default
+    private final Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * the max time of a submit blocked by the full queue, blocks until there is space if {@code null}.
+     */
+    @Nullable
+    @Builder.Default
+    private final Duration offerTimeout = Duration.ofSeconds(1);
+
+    /**
+     * the max time to drain the queue when the sink is closed.
+     */
+    @Builder.Default
+    private final Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    public enum Mode {
+        /**
+         * insert the batch by one {@code INSERT INTO ... VALUES (...), (...)} statement.
+         */
+        MULTI_ROW,
+        /**
+         * insert the rows of the batch in a {@link org.ifinalframework.data.repository.batch.BatchContext}, which are
+         * sent by a JDBC batch if the executor supports.
+         */
+        BATCH
+    }
+}
@@ -73,6 +73,11 @@ public interface AbsService<I extends Serializable, T extends IEntity<I>>
         return getRepository().selectIds(params);
     }
 
+    @Override
+    default List<Map<String, Object>> selectMaps(@NonNull Map<String, Object> params) {
+        return getRepository().selectMaps(params);
+    }
+
     @Override
     default long selectCount(@NonNull Map<String, Object> params) {
         return getRepository().selectCount(params);
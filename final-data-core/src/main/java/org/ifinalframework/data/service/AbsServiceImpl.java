@@ -23,17 +23,30 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.ResolvableType;
 import org.springframework.lang.NonNull;
 
+import org.ifinalframework.cache.annotation.Cache;
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.ParamsBuilder;
+import org.ifinalframework.data.core.TenantSupplier;
 import org.ifinalframework.data.repository.Repository;
+import org.ifinalframework.data.repository.cache.EntityNearCache;
+import org.ifinalframework.data.repository.cache.NearCache;
+import org.ifinalframework.data.repository.fetch.AssociationFetcher;
+import org.ifinalframework.data.repository.loader.BatchLoad;
+import org.ifinalframework.data.repository.loader.RepositoryDataLoader;
 import org.ifinalframework.data.trigger.Trigger;
 import org.ifinalframework.data.trigger.TriggerAction;
+import org.ifinalframework.data.util.TableUtils;
+import org.ifinalframework.data.util.Transactions;
 
 import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import lombok.Setter;
 
@@ -51,6 +64,10 @@ public abstract class AbsServiceImpl<I extends Serializable, T extends IEntity<I
     private final List<Trigger<T>> preInsertTriggers = new LinkedList<>();
     private final List<Trigger<T>> postInsertTriggers = new LinkedList<>();
     private final List<Trigger<T>> postSelectTriggers = new LinkedList<>();
+    private RepositoryDataLoader<I, T> dataLoader;
+    private AssociationFetcher<T> associationFetcher;
+    private EntityNearCache<I, T> nearCache;
+    private Supplier<Object> tenantSupplier;
 
     @Setter
     private ApplicationContext applicationContext;
@@ -81,21 +98,112 @@ public abstract class AbsServiceImpl<I extends Serializable, T extends IEntity<I
         return rows;
     }
 
+    @Override
+    public int save(Map<String, Object> params) {
+        final int rows = AbsService.super.save(params);
+        evictNearCache(params);
+        return rows;
+    }
+
+    @Override
+    public int replace(Map<String, Object> params) {
+        final int rows = AbsService.super.replace(params);
+        evictNearCache(params);
+        return rows;
+    }
+
+    @Override
+    public int update(Map<String, Object> params) {
+        final int rows = AbsService.super.update(params);
+        evictNearCache(params);
+        return rows;
+    }
+
+    @Override
+    public int delete(Map<String, Object> params) {
+        final int rows = AbsService.super.delete(params);
+        evictNearCache(params);
+        return rows;
+    }
+
+    @Override
+    public void truncate(Map<String, Object> params) {
+        AbsService.super.truncate(params);
+        // not written by ids, evict all entries of the table.
+        evictNearCache(params);
+    }
+
+    private void evictNearCache(Map<String, Object> params) {
+        if (Objects.nonNull(nearCache)) {
+            nearCache.evict(params);
+        }
+    }
+
     @Override
     public List<T> select(Map<String, Object> params) {
-        List<T> entities = AbsService.super.select(params);
+        List<T> entities = Objects.nonNull(nearCache) && EntityNearCache.isCacheable(params)
+                ? nearCache.select(params, AbsService.super::select) : AbsService.super.select(params);
 
         postSelectTriggers.forEach(it -> it.accept(TriggerAction.POST_SELECT, entities));
 
+        if (Objects.nonNull(associationFetcher)) {
+            associationFetcher.fetch(entities, (Class<?>) params.get("view"));
+        }
+
         return entities;
     }
 
+    /**
+     * Route the {@code selectOne(id)} into the {@link RepositoryDataLoader} when the entity is annotated by {@link BatchLoad}
+     * and there is not an actual transaction, whose uncommitted rows are only visible to the caller thread.
+     */
+    @Override
+    public T selectOne(Map<String, Object> params) {
+        final T entity = doSelectOne(params);
+        if (Objects.nonNull(associationFetcher) && Objects.nonNull(entity)) {
+            associationFetcher.fetch(List.of(entity), (Class<?>) params.get("view"));
+        }
+        return entity;
+    }
+
+    private T doSelectOne(Map<String, Object> params) {
+        if (Objects.nonNull(nearCache) && EntityNearCache.isCacheable(params)) {
+            return nearCache.selectOne(params, this::loadOne);
+        }
+        return loadOne(params);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T loadOne(Map<String, Object> params) {
+        if (Objects.nonNull(dataLoader) && Objects.nonNull(params.get("id")) && Objects.isNull(params.get("query"))
+                && !Transactions.isActive()) {
+            try {
+                return dataLoader.get((String) params.get("table"), (Class<?>) params.get("view"), (I) params.get("id"));
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+        return AbsService.super.selectOne(params);
+    }
+
     @Override
     @NonNull
     public final Repository<I, T> getRepository() {
         return repository;
     }
 
+    /**
+     * return the near cache of entity, or {@code null} if the entity is not annotated by {@link NearCache}.
+     *
+     * @since 1.6.0
+     */
+    public EntityNearCache<I, T> getNearCache() {
+        return nearCache;
+    }
+
     @Override
     public void afterSingletonsInstantiated() {
         autodetect();
@@ -107,7 +215,11 @@ public abstract class AbsServiceImpl<I extends Serializable, T extends IEntity<I
         Class<?> entityClass = repositoryResolvableType.resolveGeneric(1);
 
         autodetectRepository(idClass, entityClass);
+        autodetectTenantSupplier();
         autodetectTriggers(idClass, entityClass);
+        autodetectDataLoader(entityClass);
+        autodetectAssociationFetcher(entityClass);
+        autodetectNearCache(entityClass);
     }
 
     /**
@@ -159,6 +271,60 @@ public abstract class AbsServiceImpl<I extends Serializable, T extends IEntity<I
 
     }
 
+    /**
+     * @since 1.6.0
+     */
+    @SuppressWarnings("rawtypes")
+    private void autodetectTenantSupplier() {
+        final List<TenantSupplier> tenantSuppliers = applicationContext.getBeanProvider(TenantSupplier.class)
+                .orderedStream().collect(Collectors.toList());
+        this.tenantSupplier = () -> tenantSuppliers.stream().map(Supplier::get)
+                .filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    /**
+     * @param entity entity class
+     * @since 1.6.0
+     */
+    private void autodetectDataLoader(Class<?> entity) {
+        final BatchLoad batchLoad = entity.getAnnotation(BatchLoad.class);
+        if (Objects.isNull(batchLoad)) {
+            return;
+        }
+        this.dataLoader = new RepositoryDataLoader<>(repository, tenantSupplier, batchLoad.window(), batchLoad.batchSize());
+    }
+
+    /**
+     * @param entity entity class
+     * @since 1.6.0
+     */
+    @SuppressWarnings("unchecked")
+    private void autodetectAssociationFetcher(Class<?> entity) {
+        final Map<Class<?>, Repository<?, ?>> repositories = new ConcurrentHashMap<>();
+        this.associationFetcher = (AssociationFetcher<T>) AssociationFetcher.of(entity, type -> repositories.computeIfAbsent(type, key -> {
+            final Class<?> idClass = ResolvableType.forClass(key).as(IEntity.class).resolveGeneric(0);
+            if (Objects.isNull(idClass)) {
+                return null;
+            }
+            final ResolvableType repositoryType = ResolvableType.forClassWithGenerics(Repository.class, idClass, key);
+            return (Repository<?, ?>) applicationContext.getBeanProvider(repositoryType).orderedStream().findFirst().orElse(null);
+        }));
+    }
+
+    /**
+     * @param entity entity class
+     * @since 1.6.0
+     */
+    @SuppressWarnings("unchecked")
+    private void autodetectNearCache(Class<?> entity) {
+        final NearCache annotation = entity.getAnnotation(NearCache.class);
+        if (Objects.isNull(annotation)) {
+            return;
+        }
+        final Cache remote = annotation.remote() ? applicationContext.getBeanProvider(Cache.class).getIfAvailable() : null;
+        this.nearCache = new EntityNearCache<>(TableUtils.getTable(entity), (Class<T>) entity, tenantSupplier,
+                annotation.maxSize(), annotation.ttl(), annotation.timeUnit(), remote);
+    }
 
     /*=========================================== Overridable ===========================================*/
 
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.util;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ClassUtils;
+
+import org.ifinalframework.context.FinalContext;
+import org.ifinalframework.context.user.UserContextHolder;
+import org.ifinalframework.core.IUser;
+
+import java.util.Objects;
+
+/**
+ * The snapshot of the user, the tenant of the {@link FinalContext} and the security context of a thread, which is
+ * captured by the submitting thread and attached to the thread executing the task.
+ *
+ * <pre class="code">
+ * final ContextSnapshot snapshot = ContextSnapshot.capture();
+ * executor.execute(() -&gt; {
+ *     final ContextSnapshot previous = snapshot.attach();
+ *     try {
+ *         task.run();
+ *     } finally {
+ *         previous.attach();
+ *     }
+ * });
+ * </pre>
+ *
+ * <p>Two snapshots are equal when they have the equal user, tenant and security context, so the tasks of equal
+ * snapshots can be run with any of them.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public final class ContextSnapshot {
+
+    private static final boolean SECURITY_PRESENT = ClassUtils.isPresent(
+            "org.springframework.security.core.context.SecurityContextHolder", ContextSnapshot.class.getClassLoader());
+
+    private final IUser<?> user;
+
+    private final Object tenantValue;
+
+    private final Runnable tenant;
+
+    private final Object security;
+
+    private ContextSnapshot(IUser<?> user, Object tenantValue, Runnable tenant, Object security) {
+        this.user = user;
+        this.tenantValue = tenantValue;
+        this.tenant = tenant;
+        this.security = security;
+    }
+
+    public static ContextSnapshot capture() {
+        final var tenant = FinalContext.TENANT.get();
+        return new ContextSnapshot(UserContextHolder.getUser(), tenant, () -> {
+            if (Objects.isNull(tenant)) {
+                FinalContext.TENANT.remove();
+            } else {
+                FinalContext.TENANT.set(tenant);
+            }
+        }, SECURITY_PRESENT ? Security.get() : null);
+    }
+
+    /**
+     * attach the snapshot to current thread.
+     *
+     * @return the snapshot of current thread before attached, which should be attached after the task.
+     */
+    public ContextSnapshot attach() {
+        final ContextSnapshot previous = capture();
+        if (Objects.isNull(user)) {
+            UserContextHolder.reset();
+        } else {
+            UserContextHolder.setUser(user);
+        }
+        tenant.run();
+        if (SECURITY_PRESENT) {
+            Security.set(security);
+        }
+        return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContextSnapshot that)) {
+            return false;
+        }
+        return Objects.equals(user, that.user) && Objects.equals(tenantValue, that.tenantValue)
+                && Objects.equals(security, that.security);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(user, tenantValue, security);
+    }
+
+    /**
+     * isolate the optional spring security classes.
+     */
+    private static final class Security {
+
+        static Object get() {
+            return SecurityContextHolder.getContext();
+        }
+
+        static void set(Object context) {
+            if (Objects.isNull(context)) {
+                SecurityContextHolder.clearContext();
+            } else {
+                SecurityContextHolder.setContext((SecurityContext) context);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Transactions.
+ *
+ * <p>Guard the optional {@code spring-tx} dependency, return {@code false} when it is not present.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public abstract class Transactions {
+
+    private static final boolean TX_PRESENT = ClassUtils.isPresent(
+            "org.springframework.transaction.support.TransactionSynchronizationManager", Transactions.class.getClassLoader());
+
+    /**
+     * return {@code true} when current thread is bound to an actual transaction.
+     */
+    public static boolean isActive() {
+        return TX_PRESENT && TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * run the action after the current transaction committed, the action is discarded if the transaction is rolled
+     * back, or run it immediately when there is not a transaction synchronization.
+     *
+     * @param action the action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TX_PRESENT && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * run the action after the current transaction completed (committed or rolled back),
+     * or run it immediately when there is not a transaction synchronization.
+     *
+     * @param action the action to run.
+     */
+    public static void afterCompletion(Runnable action) {
+        if (TX_PRESENT && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+}
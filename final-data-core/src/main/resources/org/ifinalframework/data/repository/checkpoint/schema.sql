@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS final_scan_checkpoint
+(
+    name        VARCHAR(128) NOT NULL,
+    fingerprint VARCHAR(64)  NOT NULL,
+    last_key    VARCHAR(255) NOT NULL,
+    key_type    VARCHAR(255) NOT NULL,
+    updated     DATETIME     NOT NULL,
+    PRIMARY KEY (name)
+);
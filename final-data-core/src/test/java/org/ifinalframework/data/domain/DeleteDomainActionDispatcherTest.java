@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain;
+
+import org.ifinalframework.context.exception.NotFoundException;
+import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.annotation.AbsEntity;
+import org.ifinalframework.data.domain.function.DefaultDeleteFunction;
+import org.ifinalframework.data.domain.spi.Preload;
+import org.ifinalframework.data.repository.Repository;
+import org.ifinalframework.data.spi.SpiAction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * DeleteDomainActionDispatcherTest
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@ExtendWith(MockitoExtension.class)
+class DeleteDomainActionDispatcherTest {
+
+    @Mock
+    private Repository<Long, AbsEntity> repository;
+
+    private DeleteDomainActionDispatcher<Long, AbsEntity, Long, IUser<Long>> dispatcher;
+
+    private DefaultDeleteFunction<Long, AbsEntity, Long, IUser<Long>> function;
+
+    @BeforeEach
+    void setUp() {
+        function = new DefaultDeleteFunction<>(repository);
+        dispatcher = new DeleteDomainActionDispatcher<>(SpiAction.DELETE, repository, function);
+    }
+
+    @Test
+    void deleteWithoutPreload() {
+        dispatcher.setPreloadHooks(Collections.singletonList(function));
+        Mockito.when(repository.delete(1L)).thenReturn(1);
+
+        dispatcher.delete(1L, null);
+
+        Mockito.verify(repository, Mockito.only()).delete(1L);
+    }
+
+    @Test
+    void notFoundWithoutPreload() {
+        dispatcher.setPreloadHooks(Collections.singletonList(function));
+
+        Assertions.assertThrows(NotFoundException.class, () -> dispatcher.delete(1L, null));
+    }
+
+    @Test
+    void deleteWithPreload() {
+        dispatcher.setPreloadHooks(Arrays.asList(function, new Object()));
+        Mockito.when(repository.select(1L)).thenReturn(Collections.singletonList(new AbsEntity()));
+
+        dispatcher.delete(1L, null);
+
+        Mockito.verify(repository).select(1L);
+        Mockito.verify(repository).delete(1L);
+    }
+
+    @Test
+    void deleteWithPreloadProperties() {
+        dispatcher.setPreloadHooks(Arrays.asList(function, new NameHook(), new StatusHook()));
+        Mockito.when(repository.selectProperties(Set.of("name", "status"), Collections.singletonList(1L), null))
+                .thenReturn(Collections.singletonList(new AbsEntity()));
+
+        dispatcher.delete(1L, null);
+
+        Mockito.verify(repository).selectProperties(Set.of("name", "status"), Collections.singletonList(1L), null);
+        Mockito.verify(repository).delete(1L);
+    }
+
+    @Preload(properties = "name")
+    private static class NameHook {
+    }
+
+    @Preload(properties = {"name", "status"})
+    private static class StatusHook {
+    }
+
+}
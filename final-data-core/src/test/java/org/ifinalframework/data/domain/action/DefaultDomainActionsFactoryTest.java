@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.action;
+
+import org.springframework.context.support.GenericApplicationContext;
+
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.core.IUpdate;
+import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.annotation.YN;
+import org.ifinalframework.data.domain.spi.LoggerAfterConsumer;
+import org.ifinalframework.data.repository.Repository;
+import org.ifinalframework.data.spi.SpiAction;
+import org.ifinalframework.entity.ResourceEntity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * DefaultDomainActionsFactoryTest
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@ExtendWith(MockitoExtension.class)
+class DefaultDomainActionsFactoryTest {
+
+    @Mock
+    private ResourceEntityRepository repository;
+
+    @Mock
+    private LoggerAfterConsumer loggerAfterConsumer;
+
+    private GenericApplicationContext applicationContext;
+
+    private DomainActions domainActions;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        applicationContext = new GenericApplicationContext();
+        applicationContext.refresh();
+        final DefaultDomainActionsFactory<Long, ResourceEntity, IUser<?>> factory
+                = new DefaultDomainActionsFactory<>((Class) IUser.class, applicationContext, loggerAfterConsumer);
+        domainActions = factory.create(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statusWithOneStatement() {
+        Mockito.when(repository.update(Mockito.any(IUpdate.class), Mockito.any(IQuery.class))).thenReturn(1);
+        final UpdateAction<Long, Object, Object, IUser<?>, Object> action
+                = (UpdateAction<Long, Object, Object, IUser<?>, Object>) domainActions.getDomainActions().get("UPDATE_BY_ID#property");
+
+        action.update("status", 1L, null, YN.YES, null);
+
+        Mockito.verify(repository, Mockito.only()).update(Mockito.any(IUpdate.class), Mockito.any(IQuery.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteWithOneStatement() {
+        Mockito.when(repository.delete(1L)).thenReturn(1);
+        final DeleteAction<Long, IUser<?>, Object> action
+                = (DeleteAction<Long, IUser<?>, Object>) domainActions.getDomainActions().get(SpiAction.Type.DELETE_BY_ID.name());
+
+        action.delete(1L, null);
+
+        Mockito.verify(repository, Mockito.only()).delete(1L);
+        Mockito.verify(loggerAfterConsumer).accept(Mockito.eq(SpiAction.DELETE), Mockito.anyList(), Mockito.eq(1L),
+                Mockito.any(), Mockito.eq(1), Mockito.any(), Mockito.any());
+    }
+
+    interface ResourceEntityRepository extends Repository<Long, ResourceEntity> {
+    }
+
+}
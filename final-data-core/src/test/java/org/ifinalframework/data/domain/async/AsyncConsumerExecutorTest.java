@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.async;
+
+import org.ifinalframework.context.FinalContext;
+import org.ifinalframework.context.user.UserContextHolder;
+import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.annotation.AbsEntity;
+import org.ifinalframework.data.domain.spi.AsyncConsumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncConsumerExecutorTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class AsyncConsumerExecutorTest {
+
+    private final AsyncConsumerExecutor executor = new AsyncConsumerExecutor(4, 100);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.destroy();
+    }
+
+    @Test
+    void orderedById() throws InterruptedException {
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final Notifier notifier = executor.wrap(Notifier.class, new AsyncNotifier(calls));
+        assertTrue(AsyncConsumerExecutor.isAsync(new AsyncNotifier(calls)));
+
+        for (int i = 0; i < 20; i++) {
+            notifier.accept(entity((long) (i % 2)), i);
+        }
+        executor.destroy();
+
+        assertEquals(20, calls.size());
+        for (long id = 0; id < 2; id++) {
+            final String prefix = id + ":";
+            final List<Integer> values = calls.stream().filter(it -> it.startsWith(prefix))
+                    .map(it -> Integer.valueOf(it.substring(prefix.length())))
+                    .collect(Collectors.toList());
+            assertEquals(values.stream().sorted().collect(Collectors.toList()), values);
+        }
+        assertEquals(20, executor.getStats().getCompleted());
+    }
+
+    @Test
+    void isolateErrors() throws InterruptedException {
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final Notifier notifier = executor.wrap(Notifier.class, new AsyncNotifier(calls));
+
+        notifier.accept(entity(1L), -1);
+        notifier.accept(entity(1L), 1);
+        executor.destroy();
+
+        assertEquals(List.of("1:1"), calls);
+        assertEquals(1, executor.getStats().getFailed());
+    }
+
+    @Test
+    void orderedByIdParam() throws InterruptedException {
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final IdNotifier notifier = executor.wrap(IdNotifier.class, new AsyncIdNotifier(calls));
+
+        for (int i = 0; i < 20; i++) {
+            notifier.accept(Collections.emptyList(), (long) (i % 2), i);
+        }
+        executor.destroy();
+
+        for (long id = 0; id < 2; id++) {
+            final String prefix = id + ":";
+            final List<Integer> values = calls.stream().filter(it -> it.startsWith(prefix))
+                    .map(it -> Integer.valueOf(it.substring(prefix.length())))
+                    .collect(Collectors.toList());
+            assertEquals(10, values.size());
+            assertEquals(values.stream().sorted().collect(Collectors.toList()), values);
+        }
+    }
+
+    @Test
+    void attachContext() throws InterruptedException {
+        final IUser<?> user = Mockito.mock(IUser.class);
+        final List<Object> contexts = new CopyOnWriteArrayList<>();
+        UserContextHolder.setUser(user);
+        FinalContext.TENANT.set(1L);
+        try {
+            executor.execute("context", 1L, () -> {
+                contexts.add(UserContextHolder.getUser());
+                contexts.add(FinalContext.TENANT.get());
+            });
+        } finally {
+            UserContextHolder.reset();
+            FinalContext.TENANT.remove();
+        }
+        executor.destroy();
+
+        assertEquals(2, contexts.size());
+        assertSame(user, contexts.get(0));
+        assertEquals(1L, contexts.get(1));
+    }
+
+    private static AbsEntity entity(Long id) {
+        final AbsEntity entity = new AbsEntity();
+        entity.setId(id);
+        return entity;
+    }
+
+    interface Notifier {
+        void accept(AbsEntity entity, int value);
+    }
+
+    interface IdNotifier {
+        void accept(List<AbsEntity> entities, Long id, int value);
+    }
+
+    @AsyncConsumer
+    record AsyncIdNotifier(List<String> calls) implements IdNotifier {
+        @Override
+        public void accept(List<AbsEntity> entities, Long id, int value) {
+            calls.add(id + ":" + value);
+        }
+    }
+
+    @AsyncConsumer
+    record AsyncNotifier(List<String> calls) implements Notifier {
+        @Override
+        public void accept(AbsEntity entity, int value) {
+            if (value < 0) {
+                throw new IllegalStateException("notify error");
+            }
+            calls.add(entity.getId() + ":" + value);
+        }
+    }
+
+}
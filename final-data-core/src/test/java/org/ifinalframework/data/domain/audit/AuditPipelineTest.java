@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.domain.audit;
+
+import org.ifinalframework.data.spi.SpiAction;
+import org.ifinalframework.entity.DomainEntity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AuditPipelineTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class AuditPipelineTest {
+
+    @Test
+    void publish() throws InterruptedException {
+        final List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+        final AuditPipeline pipeline = new AuditPipeline(List.of(events -> batches.add(List.copyOf(events))),
+                100, 10, Duration.ofMillis(10), AuditPipeline.Overflow.BLOCK);
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(pipeline.publish(event(i)));
+        }
+        pipeline.destroy();
+
+        assertEquals(25, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(it -> it.size() <= 10));
+        assertFalse(pipeline.publish(event(25)));
+    }
+
+    @Test
+    void dropWhenFull() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AuditPipeline pipeline = new AuditPipeline(List.of(events -> latch.await()),
+                1, 1, Duration.ofMillis(10), AuditPipeline.Overflow.DROP);
+
+        for (int i = 0; i < 10; i++) {
+            pipeline.publish(event(i));
+        }
+
+        assertTrue(pipeline.getDropped() > 0);
+        latch.countDown();
+        pipeline.destroy();
+    }
+
+    @Test
+    void isolateSinkErrors() throws InterruptedException {
+        final List<AuditEvent> written = new CopyOnWriteArrayList<>();
+        final AuditPipeline pipeline = new AuditPipeline(List.of(events -> {
+            throw new IllegalStateException("sink error");
+        }, written::addAll), 100, 10, Duration.ofMillis(10), AuditPipeline.Overflow.BLOCK);
+
+        pipeline.publish(event(0));
+        pipeline.destroy();
+
+        assertEquals(1, written.size());
+        assertEquals(1, pipeline.getFailed());
+    }
+
+    @Test
+    void snapshot() {
+        final List<String> param = new ArrayList<>(List.of("a"));
+        final AuditEvent event = AuditEvent.of(SpiAction.CREATE, null, param, 1L, null, null, null);
+        param.add("b");
+
+        assertEquals(List.of("a"), event.param());
+        assertEquals(1L, event.value());
+    }
+
+    @Test
+    void snapshotEntity() {
+        final DomainEntity entity = new DomainEntity();
+        entity.setId(1L);
+        final AuditEvent event = AuditEvent.of(SpiAction.UPDATE, entity, 1L, null, 1, null, null);
+        entity.setId(2L);
+
+        assertEquals("1", event.entityId());
+        assertNotSame(entity, event.entity());
+        assertEquals(1L, ((DomainEntity) event.entity()).getId());
+    }
+
+    private static AuditEvent event(int index) {
+        return AuditEvent.of(SpiAction.CREATE, null, index, null, null, null, null);
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.query.criterion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InListBucketsTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class InListBucketsTest {
+
+    @Test
+    void bucketSize() {
+        assertEquals(1, InListBuckets.bucketSize(1));
+        assertEquals(2, InListBuckets.bucketSize(2));
+        assertEquals(4, InListBuckets.bucketSize(3));
+        assertEquals(4, InListBuckets.bucketSize(4));
+        assertEquals(8, InListBuckets.bucketSize(5));
+        assertEquals(1024, InListBuckets.bucketSize(1000));
+        assertEquals(1025, InListBuckets.bucketSize(1025));
+    }
+
+    @Test
+    void bucket() {
+        assertEquals(List.of(1, 2, 3, 3), InListBuckets.bucket(List.of(1, 2, 3)));
+        assertEquals(List.of(1L, 2L, 3L, 3L), InListBuckets.bucket(new long[]{1L, 2L, 3L}));
+        assertEquals(List.of(), InListBuckets.bucket(null));
+        assertEquals(List.of(), InListBuckets.bucket(List.of()));
+    }
+
+    @Test
+    void apply() {
+        assertEquals("<foreach collection=\"@org.ifinalframework.data.query.criterion.InListBuckets@bucket(query.ids)\" item=\"item\">",
+                InListBuckets.apply("<foreach collection=\"query.ids\" item=\"item\">", "query.ids"));
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BatchContextTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class BatchContextTest {
+
+    @Test
+    void withoutFlusher() {
+        assertEquals(3, BatchContext.execute(() -> 3));
+        assertFalse(BatchContext.isActive());
+    }
+
+    @Test
+    void flush() {
+        final AtomicInteger pending = new AtomicInteger();
+        final Object key = new Object();
+
+        final int rows = BatchContext.execute(() -> {
+            assertTrue(BatchContext.isActive());
+            for (int i = 0; i < 3; i++) {
+                BatchContext.register(key, () -> pending.getAndSet(0));
+                pending.incrementAndGet();
+            }
+            // flushed before a read.
+            BatchContext.flush();
+            BatchContext.register(key, () -> pending.getAndSet(0));
+            pending.incrementAndGet();
+            // nested scope joins the outer one.
+            BatchContext.execute(() -> -1);
+            return -1;
+        });
+
+        assertEquals(4, rows);
+        assertFalse(BatchContext.isActive());
+    }
+
+    @Test
+    void discardOnError() {
+        final AtomicInteger pending = new AtomicInteger();
+        final Object key = new Object();
+
+        assertThrows(IllegalStateException.class, () -> BatchContext.execute(() -> {
+            BatchContext.register(key, () -> pending.getAndSet(0), () -> pending.set(-1));
+            pending.incrementAndGet();
+            throw new IllegalStateException("write error");
+        }));
+
+        assertEquals(-1, pending.get());
+        assertFalse(BatchContext.isActive());
+    }
+
+}
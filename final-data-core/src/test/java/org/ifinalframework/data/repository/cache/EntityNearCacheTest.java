@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.cache;
+
+import org.ifinalframework.core.IView;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.projection.Projection;
+import org.ifinalframework.entity.DomainEntity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EntityNearCacheTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class EntityNearCacheTest {
+
+    private final EntityNearCache<Long, DomainEntity> cache = new EntityNearCache<>("domain_entity", DomainEntity.class,
+            () -> null, 16, 1, TimeUnit.MINUTES, null);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void selectOne() {
+        assertEquals(1L, cache.selectOne(params("id", 1L), this::loadOne).getId());
+        assertEquals(1L, cache.selectOne(params("id", 1L), this::loadOne).getId());
+        assertEquals(1, loads.get());
+
+        final Map<String, Object> detail = params("id", 1L);
+        detail.put("view", IView.Detail.class);
+        cache.selectOne(detail, this::loadOne);
+        assertEquals(2, loads.get());
+
+        assertEquals(1, cache.getStats().getLocalHits());
+        assertEquals(2, cache.getStats().getMisses());
+        assertEquals(1 / 3.0, cache.getStats().getHitRatio(), 0.0001);
+    }
+
+    @Test
+    void select() {
+        cache.selectOne(params("id", 1L), this::loadOne);
+
+        final List<DomainEntity> entities = cache.select(params("ids", List.of(2L, 1L, 3L)), this::load);
+
+        assertEquals(List.of(2L, 1L, 3L), entities.stream().map(DomainEntity::getId).collect(Collectors.toList()));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void evict() {
+        cache.selectOne(params("id", 1L), this::loadOne);
+        cache.selectOne(params("id", 2L), this::loadOne);
+
+        cache.evict(params("ids", List.of(1L)));
+        cache.selectOne(params("id", 1L), this::loadOne);
+        cache.selectOne(params("id", 2L), this::loadOne);
+        assertEquals(3, loads.get());
+
+        cache.evict(params("query", new PageQuery()));
+        cache.selectOne(params("id", 2L), this::loadOne);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void copy() {
+        cache.selectOne(params("id", 1L), this::loadOne);
+
+        final DomainEntity cached = cache.selectOne(params("id", 1L), this::loadOne);
+        cached.setId(9L);
+
+        assertNotSame(cached, cache.selectOne(params("id", 1L), this::loadOne));
+        assertEquals(1L, cache.selectOne(params("id", 1L), this::loadOne).getId());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictOnceWithoutTransaction() {
+        cache.evict(params("ids", List.of(1L)));
+
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    void isCacheable() {
+        assertTrue(EntityNearCache.isCacheable(params("id", 1L)));
+        assertFalse(EntityNearCache.isCacheable(params("query", new PageQuery())));
+
+        final Map<String, Object> projected = params("ids", List.of(1L));
+        projected.put(Projection.PROPERTIES_PARAM_NAME, List.of("id"));
+        assertFalse(EntityNearCache.isCacheable(projected));
+
+        final Map<String, Object> columns = params("id", 1L);
+        columns.put("columns", List.of("id"));
+        assertFalse(EntityNearCache.isCacheable(columns));
+    }
+
+    private static Map<String, Object> params(String key, Object value) {
+        final Map<String, Object> params = new HashMap<>();
+        params.put(key, value);
+        return params;
+    }
+
+    private DomainEntity loadOne(Map<String, Object> params) {
+        return load(params("ids", List.of((Long) params.get("id")))).get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DomainEntity> load(Map<String, Object> params) {
+        return ((Collection<Long>) params.get("ids")).stream().map(id -> {
+            loads.incrementAndGet();
+            final DomainEntity entity = new DomainEntity();
+            entity.setId(id);
+            return entity;
+        }).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.checkpoint;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileScanCheckpointStoreTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class FileScanCheckpointStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void saveAndLoad() {
+        final FileScanCheckpointStore store = new FileScanCheckpointStore(directory);
+        assertNull(store.load("order-archive"));
+
+        store.save(new ScanCheckpoint("order-archive", "abc", "100", Long.class.getName()));
+        store.save(new ScanCheckpoint("order-archive", "abc", "200", Long.class.getName()));
+
+        final ScanCheckpoint checkpoint = store.load("order-archive");
+        assertNotNull(checkpoint);
+        assertEquals("abc", checkpoint.fingerprint());
+        assertEquals("200", checkpoint.key());
+        assertEquals(Long.class.getName(), checkpoint.keyType());
+
+        store.remove("order-archive");
+        assertNull(store.load("order-archive"));
+    }
+
+    @Test
+    void illegalName() {
+        final FileScanCheckpointStore store = new FileScanCheckpointStore(directory);
+        assertThrows(IllegalArgumentException.class, () -> store.load("../order"));
+    }
+
+}
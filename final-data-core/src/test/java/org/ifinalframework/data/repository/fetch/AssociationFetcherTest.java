@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.fetch;
+
+import org.ifinalframework.core.IView;
+import org.ifinalframework.core.lang.Transient;
+import org.ifinalframework.data.annotation.AbsEntity;
+import org.ifinalframework.data.repository.Repository;
+import org.ifinalframework.entity.DomainEntity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AssociationFetcherTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@ExtendWith(MockitoExtension.class)
+class AssociationFetcherTest {
+
+    @Mock
+    private Repository<Long, DomainEntity> repository;
+
+    @Test
+    void of() {
+        assertNull(AssociationFetcher.of(DomainEntity.class, type -> repository));
+        assertNotNull(AssociationFetcher.of(FetchEntity.class, type -> repository));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fetch() {
+        Mockito.when(repository.select(Mockito.<Collection<Long>>any()))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream().map(id -> {
+                    final DomainEntity entity = new DomainEntity();
+                    entity.setId(id);
+                    return entity;
+                }).collect(Collectors.toList()));
+
+        final AssociationFetcher<FetchEntity> fetcher = AssociationFetcher.of(FetchEntity.class, type -> repository);
+        final List<FetchEntity> entities = List.of(new FetchEntity(1L), new FetchEntity(2L), new FetchEntity(1L), new FetchEntity(null));
+
+        fetcher.fetch(entities, IView.List.class);
+
+        assertEquals(1L, entities.get(0).getDomain().getId());
+        assertEquals(2L, entities.get(1).getDomain().getId());
+        assertEquals(1L, entities.get(2).getDomain().getId());
+        assertNull(entities.get(3).getDomain());
+        assertNull(entities.get(0).getDetail());
+        Mockito.verify(repository, Mockito.only()).select(Mockito.<Collection<Long>>any());
+    }
+
+    @Setter
+    @Getter
+    public static class FetchEntity extends AbsEntity {
+
+        private Long domainId;
+
+        @Transient
+        @Fetch(key = "domainId")
+        private DomainEntity domain;
+
+        @Transient
+        @Fetch(key = "domainId", views = IView.Detail.class)
+        private DomainEntity detail;
+
+        public FetchEntity() {
+        }
+
+        FetchEntity(Long domainId) {
+            this.domainId = domainId;
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.loader;
+
+import org.ifinalframework.context.user.UserContextHolder;
+import org.ifinalframework.core.IUser;
+import org.ifinalframework.data.repository.Repository;
+import org.ifinalframework.entity.DomainEntity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RepositoryDataLoaderTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@ExtendWith(MockitoExtension.class)
+class RepositoryDataLoaderTest {
+
+    @Mock
+    private Repository<Long, DomainEntity> repository;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void load() {
+        Mockito.when(repository.select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any()))
+                .thenAnswer(invocation -> entities(invocation.getArgument(2)));
+
+        final RepositoryDataLoader<Long, DomainEntity> loader = new RepositoryDataLoader<>(repository, () -> null, scheduler, 60_000, 10);
+
+        final CompletableFuture<DomainEntity> first = loader.load(1L);
+        final CompletableFuture<DomainEntity> second = loader.load(2L);
+        final CompletableFuture<DomainEntity> duplicate = loader.load(1L);
+        loader.dispatch();
+
+        assertEquals(1L, first.join().getId());
+        assertEquals(2L, second.join().getId());
+        assertSame(first, duplicate);
+        Mockito.verify(repository, Mockito.times(1)).select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any());
+    }
+
+    @Test
+    void loadWithView() {
+        final RepositoryDataLoader<Long, DomainEntity> loader = new RepositoryDataLoader<>(repository, () -> null, scheduler, 60_000, 10);
+
+        final CompletableFuture<DomainEntity> first = loader.load(null, String.class, 1L);
+        final CompletableFuture<DomainEntity> second = loader.load(null, Integer.class, 1L);
+        loader.dispatch();
+
+        assertNull(first.join());
+        assertNull(second.join());
+        Mockito.verify(repository, Mockito.times(2)).select(Mockito.<String>isNull(), Mockito.<Class<?>>any(), Mockito.<Collection<Long>>any());
+    }
+
+    @Test
+    void loadInChunks() {
+        Mockito.when(repository.select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any()))
+                .thenAnswer(invocation -> entities(invocation.getArgument(2)));
+
+        final RepositoryDataLoader<Long, DomainEntity> loader = new RepositoryDataLoader<>(repository, () -> null, scheduler, 60_000, 2);
+
+        final CompletableFuture<List<DomainEntity>> entities = loader.loadMany(null, null, List.of(1L, 2L, 3L));
+        loader.dispatch();
+
+        assertEquals(List.of(1L, 2L, 3L), entities.join().stream().map(DomainEntity::getId).collect(Collectors.toList()));
+        Mockito.verify(repository, Mockito.times(2)).select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any());
+    }
+
+    @Test
+    void getAlone() {
+        Mockito.when(repository.select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any()))
+                .thenAnswer(invocation -> entities(invocation.getArgument(2)));
+
+        final RepositoryDataLoader<Long, DomainEntity> loader = new RepositoryDataLoader<>(repository, () -> null, scheduler, 60_000, 10);
+
+        // dispatched immediately without waiting for the window.
+        assertEquals(1L, loader.get(null, null, 1L).getId());
+    }
+
+    @Test
+    void batchByUser() {
+        Mockito.when(repository.select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any()))
+                .thenAnswer(invocation -> entities(invocation.getArgument(2)));
+
+        final RepositoryDataLoader<Long, DomainEntity> loader = new RepositoryDataLoader<>(repository, () -> null, scheduler, 60_000, 10);
+
+        final CompletableFuture<DomainEntity> first = loader.load(1L);
+        final CompletableFuture<DomainEntity> second;
+        UserContextHolder.setUser(Mockito.mock(IUser.class));
+        try {
+            second = loader.load(1L);
+        } finally {
+            UserContextHolder.reset();
+        }
+        loader.dispatch();
+
+        assertNotSame(first, second);
+        assertEquals(1L, first.join().getId());
+        assertEquals(1L, second.join().getId());
+        Mockito.verify(repository, Mockito.times(2)).select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any());
+    }
+
+    @Test
+    void dispatchWithCallerContext() {
+        final IUser<?> user = Mockito.mock(IUser.class);
+        final List<Object> users = new CopyOnWriteArrayList<>();
+        Mockito.when(repository.select(Mockito.<String>isNull(), Mockito.<Class<?>>isNull(), Mockito.<Collection<Long>>any()))
+                .thenAnswer(invocation -> {
+                    users.add(UserContextHolder.getUser());
+                    users.add(Thread.currentThread().getName());
+                    return entities(invocation.getArgument(2));
+                });
+
+        final RepositoryDataLoader<Long, DomainEntity> loader = new RepositoryDataLoader<>(repository, () -> null, scheduler, 0, 10);
+
+        UserContextHolder.setUser(user);
+        final CompletableFuture<DomainEntity> future;
+        try {
+            future = loader.load(1L);
+        } finally {
+            UserContextHolder.reset();
+        }
+
+        assertEquals(1L, future.join().getId());
+        assertSame(user, users.get(0));
+        assertTrue(users.get(1).toString().startsWith("final-data-loader-"));
+    }
+
+    private static List<DomainEntity> entities(Collection<Long> ids) {
+        return ids.stream().map(id -> {
+            final DomainEntity entity = new DomainEntity();
+            entity.setId(id);
+            return entity;
+        }).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProjectionTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class ProjectionTest {
+
+    @Test
+    void record() {
+        final Projection<Name> projection = Projection.of(Name.class);
+        assertEquals(List.of("id", "name", "age"), projection.getProperties());
+
+        final Name name = projection.map(row(1L, "a", 12));
+        assertEquals(new Name(1L, "a", 12), name);
+
+        // the null of primitive is the default value
+        assertEquals(new Name(1L, null, 0), projection.map(row(1L, null, null)));
+    }
+
+    @Test
+    void projectionInterface() {
+        final Projection<Age> projection = Projection.of(Age.class);
+        assertTrue(projection.getProperties().containsAll(List.of("id", "age", "adult")));
+        assertEquals(3, projection.getProperties().size());
+
+        final Map<String, Object> row = row(1L, "a", 20);
+        row.put("adult", true);
+        final Age age = projection.map(row);
+        assertEquals(1L, age.id());
+        assertEquals(20L, age.getAge());
+        assertTrue(age.isAdult());
+        assertEquals("1:20", age.text());
+        assertEquals(age, projection.map(row));
+    }
+
+    @Test
+    void mapInPlace() {
+        final List<Map<String, Object>> rows = new ArrayList<>(List.of(row(1L, "a", 1), row(2L, "b", 2)));
+        final List<Name> names = Projection.of(Name.class).map(rows);
+        assertSame(rows, names);
+        assertEquals("b", names.get(1).name());
+    }
+
+    @Test
+    void illegal() {
+        assertThrows(IllegalArgumentException.class, () -> Projection.of(String.class));
+    }
+
+    private static Map<String, Object> row(Long id, String name, Integer age) {
+        final Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("age", age);
+        return row;
+    }
+
+    public record Name(Long id, String name, int age) {
+    }
+
+    public interface Age {
+        Long id();
+
+        Long getAge();
+
+        boolean isAdult();
+
+        default String text() {
+            return id() + ":" + getAge();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.repository.retry;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OptimisticRetryTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class OptimisticRetryTest {
+
+    private final RetryPolicy policy = RetryPolicy.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .build();
+
+    @Test
+    void retryUntilUpdated() {
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicInteger updates = new AtomicInteger();
+        final ConflictStats stats = OptimisticRetry.getStats(Counter.class);
+        final long conflicts = stats.getConflicts();
+
+        final Counter counter = OptimisticRetry.execute(policy, 1L, () -> new Counter(loads.incrementAndGet()),
+                it -> new Counter(it.value() + 10), it -> updates.incrementAndGet() < 2 ? 0 : 1);
+
+        assertNotNull(counter);
+        assertEquals(12, counter.value());
+        assertEquals(2, loads.get());
+        assertEquals(conflicts + 1, stats.getConflicts());
+    }
+
+    @Test
+    void exhausted() {
+        final OptimisticLockException exception = assertThrows(OptimisticLockException.class,
+                () -> OptimisticRetry.execute(policy, 1L, () -> new Counter(0), it -> it, it -> 0));
+
+        assertEquals(3, exception.getAttempts());
+        assertTrue(OptimisticRetry.getStats(Counter.class).getExhausted() > 0);
+    }
+
+    @Test
+    void notFound() {
+        assertNull(OptimisticRetry.execute(policy, 1L, () -> null, it -> it, it -> 1));
+    }
+
+    @Test
+    void rejectTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(IllegalStateException.class, () -> OptimisticRetry.execute(policy, 1L, () -> new Counter(0), it -> it, it -> 1));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    void backoff() {
+        final RetryPolicy policy = RetryPolicy.builder()
+                .initialBackoff(Duration.ofMillis(100))
+                .maxBackoff(Duration.ofMillis(300))
+                .jitter(0)
+                .build();
+
+        assertEquals(100, OptimisticRetry.backoff(policy, 1));
+        assertEquals(200, OptimisticRetry.backoff(policy, 2));
+        assertEquals(300, OptimisticRetry.backoff(policy, 3));
+    }
+
+    record Counter(int value) {
+    }
+
+}
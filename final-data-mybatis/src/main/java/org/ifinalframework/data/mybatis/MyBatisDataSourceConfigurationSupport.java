@@ -5,8 +5,10 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.env.Environment;
 
 import org.ifinalframework.data.mybatis.configuration.FinalMybatisConfigurationCustomizer;
+import org.ifinalframework.data.mybatis.session.RoutingSqlSessionTemplate;
 
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.scripting.LanguageDriver;
@@ -35,6 +37,8 @@ import lombok.Setter;
  */
 public class MyBatisDataSourceConfigurationSupport implements BeanFactoryAware {
 
+    public static final String EXECUTOR_ROUTING_PROPERTY = "final.data.mybatis.executor-routing";
+
     @Setter
     private BeanFactory beanFactory;
 
@@ -42,7 +46,7 @@ public class MyBatisDataSourceConfigurationSupport implements BeanFactoryAware {
 
         SqlSessionFactoryBean bean = new SqlSessionFactoryBean();
         bean.setDataSource(dataSource);
-        bean.setPlugins(beanFactory.getBeanProvider(Interceptor.class).stream().toArray(Interceptor[]::new));
+        bean.setPlugins(beanFactory.getBeanProvider(Interceptor.class).orderedStream().toArray(Interceptor[]::new));
         bean.setTypeHandlers(beanFactory.getBeanProvider(TypeHandler.class).stream().toArray(TypeHandler[]::new));
         bean.setScriptingLanguageDrivers(
                 beanFactory.getBeanProvider(LanguageDriver.class).stream().toArray(LanguageDriver[]::new));
@@ -52,10 +56,24 @@ public class MyBatisDataSourceConfigurationSupport implements BeanFactoryAware {
         return bean.getObject();
     }
 
+    /**
+     * create the {@link SqlSessionTemplate}, which routes the reads to the {@code REUSE} executor and the bulk writes to
+     * the {@code BATCH} executor within a transaction when {@value #EXECUTOR_ROUTING_PROPERTY} is {@code true}.
+     *
+     * @see RoutingSqlSessionTemplate
+     */
     protected SqlSessionTemplate sqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+        if (isExecutorRouting()) {
+            return new RoutingSqlSessionTemplate(sqlSessionFactory);
+        }
         return new SqlSessionTemplate(sqlSessionFactory);
     }
 
+    protected boolean isExecutorRouting() {
+        final Environment environment = beanFactory.getBeanProvider(Environment.class).getIfAvailable();
+        return Objects.nonNull(environment) && environment.getProperty(EXECUTOR_ROUTING_PROPERTY, Boolean.class, false);
+    }
+
     protected void applyConfiguration(Configuration configuration) {
         beanFactory.getBeanProvider(ConfigurationCustomizer.class).forEach(it -> it.customize(configuration));
 
@@ -35,6 +35,7 @@ import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.session.Configuration;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -77,7 +78,8 @@ public class MapperBuilderAssistantExt extends MapperBuilderAssistant {
                                               String keyProperty, String keyColumn, String databaseId,
                                               LanguageDriver lang, String resultSets, boolean dirtySelect) {
 
-        if (resultMap == null && resultType != null && resultType != void.class && !Primaries.isPrimary(resultType)) {
+        if (resultMap == null && resultType != null && resultType != void.class && !Primaries.isPrimary(resultType)
+                && !Map.class.isAssignableFrom(resultType)) {
 
             final String statementId = applyCurrentNamespace(id, false);
             resultMap = statementId + "-Inline";
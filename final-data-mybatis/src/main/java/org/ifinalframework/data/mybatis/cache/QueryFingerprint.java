@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.cache;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+
+import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.repository.page.HasNextContext;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The fingerprint of a query, digest of the statement id, rendered sql, bound parameter values and page.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.apache.ibatis.scripting.defaults.DefaultParameterHandler
+ * @since 1.6.0
+ */
+public final class QueryFingerprint {
+
+    private QueryFingerprint() {
+    }
+
+    @NonNull
+    public static String of(@NonNull MappedStatement ms, @Nullable Object parameter, @NonNull BoundSql boundSql) {
+        return of(ms, parameter, boundSql, true);
+    }
+
+    /**
+     * @param withPage include the page, size, count of the {@link Pageable} parameter and the {@link HasNextContext}.
+     */
+    @NonNull
+    public static String of(@NonNull MappedStatement ms, @Nullable Object parameter, @NonNull BoundSql boundSql,
+                            boolean withPage) {
+        final StringBuilder builder = new StringBuilder()
+                .append(ms.getId()).append('\n')
+                .append(boundSql.getSql()).append('\n');
+
+        final Configuration configuration = ms.getConfiguration();
+        MetaObject metaObject = null;
+        for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            final String property = parameterMapping.getProperty();
+            final Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (Objects.isNull(parameter)) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (Objects.isNull(metaObject)) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            builder.append(value).append(',');
+        }
+
+        final Pageable pageable = withPage ? findPageable(parameter) : null;
+        if (Objects.nonNull(pageable)) {
+            builder.append('\n').append(pageable.getPage()).append(',').append(pageable.getSize()).append(',').append(pageable.getCount())
+                    .append(',').append(HasNextContext.isEnabled());
+        }
+
+        return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    public static Pageable findPageable(@Nullable Object parameter) {
+        if (parameter instanceof Pageable pageable) {
+            return pageable;
+        }
+        if (parameter instanceof Map<?, ?> map) {
+            for (Object item : map.values()) {
+                if (item instanceof Pageable pageable) {
+                    return pageable;
+                }
+            }
+        }
+        return null;
+    }
+
+}
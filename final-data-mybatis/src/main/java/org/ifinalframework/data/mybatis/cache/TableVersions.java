@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.cache.annotation.Cache;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The version counters of tables, which are increased by every write of the table.
+ *
+ * <p>The local version is kept in memory, and the remote version is kept in the {@link Cache} bean for the tables which
+ * results are cached in the remote tier.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+public class TableVersions {
+
+    private static final String KEY_PREFIX = "final:table:version:";
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final ObjectProvider<Cache> cacheProvider;
+
+    public TableVersions(ObjectProvider<Cache> cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    /**
+     * return the current version of the table.
+     *
+     * @param table  the table
+     * @param remote read the remote version.
+     * @return the current version of the table.
+     */
+    public String get(@NonNull String table, boolean remote) {
+        final String local = String.valueOf(versions.computeIfAbsent(table, key -> new AtomicLong()).get());
+        final Cache cache = remote ? getRemote() : null;
+        if (Objects.isNull(cache)) {
+            return local;
+        }
+
+        try {
+            final Long version = cache.get(KEY_PREFIX + table, null, Long.class, null);
+            // combine the local version, so the local writes are visible even if the remote is unavailable.
+            return (Objects.isNull(version) ? 0L : version) + "." + local;
+        } catch (Exception e) {
+            logger.warn("get remote table version error: table={}", table, e);
+            return local;
+        }
+    }
+
+    /**
+     * increase the version of the table.
+     *
+     * @param table  the table
+     * @param remote increase the remote version.
+     */
+    public void increment(@NonNull String table, boolean remote) {
+        versions.computeIfAbsent(table, key -> new AtomicLong()).incrementAndGet();
+        final Cache cache = remote ? getRemote() : null;
+        if (Objects.nonNull(cache)) {
+            try {
+                cache.increment(KEY_PREFIX + table, null, 1L);
+            } catch (Exception e) {
+                logger.warn("increment remote table version error: table={}", table, e);
+            }
+        }
+    }
+
+    @Nullable
+    public Cache getRemote() {
+        return cacheProvider.getIfAvailable();
+    }
+
+}
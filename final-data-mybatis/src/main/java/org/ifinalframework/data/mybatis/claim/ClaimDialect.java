@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.claim;
+
+/**
+ * The dialect of the row-limit and lock clause of claim, which skips the rows locked by other transactions.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ClaimLocks
+ * @since 1.6.0
+ */
+public interface ClaimDialect {
+
+    /**
+     * @param databaseProductName  the product name of {@link java.sql.DatabaseMetaData#getDatabaseProductName()}.
+     * @param databaseMajorVersion the major version of {@link java.sql.DatabaseMetaData#getDatabaseMajorVersion()}.
+     */
+    boolean supports(String databaseProductName, int databaseMajorVersion);
+
+    /**
+     * return the lock clause appended after the row-limit of the select.
+     */
+    default String lock() {
+        return "FOR UPDATE SKIP LOCKED";
+    }
+
+    /**
+     * return the clause appended after the {@code ORDER BY} of the select, which limits the rows and locks them.
+     *
+     * @param batch the max rows to claim.
+     */
+    default String clause(int batch) {
+        return "LIMIT " + batch + " " + lock();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.claim;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolve the row-limit and lock clause of claim by the {@link ClaimDialect} of the connection.
+ *
+ * <p>The databases which do not support {@code SKIP LOCKED} fall back to {@code LIMIT n FOR UPDATE}, the claim is still
+ * correct, but the workers wait for the rows locked by each other. The databases without {@code LIMIT} need a
+ * {@link ClaimDialect} bean which renders their own clause.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ClaimDialect
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+public class ClaimLocks {
+
+    public static final String FALLBACK_LOCK = "FOR UPDATE";
+
+    private final List<ClaimDialect> dialects;
+
+    private final Map<String, ClaimDialect> productDialects = new ConcurrentHashMap<>();
+
+    public ClaimLocks(ObjectProvider<ClaimDialect> dialects) {
+        this.dialects = dialects.orderedStream().collect(Collectors.toList());
+    }
+
+    /**
+     * @param connection the connection of the claim.
+     * @param batch      the max rows to claim.
+     * @return the row-limit and lock clause.
+     */
+    public String getClause(Connection connection, int batch) throws SQLException {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        final String product = metaData.getDatabaseProductName();
+        final int version = metaData.getDatabaseMajorVersion();
+        return productDialects.computeIfAbsent(product + ":" + version, key -> dialects.stream()
+                .filter(it -> it.supports(product, version))
+                .findFirst()
+                .orElseGet(() -> {
+                    logger.warn("SKIP LOCKED is not supported, claim falls back to {}: database={} {}", FALLBACK_LOCK, product, version);
+                    return new FallbackClaimDialect();
+                })).clause(batch);
+    }
+
+    private static final class FallbackClaimDialect implements ClaimDialect {
+
+        @Override
+        public boolean supports(String databaseProductName, int databaseMajorVersion) {
+            return true;
+        }
+
+        @Override
+        public String lock() {
+            return FALLBACK_LOCK;
+        }
+    }
+
+}
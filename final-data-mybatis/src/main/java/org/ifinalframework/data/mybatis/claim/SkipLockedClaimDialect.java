@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.claim;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The databases support {@code LIMIT n FOR UPDATE SKIP LOCKED}, MySQL 8.0+, MariaDB 11+ and PostgreSQL 10+.
+ *
+ * <p>Oracle is not supported, which has no {@code LIMIT} and does not lock the rows of {@code FETCH FIRST}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Component
+public class SkipLockedClaimDialect implements ClaimDialect {
+
+    @Override
+    public boolean supports(String databaseProductName, int databaseMajorVersion) {
+        return switch (databaseProductName) {
+            case "MySQL" -> databaseMajorVersion >= 8;
+            case "MariaDB" -> databaseMajorVersion >= 11;
+            case "PostgreSQL" -> databaseMajorVersion >= 10;
+            default -> false;
+        };
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import org.ifinalframework.core.IRepository;
+import org.ifinalframework.data.annotation.YN;
+import org.ifinalframework.data.annotation.criterion.Criteria;
+import org.ifinalframework.data.annotation.criterion.Criterion;
+import org.ifinalframework.data.mapping.Entity;
+import org.ifinalframework.data.mybatis.spi.EntityClassParameterConsumer;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.query.criterion.Exists;
+import org.ifinalframework.data.query.criterion.NotExists;
+import org.ifinalframework.data.repository.checkpoint.Keyset;
+import org.ifinalframework.data.repository.count.CountMode;
+import org.ifinalframework.data.util.TenantUtils;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import java.lang.annotation.Annotation;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Use the estimated row count of the database when the query has not any criteria.
+ *
+ * <ul>
+ *     <li>MySQL: {@code information_schema.TABLES.TABLE_ROWS};</li>
+ *     <li>H2: {@code INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE};</li>
+ *     <li>PostgreSQL: {@code pg_class.reltuples}.</li>
+ * </ul>
+ *
+ * <p>Count by {@code COUNT(*)} when the query has criteria, the database is not supported or the estimate is not found.
+ * The criteria are the ones supplied by the query, such as the {@link PageQuery#getCriteria()}, the non-null values of
+ * the criterion properties, the ids and the {@link Keyset}. The entity which has a tenant or a logic delete ({@link YN})
+ * property is always counted by {@code COUNT(*)} too, since the estimate counts the rows of all tenants and the deleted
+ * ones.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+public class ApproximateCountStrategy implements CountStrategy {
+
+    private static final List<Class<? extends Annotation>> CRITERION_ANNOTATIONS = List.of(Criterion.class, Criteria.class,
+            Exists.class, NotExists.class);
+
+    @Override
+    public CountMode getMode() {
+        return CountMode.APPROXIMATE;
+    }
+
+    @Override
+    public Long count(CountContext context) {
+        if (Objects.isNull(context.table()) || hasCriteria(context) || hasImplicitCriteria(entityClass(context))) {
+            return null;
+        }
+
+        try {
+            final Connection connection = context.executor().getTransaction().getConnection();
+            final String sql = estimateSql(connection.getMetaData().getDatabaseProductName());
+            if (Objects.isNull(sql)) {
+                return null;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, context.table());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        final long estimate = resultSet.getLong(1);
+                        return resultSet.wasNull() || estimate < 0 ? null : estimate;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("estimate count error: table={}", context.table(), e);
+        }
+        return null;
+    }
+
+    static boolean hasCriteria(CountContext context) {
+        if (Objects.nonNull(ParameterUtils.get(context.parameter(), "ids"))
+                || Objects.nonNull(ParameterUtils.get(context.parameter(), Keyset.PARAM_NAME))) {
+            return true;
+        }
+        return hasCriteria(context.pageable());
+    }
+
+    /**
+     * return whether the entity has the predicates rendered without the query, the tenant and the logic delete, which
+     * is {@code true} if the entity is unknown.
+     */
+    static boolean hasImplicitCriteria(@Nullable Class<?> entityClass) {
+        if (Objects.isNull(entityClass)) {
+            return true;
+        }
+        if (TenantUtils.isTenant(entityClass) || DefaultQEntityFactory.INSTANCE.create(entityClass).hasTenantProperty()) {
+            return true;
+        }
+        return Entity.from(entityClass).stream().anyMatch(property -> !property.isTransient() && YN.class == property.getType());
+    }
+
+    /**
+     * return the entity class of the parameter, or of the mapper of the statement.
+     */
+    @Nullable
+    private static Class<?> entityClass(CountContext context) {
+        if (ParameterUtils.get(context.parameter(), EntityClassParameterConsumer.ENTITY_CLASS_PARAM_NAME) instanceof Class<?> entityClass) {
+            return entityClass;
+        }
+        final String id = context.ms().getId();
+        final String mapperName = id.substring(0, id.lastIndexOf('.'));
+        if (!ClassUtils.isPresent(mapperName, ApproximateCountStrategy.class.getClassLoader())) {
+            return null;
+        }
+        return ResolvableType.forClass(ClassUtils.resolveClassName(mapperName, ApproximateCountStrategy.class.getClassLoader()))
+                .as(IRepository.class).resolveGeneric(1);
+    }
+
+    private static boolean hasCriteria(@Nullable Object query) {
+        if (Objects.isNull(query)) {
+            return false;
+        }
+        if (query instanceof PageQuery pageQuery && Objects.nonNull(pageQuery.getCriteria()) && pageQuery.getCriteria().size() > 0) {
+            return true;
+        }
+        final MetaObject metaObject = SystemMetaObject.forObject(query);
+        return Entity.from(query.getClass()).stream()
+                .filter(property -> CRITERION_ANNOTATIONS.stream().anyMatch(property::isAnnotationPresent))
+                .anyMatch(property -> Objects.nonNull(metaObject.getValue(property.getName())));
+    }
+
+    /**
+     * return the sql to select the estimated rows of the table in the current schema, {@code null} if the database is
+     * not supported.
+     */
+    @Nullable
+    static String estimateSql(String databaseProductName) {
+        final String database = databaseProductName.toLowerCase(Locale.ROOT);
+        if (database.contains("mysql") || database.contains("mariadb")) {
+            return "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+        } else if (database.contains("h2")) {
+            // the ROW_COUNT_ESTIMATE column is kept by the INFORMATION_SCHEMA of H2 2.x.
+            return "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = UPPER(?)";
+        } else if (database.contains("postgresql")) {
+            // the reltuples is -1 before the table is analyzed, which is ignored.
+            return "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = ? AND relkind IN ('r', 'p') AND pg_table_is_visible(oid)";
+        }
+        return null;
+    }
+}
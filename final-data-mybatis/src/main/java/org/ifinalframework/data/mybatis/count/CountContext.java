@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.repository.count.PageCount;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * The context of a paged query to count.
+ *
+ * @param executor  the executor of the query.
+ * @param ms        the mapped statement of the query.
+ * @param parameter the parameter of the query.
+ * @param boundSql  the bound sql of the query.
+ * @param pageable  the page of the query.
+ * @param table     the table of the query, maybe {@code null} when the mapper is not an {@code AbsMapper}.
+ * @param pageCount the {@link PageCount} of the query or entity.
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public record CountContext(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql,
+                           Pageable pageable, @Nullable String table, @Nullable PageCount pageCount) {
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.data.repository.count.CountMode;
+
+/**
+ * The strategy to count the total of a paged query.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.mybatis.interceptor.PageHelperPageableInterceptor
+ * @since 1.6.0
+ */
+public interface CountStrategy {
+
+    @NonNull
+    CountMode getMode();
+
+    /**
+     * return the total before the page query, or {@code null} to count by the page query.
+     *
+     * @param context the count context.
+     * @return the total of the query.
+     */
+    @Nullable
+    Long count(@NonNull CountContext context);
+
+    /**
+     * callback after the total is counted by the page query.
+     *
+     * @param context the count context.
+     * @param total   the counted total.
+     */
+    default void counted(@NonNull CountContext context, long total) {
+    }
+
+}
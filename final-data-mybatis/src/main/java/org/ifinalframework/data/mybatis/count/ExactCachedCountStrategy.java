@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.data.mybatis.cache.QueryFingerprint;
+import org.ifinalframework.data.mybatis.cache.TableVersions;
+import org.ifinalframework.data.repository.cache.LocalCache;
+import org.ifinalframework.data.repository.count.CountMode;
+import org.ifinalframework.data.repository.count.PageCount;
+import org.ifinalframework.data.util.Transactions;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Count by {@code COUNT(*)} and cache the total by the query fingerprint with a ttl,
+ * the totals are invalidated by the {@link TableVersions} of the table.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Component
+public class ExactCachedCountStrategy implements CountStrategy {
+
+    private static final int MAX_SIZE = 1024;
+
+    private final TableVersions tableVersions;
+
+    private final Map<Long, LocalCache<String, Long>> caches = new ConcurrentHashMap<>();
+
+    public ExactCachedCountStrategy(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    @Override
+    public CountMode getMode() {
+        return CountMode.EXACT_CACHED;
+    }
+
+    @Override
+    public Long count(CountContext context) {
+        if (Objects.isNull(context.table()) || Transactions.isActive()) {
+            return null;
+        }
+        return getCache(context).get(key(context));
+    }
+
+    @Override
+    public void counted(CountContext context, long total) {
+        if (Objects.isNull(context.table()) || Transactions.isActive()) {
+            return;
+        }
+        getCache(context).put(key(context), total);
+    }
+
+    private LocalCache<String, Long> getCache(CountContext context) {
+        final PageCount pageCount = context.pageCount();
+        final long ttl = Objects.isNull(pageCount) ? 10_000L : pageCount.timeUnit().toMillis(pageCount.ttl());
+        return caches.computeIfAbsent(ttl, it -> new LocalCache<>(MAX_SIZE, it));
+    }
+
+    private String key(CountContext context) {
+        return context.table() + ":" + tableVersions.get(context.table(), false) + ":"
+                + QueryFingerprint.of(context.ms(), context.parameter(), context.boundSql(), false);
+    }
+}
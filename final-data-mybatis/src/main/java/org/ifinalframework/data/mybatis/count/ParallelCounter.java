@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.util.Transactions;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+import javax.sql.DataSource;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Run the {@code selectCount} statement of the paged {@code select} statement on another pooled connection, so the count
+ * and the page fetch are executed concurrently.
+ *
+ * <p>The count is executed by a plain {@link SimpleExecutor} with the consumed parameters, which bypasses the plugins
+ * and the thread bound contexts such as tenant and user. Inside an active transaction, when the connection pool has no
+ * spare connection, or when the bounded executor is full, {@link #submit(CountContext)} returns {@code null} and the
+ * count is executed sequentially by {@link #count(CountContext)}.</p>
+ *
+ * <p>The spare connections are only known for the {@link HikariDataSource}, other pools are assumed to have one.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.repository.count.PageCount#parallel()
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+public class ParallelCounter implements DisposableBean {
+
+    private static final String SELECT_SUFFIX = ".select";
+    private static final String SELECT_COUNT_SUFFIX = ".selectCount";
+
+    private final ThreadPoolExecutor executor;
+
+    public ParallelCounter(@Value("${final.data.mybatis.count.parallelism:4}") int parallelism,
+                           @Value("${final.data.mybatis.count.queue-capacity:64}") int queueCapacity) {
+        final AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            final Thread thread = new Thread(runnable, "final-count-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * submit the count of the context.
+     *
+     * @param context the count context.
+     * @return the future of the total, or {@code null} if the count could not be executed concurrently.
+     */
+    @Nullable
+    public Future<Long> submit(CountContext context) {
+        if (Transactions.isActive()) {
+            return null;
+        }
+
+        final Configuration configuration = context.ms().getConfiguration();
+        final Environment environment = configuration.getEnvironment();
+        final MappedStatement countMs = getCountStatement(context.ms());
+        if (Objects.isNull(countMs) || Objects.isNull(environment)) {
+            return null;
+        }
+
+        if (!hasSpareConnection(environment.getDataSource())) {
+            // the caller holds a connection while waiting, do not compete for the last ones of the pool.
+            logger.debug("no spare connection for parallel count, fallback to sequential: statement={}", countMs.getId());
+            return null;
+        }
+
+        final Object parameter = ParameterUtils.copy(context.parameter());
+        try {
+            return executor.submit(() -> count(configuration, environment, countMs, parameter));
+        } catch (RejectedExecutionException e) {
+            logger.warn("parallel count rejected, fallback to sequential: statement={}", countMs.getId());
+            return null;
+        }
+    }
+
+    /**
+     * count sequentially by the executor of the context, such as the fallback of a failed parallel count.
+     *
+     * @param context the count context.
+     * @return the total of the query.
+     */
+    public long count(CountContext context) throws SQLException {
+        final MappedStatement countMs = getCountStatement(context.ms());
+        if (Objects.isNull(countMs)) {
+            throw new IllegalStateException("not found the count statement of " + context.ms().getId());
+        }
+        final List<Object> result = context.executor().query(countMs, ParameterUtils.copy(context.parameter()),
+                RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        return toTotal(result);
+    }
+
+    @Nullable
+    private static MappedStatement getCountStatement(MappedStatement ms) {
+        if (!ms.getId().endsWith(SELECT_SUFFIX)) {
+            return null;
+        }
+        final Configuration configuration = ms.getConfiguration();
+        final String countId = ms.getId().substring(0, ms.getId().length() - SELECT_SUFFIX.length()) + SELECT_COUNT_SUFFIX;
+        return configuration.hasStatement(countId, false) ? configuration.getMappedStatement(countId, false) : null;
+    }
+
+    private static boolean hasSpareConnection(DataSource dataSource) {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return true;
+            }
+            final HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            final HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return Objects.isNull(pool) || pool.getIdleConnections() > 0
+                    || pool.getTotalConnections() < hikari.getMaximumPoolSize();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static Long count(Configuration configuration, Environment environment, MappedStatement countMs,
+                              Object parameter) throws Exception {
+        final Transaction transaction = environment.getTransactionFactory()
+                .newTransaction(environment.getDataSource(), null, false);
+        final Executor countExecutor = new SimpleExecutor(configuration, transaction);
+        try {
+            return toTotal(countExecutor.query(countMs, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER));
+        } finally {
+            countExecutor.close(false);
+        }
+    }
+
+    private static long toTotal(List<Object> result) {
+        return result.isEmpty() || Objects.isNull(result.get(0)) ? 0L : ((Number) result.get(0)).longValue();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+}
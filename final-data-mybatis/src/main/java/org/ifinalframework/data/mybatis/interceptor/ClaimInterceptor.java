@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.data.mybatis.claim.ClaimLocks;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.repository.claim.Claim;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Map;
+
+/**
+ * Bind the row-limit and lock clause of the {@link Claim} by the dialect of the connection of the executor.
+ *
+ * <p>This interceptor is ordered before the page interceptors, which render the sql of the statement.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ClaimLocks
+ * @since 1.6.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class}),
+})
+@Order(Ordered.LOWEST_PRECEDENCE - 300)
+@Component
+@SuppressWarnings("unchecked")
+public class ClaimInterceptor extends AbsMapperInterceptor {
+
+    private final ClaimLocks claimLocks;
+
+    public ClaimInterceptor(ClaimLocks claimLocks) {
+        this.claimLocks = claimLocks;
+    }
+
+    @Override
+    protected Object intercept(Invocation invocation, Class<?> mapper, Class<?> entity) throws Throwable {
+        final Object[] args = invocation.getArgs();
+        if (!(ParameterUtils.get(args[1], Claim.PARAM_NAME) instanceof Claim claim)) {
+            return invocation.proceed();
+        }
+
+        final Executor executor = (Executor) invocation.getTarget();
+        final Map<String, Object> parameter = (Map<String, Object>) ParameterUtils.copy(args[1]);
+        parameter.put(Claim.LOCK_PARAM_NAME, claimLocks.getClause(executor.getTransaction().getConnection(), claim.getBatch()));
+        args[1] = parameter;
+        return invocation.proceed();
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.QEntity;
+import org.ifinalframework.data.query.QProperty;
+import org.ifinalframework.data.repository.dirty.DirtyTracking;
+import org.ifinalframework.data.repository.dirty.EntitySnapshots;
+import org.ifinalframework.util.Asserts;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Take the snapshots of the {@link DirtyTracking} entities loaded by {@code select} and {@code selectOne}, and take them
+ * again after the entity is updated by {@code update}, so the next update only sets the changed columns. The update of an
+ * unchanged entity is skipped and returns {@code 0}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see EntitySnapshots
+ * @since 1.6.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class, CacheKey.class,
+                BoundSql.class}),
+})
+@Order(Ordered.LOWEST_PRECEDENCE - 50)
+@Component
+public class DirtyTrackingInterceptor extends AbsMapperInterceptor {
+
+    @Override
+    protected Object intercept(Invocation invocation, Class<?> mapper, Class<?> entity) throws Throwable {
+        if (!entity.isAnnotationPresent(DirtyTracking.class)) {
+            return invocation.proceed();
+        }
+
+        final MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        final String id = ms.getId();
+
+        if ("update".equals(invocation.getMethod().getName()) && id.endsWith(".update")
+                && isUnchanged(entity, ParameterUtils.get(invocation.getArgs()[1], "entity"))) {
+            // nothing to set, the statement is skipped.
+            return 0;
+        }
+
+        final Object result = invocation.proceed();
+
+        if ("update".equals(invocation.getMethod().getName())) {
+            // the placeholder rows of a batch executor are negative, the entity is tracked again by the next select.
+            if (id.endsWith(".update") && result instanceof Integer rows && rows > 0) {
+                EntitySnapshots.track(ParameterUtils.get(invocation.getArgs()[1], "entity"));
+            }
+        } else if ((id.endsWith(".select") || id.endsWith(".selectOne")) && result instanceof List<?> list) {
+            list.forEach(EntitySnapshots::track);
+        }
+
+        return result;
+    }
+
+    /**
+     * return {@code true} if the tracked entity is not changed and there is not a column set by the update writer or
+     * the version.
+     */
+    private static boolean isUnchanged(Class<?> entity, Object value) {
+        final Set<String> dirty = EntitySnapshots.dirty(value);
+        if (Objects.isNull(dirty) || !dirty.isEmpty()) {
+            return false;
+        }
+        final QEntity<?, ?> properties = DefaultQEntityFactory.INSTANCE.create(entity);
+        return !properties.hasVersionProperty() && properties.stream()
+                .filter(QProperty::isModifiable)
+                .noneMatch(property -> Asserts.nonBlank(property.getUpdate()));
+    }
+
+}
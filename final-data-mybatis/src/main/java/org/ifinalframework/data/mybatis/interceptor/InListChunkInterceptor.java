@@ -0,0 +1,392 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ReflectionUtils;
+
+import org.ifinalframework.core.Groupable;
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.Limitable;
+import org.ifinalframework.core.Orderable;
+import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.annotation.criterion.In;
+import org.ifinalframework.data.mybatis.cache.QueryFingerprint;
+import org.ifinalframework.data.mybatis.temp.TempIdTable;
+import org.ifinalframework.data.mybatis.temp.TempTableDialect;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.repository.checkpoint.Keyset;
+import org.ifinalframework.data.repository.claim.Claim;
+import org.ifinalframework.data.util.Transactions;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Split the large {@code IN} lists of {@code select(ids)}, {@code selectIds}, {@code update(ids)}, {@code delete(ids)}
+ * and the {@link In} properties of the query into chunks of {@code final.data.mybatis.in-chunk.size}, and merge the
+ * results of the chunks. The duplicated values of the list are removed before it is split.
+ *
+ * <p>Outside a transaction, the chunks of a select are executed concurrently by plain {@link SimpleExecutor}s on other
+ * pooled connections, with the parameters which have been consumed by the {@link DispatchInterceptor}. Inside a
+ * transaction the chunks are executed sequentially by the intercepted executor, so they are visible to the transaction.</p>
+ *
+ * <p>The chunks of a write are always executed sequentially by the intercepted executor, and committed together when
+ * the connection is in auto-commit mode, so the chunked write is as atomic as the single statement.</p>
+ *
+ * <p>The queries which are paged, limited, ordered or grouped are not split, because the results of the chunks could
+ * not be merged.</p>
+ *
+ * <p>The ids of {@code final.data.mybatis.temp-table.threshold} or more are loaded into the {@link TempIdTable} and
+ * joined by one statement instead, if the database has a {@link TempTableDialect}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class}),
+})
+@Order(Ordered.LOWEST_PRECEDENCE - 200)
+@Component
+@SuppressWarnings("unchecked")
+public class InListChunkInterceptor extends AbsMapperInterceptor implements DisposableBean {
+
+    private static final Pattern PATTERN = Pattern.compile("\\.(select|selectIds|update|delete)$");
+
+    private static final String IDS_PARAM_NAME = "ids";
+    private static final String QUERY_PARAM_NAME = "query";
+    private static final String TEMP_IDS_PARAM_NAME = "tempIds";
+
+    private final int chunkSize;
+
+    private final int tempTableThreshold;
+
+    private final TempIdTable tempIdTable;
+
+    private final boolean restoreOrder;
+
+    private final ThreadPoolExecutor executor;
+
+    public InListChunkInterceptor(@Value("${final.data.mybatis.in-chunk.size:1000}") int chunkSize,
+                                  @Value("${final.data.mybatis.in-chunk.restore-order:false}") boolean restoreOrder,
+                                  @Value("${final.data.mybatis.in-chunk.parallelism:4}") int parallelism,
+                                  @Value("${final.data.mybatis.temp-table.threshold:0}") int tempTableThreshold,
+                                  TempIdTable tempIdTable) {
+        this.chunkSize = chunkSize;
+        this.tempTableThreshold = tempTableThreshold;
+        this.tempIdTable = tempIdTable;
+        this.restoreOrder = restoreOrder;
+        final AtomicInteger index = new AtomicInteger();
+        // the caller runs the chunk when the executor is busy, the chunks are bounded by the size of the list.
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(parallelism), runnable -> {
+            final Thread thread = new Thread(runnable, "final-in-chunk-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    protected Object intercept(Invocation invocation, Class<?> mapper, Class<?> entity) throws Throwable {
+        final Object[] args = invocation.getArgs();
+        final MappedStatement ms = (MappedStatement) args[0];
+        final Object parameter = args[1];
+
+        if (chunkSize <= 0 || !PATTERN.matcher(ms.getId()).find() || (args.length > 3 && Objects.nonNull(args[3]))) {
+            return invocation.proceed();
+        }
+
+        final Collection<?> ids = (Collection<?>) ParameterUtils.get(parameter, IDS_PARAM_NAME);
+        if (tempTableThreshold > 0 && Objects.nonNull(ids) && ids.size() >= tempTableThreshold) {
+            final Object result = proceedTempTable((Executor) invocation.getTarget(), args, ids);
+            if (Objects.nonNull(result)) {
+                return result;
+            }
+        }
+
+        final List<Object> parameters = split(parameter, ids);
+        if (Objects.isNull(parameters)) {
+            return invocation.proceed();
+        }
+
+        logger.debug("split the in list into {} chunks: statement={}", parameters.size(), ms.getId());
+        final List<Object> results;
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT) {
+            results = proceedAtomic((Executor) invocation.getTarget(), args, parameters);
+        } else if (Transactions.isActive()) {
+            results = proceedSequential((Executor) invocation.getTarget(), args, parameters);
+        } else {
+            results = proceedParallel(ms, parameters);
+        }
+
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT) {
+            return results.stream().mapToInt(it -> (Integer) it).sum();
+        }
+
+        final List<Object> rows = new ArrayList<>();
+        results.forEach(it -> rows.addAll((List<Object>) it));
+        return restoreOrder(rows, ids);
+    }
+
+    /**
+     * load the ids into the temporary table on the connection of the executor, and join the table by {@code tempIds}.
+     *
+     * @return the result, or {@code null} if the database has no {@link TempTableDialect}.
+     */
+    @Nullable
+    private Object proceedTempTable(Executor target, Object[] args, Collection<?> ids) throws Exception {
+        final MappedStatement ms = (MappedStatement) args[0];
+        final Connection connection = target.getTransaction().getConnection();
+        final TempTableDialect dialect = tempIdTable.getDialect(connection);
+        if (Objects.isNull(dialect)) {
+            return null;
+        }
+
+        logger.debug("join the {} ids with temp table: statement={}", ids.size(), ms.getId());
+        final String table = tempIdTable.load(connection, dialect, ids);
+        try {
+            final Map<String, Object> parameter = (Map<String, Object>) ParameterUtils.copy(args[1]);
+            parameter.put(TEMP_IDS_PARAM_NAME, table);
+            if (ms.getSqlCommandType() != SqlCommandType.SELECT) {
+                return target.update(ms, parameter);
+            }
+            return restoreOrder(target.query(ms, parameter, (RowBounds) args[2], (ResultHandler<?>) args[3]), ids);
+        } finally {
+            // the cache key of the join has no ids.
+            target.clearLocalCache();
+            tempIdTable.clear(connection, dialect, table);
+        }
+    }
+
+    /**
+     * split the parameter by the ids, or the first large {@link In} property of the query.
+     *
+     * @return the parameters of the chunks, or {@code null} if the parameter need not be split.
+     */
+    @Nullable
+    private List<Object> split(Object parameter, @Nullable Collection<?> ids) {
+        final Object query = ParameterUtils.get(parameter, QUERY_PARAM_NAME);
+        if (!isMergeable(parameter, query)) {
+            return null;
+        }
+
+        if (Objects.nonNull(ids) && ids.size() > chunkSize) {
+            final List<Object> parameters = new ArrayList<>();
+            for (List<?> chunk : chunks(ids)) {
+                final Map<String, Object> copy = (Map<String, Object>) ParameterUtils.copy(parameter);
+                copy.put(IDS_PARAM_NAME, chunk);
+                parameters.add(copy);
+            }
+            return parameters;
+        }
+
+        if (Objects.isNull(query)) {
+            return null;
+        }
+
+        final Field field = findLargeInField(query);
+        if (Objects.isNull(field)) {
+            return null;
+        }
+
+        final List<Object> parameters = new ArrayList<>();
+        for (List<?> chunk : chunks((Collection<?>) ReflectionUtils.getField(field, query))) {
+            final Object queryCopy = BeanUtils.instantiateClass(query.getClass());
+            BeanUtils.copyProperties(query, queryCopy);
+            ReflectionUtils.setField(field, queryCopy, chunk);
+            final Map<String, Object> copy = (Map<String, Object>) ParameterUtils.copy(parameter);
+            copy.put(QUERY_PARAM_NAME, queryCopy);
+            parameters.add(copy);
+        }
+        return parameters;
+    }
+
+    private static boolean isMergeable(Object parameter, @Nullable Object query) {
+        final Pageable pageable = QueryFingerprint.findPageable(parameter);
+        if (Objects.nonNull(pageable) && Objects.nonNull(pageable.getPage()) && Objects.nonNull(pageable.getSize())) {
+            return false;
+        }
+        if (Objects.nonNull(ParameterUtils.get(parameter, Keyset.PARAM_NAME))
+                || Objects.nonNull(ParameterUtils.get(parameter, Claim.PARAM_NAME))) {
+            return false;
+        }
+        if (query instanceof Limitable limitable && Objects.nonNull(limitable.getLimit())) {
+            return false;
+        }
+        if (query instanceof Orderable orderable && !CollectionUtils.isEmpty(orderable.getOrders())) {
+            return false;
+        }
+        return !(query instanceof Groupable groupable) || CollectionUtils.isEmpty(groupable.getGroups());
+    }
+
+    @Nullable
+    private Field findLargeInField(Object query) {
+        final AtomicReference<Field> found = new AtomicReference<>();
+        ReflectionUtils.doWithFields(query.getClass(), field -> {
+            ReflectionUtils.makeAccessible(field);
+            if (Objects.isNull(found.get()) && ReflectionUtils.getField(field, query) instanceof Collection<?> values
+                    && values.size() > chunkSize) {
+                found.set(field);
+            }
+        }, field -> Collection.class.isAssignableFrom(field.getType()) && AnnotatedElementUtils.hasAnnotation(field, In.class));
+        return found.get();
+    }
+
+    private List<List<?>> chunks(Collection<?> values) {
+        final List<?> list = new ArrayList<>(new LinkedHashSet<>(values));
+        final List<List<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(new ArrayList<>(list.subList(from, Math.min(from + chunkSize, list.size()))));
+        }
+        return chunks;
+    }
+
+    private static List<Object> proceedSequential(Executor target, Object[] args, List<Object> parameters) throws Exception {
+        final MappedStatement ms = (MappedStatement) args[0];
+        final List<Object> results = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            if (ms.getSqlCommandType() == SqlCommandType.SELECT) {
+                results.add(target.query(ms, parameter, (RowBounds) args[2], (ResultHandler<?>) args[3]));
+            } else {
+                results.add(target.update(ms, parameter));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * execute the write chunks sequentially, and commit them together if the connection is in auto-commit mode.
+     */
+    private static List<Object> proceedAtomic(Executor target, Object[] args, List<Object> parameters) throws Exception {
+        final Connection connection = target.getTransaction().getConnection();
+        final boolean autoCommit = connection.getAutoCommit();
+        if (!autoCommit) {
+            return proceedSequential(target, args, parameters);
+        }
+
+        connection.setAutoCommit(false);
+        try {
+            final List<Object> results = proceedSequential(target, args, parameters);
+            connection.commit();
+            return results;
+        } catch (Exception e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private List<Object> proceedParallel(MappedStatement ms, List<Object> parameters) throws Throwable {
+        final Configuration configuration = ms.getConfiguration();
+        final Environment environment = configuration.getEnvironment();
+        final List<Future<Object>> futures = new ArrayList<>(parameters.size());
+        for (Object parameter : parameters) {
+            futures.add(executor.submit(() -> execute(configuration, environment, ms, parameter)));
+        }
+
+        final List<Object> results = new ArrayList<>(parameters.size());
+        try {
+            for (Future<Object> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(it -> it.cancel(true));
+            throw e.getCause();
+        }
+        return results;
+    }
+
+    private static Object execute(Configuration configuration, Environment environment, MappedStatement ms,
+                                  Object parameter) throws Exception {
+        final Transaction transaction = environment.getTransactionFactory()
+                .newTransaction(environment.getDataSource(), null, false);
+        final Executor chunkExecutor = new SimpleExecutor(configuration, transaction);
+        try {
+            return chunkExecutor.query(ms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        } finally {
+            chunkExecutor.close(false);
+        }
+    }
+
+    /**
+     * sort the rows of entities by the order of the ids if {@code restore-order} is enabled.
+     */
+    private <E> List<E> restoreOrder(List<E> rows, @Nullable Collection<?> ids) {
+        if (!restoreOrder || CollectionUtils.isEmpty(ids)) {
+            return rows;
+        }
+        final Map<Object, Integer> indexes = new HashMap<>(ids.size() * 2);
+        int index = 0;
+        for (Object id : ids) {
+            indexes.putIfAbsent(id, index++);
+        }
+        rows.sort(Comparator.comparingInt(row -> row instanceof IEntity<?> entity
+                ? indexes.getOrDefault(entity.getId(), Integer.MAX_VALUE)
+                : indexes.getOrDefault(row, Integer.MAX_VALUE)));
+        return rows;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+}
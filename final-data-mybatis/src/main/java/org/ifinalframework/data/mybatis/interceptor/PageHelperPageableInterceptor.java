@@ -20,12 +20,22 @@ import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.page.PageMethod;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.mybatis.count.CountContext;
+import org.ifinalframework.data.mybatis.count.CountStrategy;
+import org.ifinalframework.data.mybatis.count.ParallelCounter;
+import org.ifinalframework.data.mybatis.page.SlicePage;
+import org.ifinalframework.data.mybatis.spi.EntityClassParameterConsumer;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.repository.count.CountMode;
+import org.ifinalframework.data.repository.count.PageCount;
+import org.ifinalframework.data.repository.page.HasNextContext;
 import org.ifinalframework.util.Asserts;
 
 import org.apache.ibatis.cache.CacheKey;
@@ -33,15 +43,32 @@ import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Signature;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 /**
  * PageHelperPageableInterceptor.
  *
+ * <p>The total of the page is counted by the {@link CountStrategy} of the {@link CountMode} declared by {@link PageCount}
+ * on the query class or the entity class, default is {@link CountMode#EXACT}.</p>
+ *
+ * <p>When {@link PageCount#parallel()} is {@code true}, the exact count is executed by the {@link ParallelCounter}
+ * concurrently with the page fetch, and any failure of the parallel count falls back to the sequential count.</p>
+ *
+ * <p>When the {@link HasNextContext} is enabled, the count statement is skipped and a {@link SlicePage} is returned.</p>
+ *
  * @author iimik
  * @version 1.0.0
  * @since 1.0.0
@@ -60,6 +87,128 @@ public class PageHelperPageableInterceptor extends PageableInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(PageHelperPageableInterceptor.class);
 
+    private final Map<CountMode, CountStrategy> countStrategies = new EnumMap<>(CountMode.class);
+
+    private final ParallelCounter parallelCounter;
+
+    public PageHelperPageableInterceptor(ObjectProvider<CountStrategy> countStrategyProvider,
+                                         ObjectProvider<ParallelCounter> parallelCounterProvider) {
+        countStrategyProvider.orderedStream().forEach(strategy -> countStrategies.putIfAbsent(strategy.getMode(), strategy));
+        this.parallelCounter = parallelCounterProvider.getIfAvailable();
+    }
+
+    @Override
+    protected Object proceed(Invocation invocation, Pageable pageable) throws Throwable {
+        if (Asserts.isNull(pageable) || Asserts.isNull(pageable.getPage()) || Asserts.isNull(pageable.getSize())) {
+            return super.proceed(invocation, pageable);
+        }
+
+        if (HasNextContext.isEnabled()) {
+            return proceedHasNext(invocation, pageable.getPage(), pageable.getSize());
+        }
+
+        if (!Boolean.TRUE.equals(pageable.getCount())) {
+            return super.proceed(invocation, pageable);
+        }
+
+        final PageCount pageCount = findPageCount(invocation.getArgs()[1], pageable);
+        final CountStrategy strategy = countStrategies.get(Objects.isNull(pageCount) ? CountMode.EXACT : pageCount.value());
+        if (Objects.isNull(strategy)) {
+            return super.proceed(invocation, pageable);
+        }
+
+        final CountContext context = newCountContext(invocation, pageable, pageCount);
+        final Long total = strategy.count(context);
+
+        if (Objects.isNull(total)) {
+            final Future<Long> future = Objects.nonNull(pageCount) && pageCount.parallel() && Objects.nonNull(parallelCounter)
+                    ? parallelCounter.submit(context) : null;
+            if (Objects.nonNull(future)) {
+                return proceedParallel(invocation, pageable, strategy, context, future);
+            }
+
+            final Object result = super.proceed(invocation, pageable);
+            if (result instanceof Page<?> page && page.getTotal() >= 0) {
+                strategy.counted(context, page.getTotal());
+            }
+            return result;
+        }
+
+        // the total is resolved by the strategy, skip the count query of the page helper.
+        startPage(pageable.getPage(), pageable.getSize(), false, false, false);
+        final Object result = invocation.proceed();
+        if (result instanceof Page<?> page) {
+            page.setTotal(total);
+        }
+        return result;
+    }
+
+    /**
+     * fetch the page without the count statement, and merge the total of the concurrent count.
+     */
+    private Object proceedParallel(Invocation invocation, Pageable pageable, CountStrategy strategy, CountContext context,
+                                   Future<Long> future) throws Throwable {
+        final Object result;
+        try {
+            startPage(pageable.getPage(), pageable.getSize(), false, false, false);
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            future.cancel(true);
+            throw e;
+        }
+
+        long total;
+        try {
+            total = future.get();
+        } catch (ExecutionException | InterruptedException | CancellationException e) {
+            future.cancel(true);
+            logger.warn("parallel count failed, fallback to sequential: statement={}", context.ms().getId(), e);
+            total = parallelCounter.count(context);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (result instanceof Page<?> page) {
+            page.setTotal(total);
+        }
+        strategy.counted(context, total);
+        return result;
+    }
+
+    /**
+     * fetch {@code size + 1} rows without the count statement, and trim the extra row.
+     */
+    private Object proceedHasNext(Invocation invocation, int page, int size) throws Throwable {
+        final int pageNum = Math.max(page, 1);
+        PageMethod.offsetPage((pageNum - 1) * size, size + 1, false);
+        final Object result = invocation.proceed();
+        if (result instanceof List<?> list) {
+            final boolean hasNext = list.size() > size;
+            return new SlicePage<>(pageNum, size, hasNext ? list.subList(0, size) : list, hasNext);
+        }
+        return result;
+    }
+
+    private static CountContext newCountContext(Invocation invocation, Pageable pageable, PageCount pageCount) {
+        final Object[] args = invocation.getArgs();
+        final MappedStatement ms = (MappedStatement) args[0];
+        final Object parameter = args[1];
+        final BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+        final Object table = ParameterUtils.get(parameter, "table");
+        return new CountContext((Executor) invocation.getTarget(), ms, parameter, boundSql, pageable,
+                Objects.isNull(table) ? null : table.toString(), pageCount);
+    }
+
+    private static PageCount findPageCount(Object parameter, Pageable pageable) {
+        final PageCount pageCount = pageable.getClass().getAnnotation(PageCount.class);
+        if (Objects.nonNull(pageCount)) {
+            return pageCount;
+        }
+        final Object entityClass = ParameterUtils.get(parameter, EntityClassParameterConsumer.ENTITY_CLASS_PARAM_NAME);
+        return entityClass instanceof Class<?> clazz ? clazz.getAnnotation(PageCount.class) : null;
+    }
+
     @Override
     protected void startPage(final Pageable pageable) {
 
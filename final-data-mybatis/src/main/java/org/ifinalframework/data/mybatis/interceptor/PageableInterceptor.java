@@ -17,6 +17,7 @@ package org.ifinalframework.data.mybatis.interceptor;
 
 import org.ifinalframework.core.Pageable;
 import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.aggregate.AggregateSpec;
 
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
@@ -39,6 +40,9 @@ import java.util.Map;
  * <li>参数列表中有一个参数实现了 {@link Pageable} 接口</li>
  * </ul>
  *
+ * <p>The {@link AggregateSpec aggregate} statement is paged without the count, whose count of the raw rows is not the
+ * count of the groups.</p>
+ *
  * @author iimik
  * @version 1.0.0
  * @see Pageable
@@ -70,12 +74,13 @@ public abstract class PageableInterceptor implements Interceptor {
             Object parameter = args[1];
             if (!ms.getId().contains("selectCount") && !ms.getId().contains("selectOne") && parameter != null) {
                 if (parameter instanceof Map) {
-                    startPage(findPage((Map<String, Object>) parameter));
-                    return invocation.proceed();
+                    final Map<String, Object> map = (Map<String, Object>) parameter;
+                    final Pageable pageable = findPage(map);
+                    return proceed(invocation, map.get(AggregateSpec.AGGREGATE_PARAM_NAME) instanceof AggregateSpec<?>
+                            ? withoutCount(pageable) : pageable);
 
                 } else if (parameter instanceof Pageable) {
-                    startPage((Pageable) parameter);
-                    return invocation.proceed();
+                    return proceed(invocation, (Pageable) parameter);
                 }
             }
             return invocation.proceed();
@@ -114,6 +119,27 @@ public abstract class PageableInterceptor implements Interceptor {
 
     }
 
+    private static Pageable withoutCount(final Pageable pageable) {
+        final PageQuery query = new PageQuery();
+        query.setPage(pageable.getPage());
+        query.setSize(pageable.getSize());
+        query.setCount(false);
+        return query;
+    }
+
+    /**
+     * start the page and proceed the invocation.
+     *
+     * @param invocation the invocation
+     * @param pageable   the page
+     * @return the result of the invocation
+     * @since 1.6.0
+     */
+    protected Object proceed(Invocation invocation, Pageable pageable) throws Throwable {
+        startPage(pageable);
+        return invocation.proceed();
+    }
+
     protected abstract void startPage(Pageable pageable);
 
 
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.data.mybatis.mapping.DefaultResultMapFactory;
+import org.ifinalframework.data.mybatis.mapping.ResultMapFactory;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.repository.aggregate.AggregateSpec;
+import org.ifinalframework.data.repository.projection.Projection;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.ObjectTypeHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Replace the result map of {@link org.ifinalframework.data.mybatis.mapper.AbsMapper#selectMaps(Map)} with the
+ * {@link HashMap} result map of the {@link Projection}, which result mappings are the type handlers of the entity
+ * properties, so the values of the rows are the same as the entity properties.
+ *
+ * <p>The result map of {@link AggregateSpec} maps the group properties as the projection, and the aggregate values by
+ * the aliases.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Projection
+ * @since 1.6.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class, CacheKey.class,
+                BoundSql.class}),
+})
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+@Component
+public class ProjectionInterceptor extends AbsMapperInterceptor {
+
+    private static final String SELECT_MAPS_SUFFIX = ".selectMaps";
+
+    private final ResultMapFactory resultMapFactory = new DefaultResultMapFactory();
+
+    private final Map<ProjectionKey, MappedStatement> statements = new ConcurrentHashMap<>();
+
+    @Override
+    protected Object intercept(Invocation invocation, Class<?> mapper, Class<?> entity) throws Throwable {
+        final Object[] args = invocation.getArgs();
+        final MappedStatement ms = (MappedStatement) args[0];
+        if (!ms.getId().endsWith(SELECT_MAPS_SUFFIX)) {
+            return invocation.proceed();
+        }
+
+        final Object aggregate = ParameterUtils.get(args[1], AggregateSpec.AGGREGATE_PARAM_NAME);
+        final Object projection = ParameterUtils.get(args[1], Projection.PROJECTION_PARAM_NAME);
+        if (aggregate instanceof AggregateSpec<?> spec) {
+            args[0] = statements.computeIfAbsent(new ProjectionKey(ms, spec.getSignature()), key -> {
+                final List<ResultMapping> resultMappings = new ArrayList<>(entityResultMappings(ms, entity, spec.getGroups()));
+                spec.getAggregates().forEach(it -> resultMappings.add(new ResultMapping.Builder(ms.getConfiguration(),
+                        it.getAlias(), it.getAlias(), new ObjectTypeHandler()).javaType(Object.class).build()));
+                return newMappedStatement(ms, "aggregate_" + Integer.toHexString(key.signature().hashCode()), resultMappings);
+            });
+        } else if (projection instanceof Class<?> projectionClass) {
+            args[0] = statements.computeIfAbsent(new ProjectionKey(ms, projectionClass.getName()),
+                    key -> newMappedStatement(ms, projectionClass.getName().replace('.', '_'),
+                            entityResultMappings(ms, entity, Projection.of(projectionClass).getProperties())));
+        }
+        return invocation.proceed();
+    }
+
+    private List<ResultMapping> entityResultMappings(MappedStatement ms, Class<?> entity, Collection<String> properties) {
+        final Set<String> names = Set.copyOf(properties);
+        return resultMapFactory.create(ms.getConfiguration(), entity).getResultMappings()
+                .stream()
+                .filter(it -> !it.isCompositeResult() && names.contains(it.getProperty()))
+                .collect(Collectors.toList());
+    }
+
+    private MappedStatement newMappedStatement(MappedStatement ms, String suffix, List<ResultMapping> resultMappings) {
+        final Configuration configuration = ms.getConfiguration();
+        final String id = ms.getId() + "-" + suffix;
+        final ResultMap resultMap = new ResultMap.Builder(configuration, id, HashMap.class, resultMappings, false).build();
+
+        return new MappedStatement.Builder(configuration, id, ms.getSqlSource(), ms.getSqlCommandType())
+                .resource(ms.getResource())
+                .fetchSize(ms.getFetchSize())
+                .statementType(ms.getStatementType())
+                .timeout(ms.getTimeout())
+                .parameterMap(ms.getParameterMap())
+                .resultMaps(Collections.singletonList(resultMap))
+                .resultSetType(ms.getResultSetType())
+                .cache(ms.getCache())
+                .flushCacheRequired(ms.isFlushCacheRequired())
+                .useCache(ms.isUseCache())
+                .build();
+    }
+
+    private record ProjectionKey(MappedStatement ms, String signature) {
+    }
+
+}
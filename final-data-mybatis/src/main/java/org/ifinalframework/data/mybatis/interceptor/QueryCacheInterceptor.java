@@ -0,0 +1,328 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import com.github.pagehelper.Page;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.core.Pageable;
+import org.ifinalframework.data.annotation.criterion.Criteria;
+import org.ifinalframework.data.mapping.Entity;
+import org.ifinalframework.data.mapping.Property;
+import org.ifinalframework.data.mybatis.cache.QueryFingerprint;
+import org.ifinalframework.data.mybatis.cache.TableVersions;
+import org.ifinalframework.data.mybatis.page.SlicePage;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.query.criterion.Exists;
+import org.ifinalframework.data.query.criterion.NotExists;
+import org.ifinalframework.data.repository.cache.CacheStats;
+import org.ifinalframework.data.repository.cache.LocalCache;
+import org.ifinalframework.data.repository.cache.QueryCache;
+import org.ifinalframework.data.repository.claim.Claim;
+import org.ifinalframework.data.util.TableUtils;
+import org.ifinalframework.data.util.Transactions;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache the results of {@code select(IQuery)} and {@code selectCount(IQuery)} for the entity or query class annotated by
+ * {@link QueryCache}, and increase the {@link TableVersions} after every write of {@link org.ifinalframework.data.mybatis.mapper.AbsMapper}.
+ *
+ * <p>This interceptor is ordered after {@link DispatchInterceptor}, so the parameters such as {@code table} and
+ * {@code tenant} have been consumed, and before {@link PageHelperPageableInterceptor}, so a cached page skips both the
+ * count and the page queries.</p>
+ *
+ * <p>The key contains the versions of the table and of the tables referenced by the {@link Exists} and {@link NotExists}
+ * criteria of the query, so a write of a subquery table invalidates the cached results too. The cached rows are shallow
+ * bean copies.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see QueryCache
+ * @since 1.6.0
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
+                RowBounds.class, ResultHandler.class, CacheKey.class,
+                BoundSql.class}),
+})
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+@Component
+@SuppressWarnings("unchecked")
+public class QueryCacheInterceptor extends AbsMapperInterceptor {
+
+    private static final String KEY_PREFIX = "final:query:";
+    private static final String ROWS_FIELD = "rows";
+    private static final String TOTAL_FIELD = "total";
+    private static final String HAS_NEXT_FIELD = "hasNext";
+
+    private final TableVersions tableVersions;
+
+    private final Map<Class<?>, LocalCache<String, Object>> locals = new ConcurrentHashMap<>();
+
+    /**
+     * the entities of the {@link Exists} and {@link NotExists} criteria, keyed by the query class.
+     */
+    private final Map<Class<?>, Set<Class<?>>> existsEntities = new ConcurrentHashMap<>();
+
+    private final CacheStats stats = new CacheStats();
+
+    public QueryCacheInterceptor(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
+    @Override
+    protected Object intercept(Invocation invocation, Class<?> mapper, Class<?> entityClass) throws Throwable {
+        final Object[] args = invocation.getArgs();
+        final MappedStatement ms = (MappedStatement) args[0];
+        final Object parameter = args[1];
+
+        if ("update".equals(invocation.getMethod().getName())) {
+            final Object result = invocation.proceed();
+            final String table = getTable(parameter, entityClass);
+            final boolean remote = isRemote(entityClass);
+            tableVersions.increment(table, remote);
+            // increase again after completion, the results cached before commit are invalidated.
+            Transactions.afterCompletion(() -> tableVersions.increment(table, remote));
+            return result;
+        }
+
+        if (!isCacheable(ms, parameter, args[3])) {
+            return invocation.proceed();
+        }
+
+        final Object query = ParameterUtils.get(parameter, "query");
+        final boolean queryAnnotated = query.getClass().isAnnotationPresent(QueryCache.class);
+        final QueryCache queryCache = queryAnnotated ? query.getClass().getAnnotation(QueryCache.class)
+                : entityClass.getAnnotation(QueryCache.class);
+        if (Objects.isNull(queryCache)) {
+            return invocation.proceed();
+        }
+
+        final boolean remote = isRemote(entityClass);
+        final Cache cache = remote ? tableVersions.getRemote() : null;
+        final String table = getTable(parameter, entityClass);
+        final BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(parameter);
+        final StringBuilder versions = new StringBuilder(table).append(":").append(tableVersions.get(table, remote));
+        for (Class<?> subEntity : existsEntities.computeIfAbsent(query.getClass(), QueryCacheInterceptor::findExistsEntities)) {
+            final String subTable = TableUtils.getTable(subEntity);
+            versions.append(":").append(subTable).append(":").append(tableVersions.get(subTable, isRemote(subEntity)));
+        }
+        final String key = KEY_PREFIX + versions + ":" + QueryFingerprint.of(ms, parameter, boundSql);
+        final LocalCache<String, Object> local = locals.computeIfAbsent(queryAnnotated ? query.getClass() : entityClass,
+                it -> new LocalCache<>(queryCache.maxSize(), queryCache.timeUnit().toMillis(queryCache.ttl())));
+
+        final Object value = local.get(key);
+        if (Objects.nonNull(value)) {
+            stats.recordLocalHit();
+            return copy(value);
+        }
+
+        if (Objects.nonNull(cache)) {
+            final Object remoteValue = getRemote(cache, key, ms, parameter);
+            if (Objects.nonNull(remoteValue)) {
+                stats.recordRemoteHit();
+                local.put(key, remoteValue);
+                return copy(remoteValue);
+            }
+        }
+
+        stats.recordMiss();
+        final Object result = invocation.proceed();
+        if (Objects.nonNull(result) && !Transactions.isActive()) {
+            local.put(key, copy(result));
+            if (Objects.nonNull(cache)) {
+                setRemote(cache, key, result, queryCache);
+            }
+        }
+        return result;
+    }
+
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    private static boolean isCacheable(MappedStatement ms, Object parameter, Object resultHandler) {
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT || Objects.nonNull(resultHandler)) {
+            return false;
+        }
+        final String id = ms.getId();
+        if (!id.endsWith(".select") && !id.endsWith(".selectCount")) {
+            return false;
+        }
+        // the claimed rows are locked and marked, which are never cached.
+        return Objects.nonNull(ParameterUtils.get(parameter, "query"))
+                && Objects.isNull(ParameterUtils.get(parameter, Claim.PARAM_NAME));
+    }
+
+    private static Set<Class<?>> findExistsEntities(Class<?> query) {
+        final Set<Class<?>> entities = new LinkedHashSet<>();
+        findExistsEntities(query, entities, new HashSet<>());
+        return entities.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(entities);
+    }
+
+    private static void findExistsEntities(Class<?> query, Set<Class<?>> entities, Set<Class<?>> visited) {
+        if (!visited.add(query)) {
+            return;
+        }
+        for (Property property : Entity.from(query)) {
+            if (property.isAnnotationPresent(Exists.class)) {
+                entities.add(property.getRequiredAnnotation(Exists.class).entity());
+                findSubQueryExistsEntities(property, entities, visited);
+            } else if (property.isAnnotationPresent(NotExists.class)) {
+                entities.add(property.getRequiredAnnotation(NotExists.class).entity());
+                findSubQueryExistsEntities(property, entities, visited);
+            } else if (property.isAnnotationPresent(Criteria.class)) {
+                findExistsEntities(property.getType(), entities, visited);
+            }
+        }
+    }
+
+    /**
+     * the criteria of a non-flag exists property are rendered in the subquery, which may contain other exists criteria.
+     */
+    private static void findSubQueryExistsEntities(Property property, Set<Class<?>> entities, Set<Class<?>> visited) {
+        if (Boolean.class != property.getType() && boolean.class != property.getType()) {
+            findExistsEntities(property.getType(), entities, visited);
+        }
+    }
+
+    private static boolean isRemote(Class<?> entityClass) {
+        final QueryCache queryCache = entityClass.getAnnotation(QueryCache.class);
+        return Objects.nonNull(queryCache) && queryCache.remote();
+    }
+
+    private static String getTable(Object parameter, Class<?> entityClass) {
+        final Object table = ParameterUtils.get(parameter, "table");
+        if (Objects.nonNull(table)) {
+            return table.toString();
+        }
+        return TableUtils.getTable(entityClass);
+    }
+
+    @Nullable
+    private static Object getRemote(Cache cache, String key, MappedStatement ms, Object parameter) {
+        try {
+            final Type type = ResolvableType.forClassWithGenerics(List.class, ms.getResultMaps().get(0).getType()).getType();
+            final List<Object> rows = cache.get(key, ROWS_FIELD, type, null);
+            if (Objects.isNull(rows)) {
+                return null;
+            }
+            final Long total = cache.get(key, TOTAL_FIELD, Long.class, null);
+            final Pageable pageable = QueryFingerprint.findPageable(parameter);
+            final Boolean hasNext = cache.get(key, HAS_NEXT_FIELD, Boolean.class, null);
+            if (Objects.nonNull(hasNext) && Objects.nonNull(pageable) && Objects.nonNull(pageable.getPage()) && Objects.nonNull(pageable.getSize())) {
+                return new SlicePage<>(pageable.getPage(), pageable.getSize(), rows, hasNext);
+            }
+            if (Objects.isNull(total) || Objects.isNull(pageable) || Objects.isNull(pageable.getPage()) || Objects.isNull(pageable.getSize())) {
+                return rows;
+            }
+            final Page<Object> page = new Page<>(pageable.getPage(), pageable.getSize(), Boolean.TRUE.equals(pageable.getCount()));
+            page.setTotal(total);
+            page.addAll(rows);
+            return page;
+        } catch (Exception e) {
+            logger.warn("get remote query cache error: key={}", key, e);
+            return null;
+        }
+    }
+
+    private static void setRemote(Cache cache, String key, Object result, QueryCache queryCache) {
+        try {
+            cache.set(key, ROWS_FIELD, new ArrayList<>((List<Object>) result), queryCache.ttl(), queryCache.timeUnit(), null);
+            if (result instanceof SlicePage<?> slice) {
+                cache.set(key, HAS_NEXT_FIELD, slice.hasNext(), queryCache.ttl(), queryCache.timeUnit(), null);
+            } else if (result instanceof Page<?> page) {
+                cache.set(key, TOTAL_FIELD, page.getTotal(), queryCache.ttl(), queryCache.timeUnit(), null);
+            }
+        } catch (Exception e) {
+            logger.warn("set remote query cache error: key={}", key, e);
+        }
+    }
+
+    /**
+     * copy the result and its rows, so neither the cached list nor the cached entities are shared with the callers.
+     */
+    private static Object copy(Object result) {
+        if (result instanceof SlicePage<?> slice) {
+            return new SlicePage<>(slice.getPageNum(), slice.getPageSize(), copyRows(slice), slice.hasNext());
+        }
+        if (result instanceof Page<?> page) {
+            final Page<Object> copy = new Page<>(page.getPageNum(), page.getPageSize(), page.isCount());
+            copy.setTotal(page.getTotal());
+            copy.addAll(copyRows(page));
+            return copy;
+        }
+        if (result instanceof List<?> list) {
+            return copyRows(list);
+        }
+        return result;
+    }
+
+    private static List<Object> copyRows(List<?> rows) {
+        final List<Object> copy = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            copy.add(copyRow(row));
+        }
+        return copy;
+    }
+
+    /**
+     * a shallow bean copy, which keeps the properties ignored by json, such as {@code @JsonIgnore} ones.
+     */
+    private static Object copyRow(Object row) {
+        if (Objects.isNull(row) || BeanUtils.isSimpleValueType(row.getClass()) || row.getClass().isRecord()) {
+            return row;
+        }
+        final Object copy = BeanUtils.instantiateClass(row.getClass());
+        BeanUtils.copyProperties(row, copy);
+        return copy;
+    }
+
+}
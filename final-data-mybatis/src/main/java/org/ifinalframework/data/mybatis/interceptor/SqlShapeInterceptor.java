@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Record the distinct sql shapes, which are the prepared sql texts, of the tables, to show the effect of the
+ * {@link org.ifinalframework.data.query.criterion.InListBuckets}.
+ *
+ * <p>The shapes of a table are counted up to {@link #MAX_SHAPES}, the fewer shapes, the more hits of the prepared
+ * statement caches.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}),
+})
+@Component
+public class SqlShapeInterceptor implements Interceptor {
+
+    public static final int MAX_SHAPES = 4096;
+
+    private static final String TABLE_PARAM_NAME = "table";
+
+    private final Map<String, Set<Integer>> shapes = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        final StatementHandler handler = (StatementHandler) invocation.getTarget();
+        final Object table = ParameterUtils.get(handler.getBoundSql().getParameterObject(), TABLE_PARAM_NAME);
+        if (Objects.nonNull(table)) {
+            final Set<Integer> tableShapes = shapes.computeIfAbsent(table.toString(), key -> ConcurrentHashMap.newKeySet());
+            if (tableShapes.size() < MAX_SHAPES) {
+                tableShapes.add(handler.getBoundSql().getSql().hashCode());
+            }
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * return the count of the distinct sql shapes of the table.
+     */
+    public int getShapes(String table) {
+        final Set<Integer> tableShapes = shapes.get(table);
+        return Objects.isNull(tableShapes) ? 0 : tableShapes.size();
+    }
+
+    /**
+     * return the counts of the distinct sql shapes of all tables.
+     */
+    public Map<String, Integer> getShapes() {
+        return shapes.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().size()));
+    }
+
+}
@@ -97,6 +97,14 @@ public interface AbsMapper<I extends Serializable, T extends IEntity<I>> extends
     @SelectProvider(SelectSqlProvider.class)
     List<I> selectIds(@NonNull Map<String, Object> params);
 
+    /**
+     * @see org.ifinalframework.data.mybatis.interceptor.ProjectionInterceptor
+     * @since 1.6.0
+     */
+    @Override
+    @SelectProvider(SelectSqlProvider.class)
+    List<Map<String, Object>> selectMaps(@NonNull Map<String, Object> params);
+
     @Override
     @SelectProvider(SelectCountSqlProvider.class)
     long selectCount(@NonNull Map<String, Object> params);
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.page;
+
+import com.github.pagehelper.Page;
+
+import org.ifinalframework.data.repository.page.Slice;
+
+import java.util.Collection;
+
+/**
+ * The {@link Page} of the "has next" mode, which total is {@code -1}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.repository.page.HasNextContext
+ * @since 1.6.0
+ */
+public class SlicePage<E> extends Page<E> implements Slice<E> {
+
+    private final boolean hasNext;
+
+    public SlicePage(int pageNum, int pageSize, Collection<? extends E> rows, boolean hasNext) {
+        super(pageNum, pageSize, false);
+        this.hasNext = hasNext;
+        setTotal(-1);
+        addAll(rows);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.session;
+
+import org.ifinalframework.data.repository.batch.BatchContext;
+import org.ifinalframework.data.util.Transactions;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.SqlSessionUtils;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Route the reads to a {@link ExecutorType#REUSE} session and the writes of a {@link BatchContext} to a
+ * {@link ExecutorType#BATCH} session within the current transaction, and the others to the {@link ExecutorType#SIMPLE}
+ * session.
+ *
+ * <p>The sessions are bound to the transaction by the different {@link SqlSessionFactory}s which share the same
+ * {@link org.apache.ibatis.session.Configuration}, so they share the connection of the transaction, and the prepared
+ * statements of the REUSE session are reused by the reads until the transaction completes.</p>
+ *
+ * <p>The pending writes of the BATCH session are flushed before the reads, and at the end of the {@link BatchContext}
+ * which returns the affected rows of the flushed statements, or discarded when the {@link BatchContext} throws. The
+ * local cache of the REUSE session is cleared after every write.</p>
+ *
+ * <p>Outside a transaction every call opens its own session, so the calls are not routed.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.mybatis.MyBatisDataSourceConfigurationSupport
+ * @since 1.6.0
+ */
+public class RoutingSqlSessionTemplate extends SqlSessionTemplate {
+
+    private final SqlSessionTemplate simple;
+
+    private final SqlSessionTemplate reuse;
+
+    private final SqlSessionTemplate batch;
+
+    public RoutingSqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+        super(sqlSessionFactory, ExecutorType.SIMPLE);
+        this.simple = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.SIMPLE);
+        this.reuse = new SqlSessionTemplate(new DefaultSqlSessionFactory(sqlSessionFactory.getConfiguration()), ExecutorType.REUSE);
+        this.batch = new SqlSessionTemplate(new DefaultSqlSessionFactory(sqlSessionFactory.getConfiguration()), ExecutorType.BATCH);
+    }
+
+    @Override
+    public <T> T selectOne(String statement) {
+        return reader().selectOne(statement);
+    }
+
+    @Override
+    public <T> T selectOne(String statement, Object parameter) {
+        return reader().selectOne(statement, parameter);
+    }
+
+    @Override
+    public <K, V> Map<K, V> selectMap(String statement, String mapKey) {
+        return reader().selectMap(statement, mapKey);
+    }
+
+    @Override
+    public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey) {
+        return reader().selectMap(statement, parameter, mapKey);
+    }
+
+    @Override
+    public <K, V> Map<K, V> selectMap(String statement, Object parameter, String mapKey, RowBounds rowBounds) {
+        return reader().selectMap(statement, parameter, mapKey, rowBounds);
+    }
+
+    @Override
+    public <T> Cursor<T> selectCursor(String statement) {
+        return reader().selectCursor(statement);
+    }
+
+    @Override
+    public <T> Cursor<T> selectCursor(String statement, Object parameter) {
+        return reader().selectCursor(statement, parameter);
+    }
+
+    @Override
+    public <T> Cursor<T> selectCursor(String statement, Object parameter, RowBounds rowBounds) {
+        return reader().selectCursor(statement, parameter, rowBounds);
+    }
+
+    @Override
+    public <E> List<E> selectList(String statement) {
+        return reader().selectList(statement);
+    }
+
+    @Override
+    public <E> List<E> selectList(String statement, Object parameter) {
+        return reader().selectList(statement, parameter);
+    }
+
+    @Override
+    public <E> List<E> selectList(String statement, Object parameter, RowBounds rowBounds) {
+        return reader().selectList(statement, parameter, rowBounds);
+    }
+
+    @Override
+    public void select(String statement, ResultHandler handler) {
+        reader().select(statement, handler);
+    }
+
+    @Override
+    public void select(String statement, Object parameter, ResultHandler handler) {
+        reader().select(statement, parameter, handler);
+    }
+
+    @Override
+    public void select(String statement, Object parameter, RowBounds rowBounds, ResultHandler handler) {
+        reader().select(statement, parameter, rowBounds, handler);
+    }
+
+    @Override
+    public int insert(String statement) {
+        return write(session -> session.insert(statement));
+    }
+
+    @Override
+    public int insert(String statement, Object parameter) {
+        return write(session -> session.insert(statement, parameter));
+    }
+
+    @Override
+    public int update(String statement) {
+        return write(session -> session.update(statement));
+    }
+
+    @Override
+    public int update(String statement, Object parameter) {
+        return write(session -> session.update(statement, parameter));
+    }
+
+    @Override
+    public int delete(String statement) {
+        return write(session -> session.delete(statement));
+    }
+
+    @Override
+    public int delete(String statement, Object parameter) {
+        return write(session -> session.delete(statement, parameter));
+    }
+
+    private SqlSession reader() {
+        if (!Transactions.isActive()) {
+            return simple;
+        }
+        BatchContext.flush();
+        return reuse;
+    }
+
+    private int write(ToIntFunction<SqlSession> action) {
+        if (!Transactions.isActive()) {
+            return action.applyAsInt(simple);
+        }
+
+        final int rows;
+        if (BatchContext.isActive()) {
+            BatchContext.register(batch, this::flushBatch, this::discardBatch);
+            rows = action.applyAsInt(batch);
+        } else {
+            rows = action.applyAsInt(simple);
+        }
+        reuse.clearCache();
+        return rows;
+    }
+
+    private int flushBatch() {
+        final List<BatchResult> results = batch.flushStatements();
+        return results.stream()
+                .flatMapToInt(result -> Arrays.stream(result.getUpdateCounts()))
+                .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0))
+                .sum();
+    }
+
+    /**
+     * discard the pending statements of the batch session bound to the transaction, the connection is not rolled back
+     * since it is managed by the transaction.
+     */
+    private void discardBatch() {
+        final SqlSession session = SqlSessionUtils.getSqlSession(batch.getSqlSessionFactory(), ExecutorType.BATCH,
+                batch.getPersistenceExceptionTranslator());
+        try {
+            session.rollback(true);
+        } finally {
+            SqlSessionUtils.closeSqlSession(session, batch.getSqlSessionFactory());
+        }
+    }
+
+}
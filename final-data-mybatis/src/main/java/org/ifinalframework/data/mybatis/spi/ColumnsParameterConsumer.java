@@ -21,15 +21,19 @@ import org.ifinalframework.data.annotation.Metadata;
 import org.ifinalframework.data.query.DefaultQEntityFactory;
 import org.ifinalframework.data.query.QEntity;
 import org.ifinalframework.data.query.QProperty;
+import org.ifinalframework.data.repository.aggregate.AggregateSpec;
+import org.ifinalframework.data.repository.projection.Projection;
 import org.ifinalframework.util.Asserts;
 import org.ifinalframework.velocity.Velocities;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -57,9 +61,18 @@ public class ColumnsParameterConsumer implements MapParameterConsumer {
         parameter.put("entity", properties);
         parameter.put("properties", properties);
 
+        // the columns of aggregate are rendered by the provider.
+        if (parameter.containsKey(AggregateSpec.AGGREGATE_PARAM_NAME)) {
+            return;
+        }
+
         if (!parameter.containsKey(COLUMNS) || Objects.isNull(parameter.get(COLUMNS))) {
             if ("selectIds".equals(methodName)) {
                 parameter.put(COLUMNS, Collections.singletonList(properties.getIdProperty().getColumn()));
+            } else if (parameter.containsKey(Projection.PROJECTION_PARAM_NAME)) {
+                parameter.put(COLUMNS, buildColumns(properties, Projection.of((Class<?>) parameter.get(Projection.PROJECTION_PARAM_NAME))));
+            } else if (parameter.containsKey(Projection.PROPERTIES_PARAM_NAME)) {
+                parameter.put(COLUMNS, buildColumns(properties, (Collection<String>) parameter.get(Projection.PROPERTIES_PARAM_NAME)));
             } else {
                 parameter.put(COLUMNS, buildColumns(properties, parameter.containsKey("view")
                         ? (Class<?>) parameter.get("view") : null));
@@ -70,9 +83,32 @@ public class ColumnsParameterConsumer implements MapParameterConsumer {
     }
 
     private List<String> buildColumns(QEntity<?, ?> entity, Class<?> view) {
-        return entity.stream()
+        return buildColumns(entity.stream()
                 .filter(QProperty::isReadable)
-                .filter(it -> it.hasView(view))
+                .filter(it -> it.hasView(view)));
+    }
+
+    /**
+     * build the columns of the properties declared by the projection.
+     */
+    private List<String> buildColumns(QEntity<?, ?> entity, Projection<?> projection) {
+        return buildColumns(projection.getProperties().stream()
+                .map(entity::getRequiredProperty)
+                .filter(QProperty::isReadable));
+    }
+
+    /**
+     * build the columns of the id and the given properties.
+     */
+    private List<String> buildColumns(QEntity<?, ?> entity, Collection<String> properties) {
+        return buildColumns(Stream.concat(Stream.of(entity.getIdProperty().getPath()), properties.stream())
+                .distinct()
+                .map(entity::getRequiredProperty)
+                .filter(QProperty::isReadable));
+    }
+
+    private List<String> buildColumns(Stream<? extends QProperty<?>> properties) {
+        return properties
                 .map(property -> {
                     final Metadata metadata = new Metadata();
                     metadata.setProperty(property.getName());
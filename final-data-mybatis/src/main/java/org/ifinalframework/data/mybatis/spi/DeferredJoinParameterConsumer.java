@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.spi;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import org.ifinalframework.core.Groupable;
+import org.ifinalframework.core.Limitable;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Mark the {@code select} statement to use the deferred join when the offset of the {@link Limitable} query is not less
+ * than the threshold, which is disabled when the threshold is not positive.
+ *
+ * <pre class="code">
+ * final:
+ *   data:
+ *     mybatis:
+ *       deferred-join:
+ *         offset-threshold: 10000
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.mybatis.sql.AbsMapperSqlProvider#appendDeferredJoin(StringBuilder, Class, Object)
+ * @since 1.6.0
+ */
+@Component
+public class DeferredJoinParameterConsumer implements MapParameterConsumer {
+
+    public static final String DEFERRED_JOIN_PARAM_NAME = "deferredJoin";
+
+    private static final String SELECT_METHOD_NAME = "select";
+
+    private final long offsetThreshold;
+
+    public DeferredJoinParameterConsumer(@Value("${final.data.mybatis.deferred-join.offset-threshold:0}") long offsetThreshold) {
+        this.offsetThreshold = offsetThreshold;
+    }
+
+    @Override
+    public void accept(Map<String, Object> parameter, Class<?> mapper, Method method) {
+        if (!SELECT_METHOD_NAME.equals(method.getName())) {
+            return;
+        }
+        parameter.put(DEFERRED_JOIN_PARAM_NAME, isDeferredJoin(parameter.containsKey("query") ? parameter.get("query") : null));
+    }
+
+    private boolean isDeferredJoin(Object query) {
+        if (offsetThreshold <= 0 || !(query instanceof Limitable limitable)) {
+            return false;
+        }
+        if (query instanceof Groupable groupable && !CollectionUtils.isEmpty(groupable.getGroups())) {
+            return false;
+        }
+        final Number offset = limitable.getOffset();
+        return Objects.nonNull(offset) && Objects.nonNull(limitable.getLimit()) && offset.longValue() >= offsetThreshold;
+    }
+}
@@ -27,6 +27,7 @@ import org.ifinalframework.data.query.DefaultQEntityFactory;
 import org.ifinalframework.data.query.QEntity;
 import org.ifinalframework.data.query.QEntityFactory;
 import org.ifinalframework.data.query.QProperty;
+import org.ifinalframework.data.repository.aggregate.AggregateSpec;
 
 import java.lang.reflect.Method;
 import java.util.List;
@@ -38,6 +39,9 @@ import java.util.stream.Stream;
 /**
  * QueryParameterConsumer.
  *
+ * <p>The orders of an {@link AggregateSpec aggregate} query are rendered after {@code GROUP BY}, so they must be the group
+ * properties or the aliases of the aggregates.</p>
+ *
  * @author iimik
  * @version 1.5.0
  * @since 1.5.0
@@ -74,6 +78,7 @@ public class QueryParameterConsumer implements MapParameterConsumer {
             List<String> orders = orderable.getOrders();
             if (!CollectionUtils.isEmpty(orders)) {
                 QEntity<?, ?> qentity = entityFactory.create(entityClass);
+                final Object aggregate = parameter.get(AggregateSpec.AGGREGATE_PARAM_NAME);
 
                 List<String> newOrders = orders.stream()
                         .map(it -> {
@@ -81,6 +86,12 @@ public class QueryParameterConsumer implements MapParameterConsumer {
                             String property = split[0];
                             String direction = split.length == 2 ? split[1] : null;
 
+                            if (aggregate instanceof AggregateSpec<?> spec) {
+                                return Stream.of(aggregateOrder(qentity, spec, property), direction)
+                                        .filter(Objects::nonNull)
+                                        .collect(Collectors.joining(" "));
+                            }
+
                             QProperty<Object> requiredProperty = qentity.getRequiredProperty(property);
 
                             return Stream.of(requiredProperty.getColumn(), direction)
@@ -107,4 +118,18 @@ public class QueryParameterConsumer implements MapParameterConsumer {
         }
 
     }
+
+    /**
+     * return the column of the group property or the alias of the aggregate.
+     */
+    private static String aggregateOrder(QEntity<?, ?> qentity, AggregateSpec<?> spec, String property) {
+        if (spec.getGroups().contains(property)) {
+            return qentity.getRequiredProperty(property).getColumn();
+        }
+        if (spec.getAggregates().stream().anyMatch(it -> it.getAlias().equals(property))) {
+            return property;
+        }
+        throw new IllegalArgumentException("the order of aggregate must be a group property or an alias: " + property);
+    }
+
 }
@@ -18,6 +18,7 @@ package org.ifinalframework.data.mybatis.spi;
 import org.springframework.stereotype.Component;
 
 import org.ifinalframework.data.core.TenantSupplier;
+import org.ifinalframework.data.query.criterion.Exists;
 import org.ifinalframework.data.util.TenantUtils;
 
 import java.lang.reflect.Method;
@@ -52,6 +53,8 @@ public class TenantParameterConsumer implements MapParameterConsumer {
         } else {
             parameter.put("tenant", null);
         }
+        // the tenant of the EXISTS subqueries of tenant entities.
+        parameter.put(Exists.TENANT_PARAM_NAME, tenant);
 
     }
 
@@ -66,6 +66,80 @@ public interface AbsMapperSqlProvider extends ScriptSqlProvider {
                 .append("</trim>");
     }
 
+    /**
+     * append the deferred join of the deep offset, which selects the ids of the page first and then fetches the columns
+     * of the ids, the orders are appended with the id column so the rows of the page are in the same order.
+     *
+     * <pre class="code">
+     * WHERE id IN (SELECT deferred_ids.id FROM (SELECT id FROM table WHERE ... ORDER BY ..., id LIMIT offset, limit) deferred_ids)
+     * ORDER BY ..., id
+     * </pre>
+     *
+     * @since 1.6.0
+     */
+    default void appendDeferredJoin(StringBuilder sql, Class<?> entity, Object query) {
+        sql.append(" WHERE ${properties.idProperty.column} IN (SELECT deferred_ids.${properties.idProperty.column} FROM (")
+                .append("SELECT ${properties.idProperty.column} FROM ${table}");
+        appendQuery(sql, entity, query);
+        appendDeferredOrders(sql);
+        appendLimit(sql);
+        sql.append(") deferred_ids)");
+        appendDeferredOrders(sql);
+    }
+
+    private void appendDeferredOrders(StringBuilder sql) {
+        sql.append("<choose>")
+                .append("     <when test=\"orders != null\">")
+                .append("         <foreach collection=\"orders\" item=\"item\" open=\"ORDER BY\" separator=\",\">${item}</foreach>")
+                .append("         , ${properties.idProperty.column}")
+                .append("     </when>")
+                .append("     <otherwise> ORDER BY ${properties.idProperty.column}</otherwise>")
+                .append("</choose>");
+    }
+
+    /**
+     * append the claim of {@link org.ifinalframework.data.repository.claim.Claim}, the rows are ordered by the id unless
+     * the orders are specified, and limited and locked by the {@code claimLock} clause of the dialect.
+     *
+     * <pre class="code">
+     * WHERE ... ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED
+     * </pre>
+     *
+     * @since 1.6.0
+     */
+    default void appendClaim(StringBuilder sql, Class<?> entity, Object query) {
+        appendQuery(sql, entity, query);
+        sql.append("<choose>")
+                .append("     <when test=\"orders != null\">")
+                .append("         <foreach collection=\"orders\" item=\"item\" open=\"ORDER BY\" separator=\",\">${item}</foreach>")
+                .append("     </when>")
+                .append("     <otherwise> ORDER BY ${properties.idProperty.column}</otherwise>")
+                .append("</choose>")
+                .append(" ${claimLock}");
+    }
+
+    /**
+     * append the keyset page of {@link org.ifinalframework.data.repository.checkpoint.Keyset}, the conditions of the
+     * query are wrapped, so the id condition is not mixed with the {@code OR} conditions.
+     *
+     * <pre class="code">
+     * WHERE (...) AND id &gt; #{keyset.after} ORDER BY id LIMIT #{keyset.size}
+     * </pre>
+     *
+     * @since 1.6.0
+     */
+    default void appendKeyset(StringBuilder sql, Class<?> entity, Object query) {
+        final StringBuilder where = new StringBuilder();
+        appendQuery(where, entity, query);
+        final String conditions = where.toString().replace("<where>", "").replace("</where>", "");
+
+        sql.append("<where>")
+                .append("<trim prefix=\"(\" suffix=\")\" prefixOverrides=\"AND |OR \">").append(conditions).append("</trim>")
+                .append("<if test=\"keyset.after != null\"> AND ${properties.idProperty.column} &gt; #{keyset.after}</if>")
+                .append("</where>")
+                .append(" ORDER BY ${properties.idProperty.column} LIMIT #{keyset.size}");
+    }
+
     default void appendQuery(StringBuilder sql, Class<?> entity, Object query) {
 
         QueryProvider provider = null;
@@ -90,6 +164,11 @@ public interface AbsMapperSqlProvider extends ScriptSqlProvider {
                """;
     }
 
+    /**
+     * the ids are padded to the bucket size by {@link org.ifinalframework.data.query.criterion.InListBuckets}, so the
+     * statements of the lists in the same bucket are the same, or joined with the temporary table of {@code tempIds}
+     * which has been loaded by {@link org.ifinalframework.data.mybatis.temp.TempIdTable}.
+     */
     default String whereIdsNotNull() {
         return """
                 <where>
@@ -97,7 +176,12 @@ public interface AbsMapperSqlProvider extends ScriptSqlProvider {
                         ${properties.tenantProperty.column} = #{tenant} AND 
                     </if>
                     ${properties.idProperty.column}
-                    <foreach collection=\"ids\" item=\"id\" open=\" IN (\" separator=\",\" close=\")\">#{id}</foreach>
+                    <choose>
+                        <when test=\"tempIds != null\"> IN (SELECT id FROM ${tempIds})</when>
+                        <otherwise>
+                            <foreach collection=\"@org.ifinalframework.data.query.criterion.InListBuckets@bucket(ids)\" item=\"id\" open=\" IN (\" separator=\",\" close=\")\">#{id}</foreach>
+                        </otherwise>
+                    </choose>
                 </where>
                """;
     }
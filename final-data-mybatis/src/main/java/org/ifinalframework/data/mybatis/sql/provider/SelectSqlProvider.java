@@ -17,13 +17,25 @@ package org.ifinalframework.data.mybatis.sql.provider;
 
 import org.ifinalframework.core.IQuery;
 import org.ifinalframework.data.mybatis.mapper.AbsMapper;
+import org.ifinalframework.data.mybatis.spi.DeferredJoinParameterConsumer;
 import org.ifinalframework.data.mybatis.sql.AbsMapperSqlProvider;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.QEntity;
+import org.ifinalframework.data.repository.aggregate.AggregateFunction;
+import org.ifinalframework.data.repository.aggregate.AggregateSpec;
+import org.ifinalframework.data.repository.checkpoint.Keyset;
+import org.ifinalframework.data.repository.claim.Claim;
 
 import org.apache.ibatis.builder.annotation.ProviderContext;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author iimik
@@ -31,6 +43,8 @@ import java.util.Map;
  * @see AbsMapper#select(String, Class, Collection, IQuery)
  * @see AbsMapper#selectOne(String, Class, Serializable, IQuery)
  * @see AbsMapper#selectIds(Map)
+ * @see AbsMapper#selectMaps(Map)
+ * @see AggregateSpec
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
@@ -42,6 +56,10 @@ public class SelectSqlProvider implements AbsMapperSqlProvider {
 
     private static final String SELECT_ONE_METHOD_NAME = "selectOne";
 
+    private static final String SELECT_IDS_METHOD_NAME = "selectIds";
+
+    private static final String SELECT_MAPS_METHOD_NAME = "selectMaps";
+
     public String select(final ProviderContext context, final Map<String, Object> parameters) {
         return provide(context, parameters);
     }
@@ -54,12 +72,22 @@ public class SelectSqlProvider implements AbsMapperSqlProvider {
         return provide(context, parameters);
     }
 
+    public String selectMaps(final ProviderContext context, final Map<String, Object> parameters) {
+        return provide(context, parameters);
+    }
+
     @Override
     public void doProvide(final StringBuilder sql, final ProviderContext context, final Map<String, Object> parameters) {
 
         final Class<?> entity = getEntityClass(context.getMapperType());
         final String mapperMethodName = context.getMapperMethod().getName();
 
+        if (SELECT_MAPS_METHOD_NAME.equals(mapperMethodName)
+                && ParameterUtils.get(parameters, AggregateSpec.AGGREGATE_PARAM_NAME) instanceof AggregateSpec<?> spec) {
+            appendAggregate(sql, entity, parameters.get(QUERY_PARAMETER_NAME), spec);
+            return;
+        }
+
         sql.append("<trim prefix=\"SELECT\" suffixOverrides=\",\">");
         sql.append("<foreach item=\"column\" collection=\"columns\" separator=\",\">${column}</foreach>");
         sql.append("</trim>");
@@ -74,6 +102,14 @@ public class SelectSqlProvider implements AbsMapperSqlProvider {
             sql.append(whereIdNotNull());
         } else if (SELECT_METHOD_NAME.equals(mapperMethodName) && parameters.get("ids") != null) {
             sql.append(whereIdsNotNull());
+        } else if (SELECT_METHOD_NAME.equals(mapperMethodName) && Objects.nonNull(ParameterUtils.get(parameters, Claim.PARAM_NAME))) {
+            appendClaim(sql, entity, query);
+        } else if ((SELECT_METHOD_NAME.equals(mapperMethodName) || SELECT_IDS_METHOD_NAME.equals(mapperMethodName))
+                && Objects.nonNull(ParameterUtils.get(parameters, Keyset.PARAM_NAME))) {
+            appendKeyset(sql, entity, query);
+        } else if (SELECT_METHOD_NAME.equals(mapperMethodName)
+                && Boolean.TRUE.equals(ParameterUtils.get(parameters, DeferredJoinParameterConsumer.DEFERRED_JOIN_PARAM_NAME))) {
+            appendDeferredJoin(sql, entity, query);
         } else {
 
             appendQuery(sql, entity, query);
@@ -89,5 +125,48 @@ public class SelectSqlProvider implements AbsMapperSqlProvider {
 
     }
 
+    /**
+     * <pre class="code">
+     * SELECT group_cols, agg(col) AS alias FROM table WHERE ... GROUP BY group_cols HAVING agg(col) op value ORDER BY ... LIMIT ...
+     * </pre>
+     *
+     * <p>The orders are the group columns or the aliases, which are resolved by
+     * {@link org.ifinalframework.data.mybatis.spi.QueryParameterConsumer}.</p>
+     */
+    private void appendAggregate(final StringBuilder sql, final Class<?> entity, final Object query, final AggregateSpec<?> spec) {
+        final QEntity<?, ?> properties = DefaultQEntityFactory.INSTANCE.create(entity);
+        final List<String> groups = spec.getGroups().stream()
+                .map(it -> properties.getRequiredProperty(it).getColumn())
+                .collect(Collectors.toList());
+
+        sql.append("SELECT ")
+                .append(Stream.concat(groups.stream(), spec.getAggregates().stream()
+                                .map(it -> aggregate(properties, it.getFunction(), it.getProperty()) + " AS " + it.getAlias()))
+                        .collect(Collectors.joining(",")))
+                .append(" FROM ${table}");
+
+        appendQuery(sql, entity, query);
+
+        if (!groups.isEmpty()) {
+            sql.append(" GROUP BY ").append(String.join(",", groups));
+        }
+
+        final List<AggregateSpec.Having> havings = spec.getHavings();
+        for (int i = 0; i < havings.size(); i++) {
+            final AggregateSpec.Having having = havings.get(i);
+            sql.append(i == 0 ? " HAVING " : " AND ")
+                    .append(aggregate(properties, having.getFunction(), having.getProperty()))
+                    .append(' ').append(having.getOperator().getSymbol()).append(' ')
+                    .append("#{aggregate.havings[").append(i).append("].value}");
+        }
+
+        appendOrders(sql);
+        appendLimit(sql);
+    }
+
+    private static String aggregate(final QEntity<?, ?> properties, final AggregateFunction function, final String property) {
+        return function.name() + "(" + (Objects.isNull(property) ? "*" : properties.getRequiredProperty(property).getColumn()) + ")";
+    }
+
 }
 
@@ -16,17 +16,21 @@
 package org.ifinalframework.data.mybatis.sql.provider;
 
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import org.ifinalframework.core.IRecord;
 import org.ifinalframework.data.annotation.Metadata;
 import org.ifinalframework.data.mybatis.sql.AbsMapperSqlProvider;
 import org.ifinalframework.data.mybatis.sql.ScriptMapperHelper;
+import org.ifinalframework.data.mybatis.util.ParameterUtils;
 import org.ifinalframework.data.query.Criterion;
 import org.ifinalframework.data.query.CriterionAttributes;
 import org.ifinalframework.data.query.DefaultQEntityFactory;
 import org.ifinalframework.data.query.QEntity;
 import org.ifinalframework.data.query.QProperty;
 import org.ifinalframework.data.query.Update;
+import org.ifinalframework.data.repository.dirty.EntitySnapshots;
+import org.ifinalframework.data.repository.retry.OptimisticRetry;
 import org.ifinalframework.util.Asserts;
 import org.ifinalframework.velocity.Velocities;
 
@@ -34,6 +38,7 @@ import org.apache.ibatis.builder.annotation.ProviderContext;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author iimik
@@ -55,6 +60,14 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
             "   </when>",
             "</choose>");
 
+    /**
+     * the writer of the dirty property, which sets the value even if it is {@code null}.
+     */
+    private static final String DIRTY_WRITER = String.join("",
+            "${column} = #{${value}#if($typeHandler)",
+            "   #if($javaType), javaType=$!{javaType.canonicalName}#end",
+            "   , typeHandler=$!{typeHandler.canonicalName}#end},");
+
     private static final String PROPERTIES_PARAMETER_NAME = "properties";
 
     private static final String SELECTIVE_PARAMETER_NAME = "selective";
@@ -112,7 +125,8 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
             }
 
         } else {
-            appendEntitySet(sql, properties, Boolean.TRUE.equals(parameters.get(SELECTIVE_PARAMETER_NAME)));
+            appendEntitySet(sql, properties, Boolean.TRUE.equals(parameters.get(SELECTIVE_PARAMETER_NAME)),
+                    EntitySnapshots.dirty(parameters.get(ENTITY_PARAMETER_NAME)));
         }
 
         appendLastModifier(sql, entity, properties, parameters);
@@ -121,7 +135,14 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
         sql.append("</set>");
 
         if (parameters.containsKey(IDS_PARAMETER_NAME) && parameters.get(IDS_PARAMETER_NAME) != null) {
-            sql.append(whereIdsNotNull());
+            if (Boolean.TRUE.equals(ParameterUtils.get(parameters, OptimisticRetry.VERSION_CHECK_PARAM_NAME))) {
+                if (!properties.hasVersionProperty() || Objects.isNull(parameters.get(ENTITY_PARAMETER_NAME))) {
+                    throw new IllegalArgumentException("the version check requires an entity with a @Version property: " + entity.getName());
+                }
+                sql.append(whereIdsAndVersion(properties));
+            } else {
+                sql.append(whereIdsNotNull());
+            }
         } else {
             appendQuery(sql, entity, query);
             appendOrders(sql);
@@ -154,11 +175,15 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
     /**
      * @param sql    sql
      * @param entity entity
+     * @param dirty  the dirty paths of the {@link org.ifinalframework.data.repository.dirty.DirtyTracking} entity, only
+     *               the dirty properties are set if it is not {@code null}.
      */
-    private void appendEntitySet(final @NonNull StringBuilder sql, final @NonNull QEntity<?, ?> entity, boolean selective) {
+    private void appendEntitySet(final @NonNull StringBuilder sql, final @NonNull QEntity<?, ?> entity, boolean selective,
+                                 final @Nullable Set<String> dirty) {
 
         entity.stream()
                 .filter(QProperty::isModifiable)
+                .filter(property -> Objects.isNull(dirty) || Asserts.nonBlank(property.getUpdate()) || dirty.contains(property.getPath()))
                 .forEach(property -> {
                     // <if test="properties.property.hasView(view)>"
                     sql.append("<if test=\"properties.getRequiredProperty('")
@@ -184,7 +209,8 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
                         metadata.setTypeHandler(property.getTypeHandler());
                     }
 
-                    final String writer = Asserts.isBlank(property.getUpdate()) ? DEFAULT_WRITER : property.getUpdate();
+                    final String writer = Asserts.nonBlank(property.getUpdate()) ? property.getUpdate()
+                            : Objects.nonNull(dirty) ? DIRTY_WRITER : DEFAULT_WRITER;
                     final String value = Velocities.eval(writer, metadata);
 
                     sql.append(value);
@@ -193,6 +219,20 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
                 });
     }
 
+    /**
+     * match the version of the entity, the update count is {@code 0} if the row has been updated by another writer.
+     *
+     * @since 1.6.0
+     */
+    private String whereIdsAndVersion(final QEntity<?, ?> entity) {
+        final QProperty<Object> property = entity.getVersionProperty();
+        final String where = whereIdsNotNull();
+        final int index = where.lastIndexOf("</where>");
+        return where.substring(0, index)
+                + " AND " + property.getColumn() + " = #{entity." + property.getPath() + "}"
+                + where.substring(index);
+    }
+
     private void appendVersionProperty(final StringBuilder sql, final QEntity<?, ?> entity) {
 
         if (!entity.hasVersionProperty()) {
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.temp;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load the ids into a session temporary table by JDBC batch, so the statement joins the table instead of the large
+ * {@code IN} list. Each column type of the ids has its own table, see {@link #getTable(TempTableDialect, Class)}.
+ *
+ * <p>The table is created once for the connection and cleared after every statement, and the ids are loaded and joined
+ * on the same connection of the executor.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see TempTableDialect
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+public class TempIdTable {
+
+    public static final String TABLE_PREFIX = "final_temp_ids_";
+
+    private final List<TempTableDialect> dialects;
+
+    private final int batchSize;
+
+    private final Map<String, TempTableDialect> productDialects = new ConcurrentHashMap<>();
+
+    public TempIdTable(ObjectProvider<TempTableDialect> dialects,
+                       @Value("${final.data.mybatis.temp-table.batch-size:1000}") int batchSize) {
+        this.dialects = dialects.orderedStream().collect(Collectors.toList());
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * return the dialect of the connection, a database without dialect is warned once.
+     *
+     * @return the dialect, or {@code null} if the database is not supported.
+     */
+    @Nullable
+    public TempTableDialect getDialect(Connection connection) throws SQLException {
+        final String product = connection.getMetaData().getDatabaseProductName();
+        final TempTableDialect dialect = productDialects.computeIfAbsent(product, key -> dialects.stream()
+                .filter(it -> it.supports(key))
+                .findFirst()
+                .orElseGet(() -> {
+                    logger.warn("there is not a TempTableDialect bean supports the database, the ids are chunked, "
+                            + "register one or unset final.data.mybatis.temp-table.threshold: database={}", key);
+                    return NotSupported.INSTANCE;
+                }));
+        return dialect == NotSupported.INSTANCE ? null : dialect;
+    }
+
+    /**
+     * return the table of the id type, which is named by the column type, such as {@code final_temp_ids_bigint}, so the
+     * ids of different types on a pooled connection never share a table created for another column type.
+     */
+    public static String getTable(TempTableDialect dialect, Class<?> idType) {
+        return TABLE_PREFIX + dialect.columnType(idType).replaceAll("\\W", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * create the table of the id type if not exists, and load the distinct ids.
+     *
+     * @return the table of the ids.
+     */
+    public String load(Connection connection, TempTableDialect dialect, Collection<?> ids) throws SQLException {
+        final Set<Object> values = new LinkedHashSet<>(ids);
+        final Class<?> idType = values.stream().filter(Objects::nonNull).findFirst().map(Object::getClass).orElse(Long.class);
+        final String table = getTable(dialect, idType);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(dialect.create(table, idType));
+            // the rows would be left by a failed statement
+            statement.executeUpdate(dialect.clear(table));
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(dialect.insert(table))) {
+            int count = 0;
+            for (Object value : values) {
+                statement.setObject(1, value);
+                statement.addBatch();
+                if (++count % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (count % batchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+        logger.debug("loaded {} ids into temp table {}", values.size(), table);
+        return table;
+    }
+
+    public void clear(Connection connection, TempTableDialect dialect, String table) {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(dialect.clear(table));
+        } catch (SQLException e) {
+            logger.warn("clear temp table error: table={}", table, e);
+        }
+    }
+
+    /**
+     * the cached dialect of the database without dialect, which never creates a table.
+     */
+    private static final class NotSupported implements TempTableDialect {
+
+        private static final NotSupported INSTANCE = new NotSupported();
+
+        @Override
+        public boolean supports(String databaseProductName) {
+            return false;
+        }
+
+        @Override
+        public String create(String table, Class<?> idType) {
+            throw new UnsupportedOperationException(table);
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.temp;
+
+/**
+ * The dialect of the session temporary table, which is visible to the connection only.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see TempIdTable
+ * @since 1.6.0
+ */
+public interface TempTableDialect {
+
+    /**
+     * @param databaseProductName the product name of {@link java.sql.DatabaseMetaData#getDatabaseProductName()}.
+     */
+    boolean supports(String databaseProductName);
+
+    /**
+     * return the sql to create the temporary table if not exists, which would not commit the current transaction.
+     *
+     * @param table  the name of the table.
+     * @param idType the type of the ids.
+     */
+    String create(String table, Class<?> idType);
+
+    default String insert(String table) {
+        return "INSERT INTO " + table + " (id) VALUES (?)";
+    }
+
+    default String clear(String table) {
+        return "DELETE FROM " + table;
+    }
+
+    /**
+     * return the column type of the ids.
+     */
+    default String columnType(Class<?> idType) {
+        if (Long.class == idType || Integer.class == idType || long.class == idType || int.class == idType) {
+            return "BIGINT";
+        }
+        return "VARCHAR(255)";
+    }
+
+}
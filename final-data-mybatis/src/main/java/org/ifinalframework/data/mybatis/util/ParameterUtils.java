@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.util;
+
+import org.springframework.lang.Nullable;
+
+import org.apache.ibatis.binding.MapperMethod;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * ParameterUtils.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@UtilityClass
+public final class ParameterUtils {
+
+    /**
+     * return the value of the map parameter, the {@link org.apache.ibatis.binding.MapperMethod.ParamMap} throws an
+     * exception when the key is not found.
+     *
+     * @param parameter the parameter of statement.
+     * @param name      the name of value.
+     * @return the value of name, or {@code null} if the parameter is not a map or the name is not found.
+     */
+    @Nullable
+    public static Object get(@Nullable Object parameter, String name) {
+        if (parameter instanceof Map<?, ?> map && map.containsKey(name)) {
+            return map.get(name);
+        }
+        return null;
+    }
+
+    /**
+     * copy the map parameter, so the statements executed concurrently would not modify the same map.
+     *
+     * @param parameter the parameter of statement.
+     * @return the copy of the map parameter, or the parameter itself if it is not a map.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object copy(@Nullable Object parameter) {
+        if (parameter instanceof MapperMethod.ParamMap<?> paramMap) {
+            final MapperMethod.ParamMap<Object> copy = new MapperMethod.ParamMap<>();
+            copy.putAll((Map<String, Object>) paramMap);
+            return copy;
+        }
+        if (parameter instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>((Map<String, Object>) map);
+        }
+        return parameter;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis;
+
+import org.ifinalframework.context.user.UserContextHolder;
+import org.ifinalframework.data.mybatis.dao.mapper.PersonMapper;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.mybatis.entity.User;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.annotation.Resource;
+
+/**
+ * The base of the tests on the {@code person} table, which sets the current user and truncates the table before each
+ * test, and the test inserts only the rows it needs.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+public abstract class AbsPersonTest {
+
+    @Resource
+    protected PersonMapper personMapper;
+
+    @BeforeEach
+    protected void setUpPerson() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+        personMapper.truncate();
+    }
+
+    @AfterEach
+    protected void tearDownPerson() {
+        UserContextHolder.reset();
+    }
+
+    protected Person insert(String name, int age) {
+        Person person = new Person();
+        person.setName(name);
+        person.setAge(age);
+        personMapper.insert(person);
+        return person;
+    }
+
+    /**
+     * insert the persons named {@code person0} to {@code person(count - 1)}, the age is the index.
+     *
+     * @return the ids of the persons in the insert order.
+     */
+    protected List<Long> insertPersons(int count) {
+        final List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(insert("person" + i, i).getId());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.claim;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SkipLockedClaimDialectTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class SkipLockedClaimDialectTest {
+
+    private final SkipLockedClaimDialect dialect = new SkipLockedClaimDialect();
+
+    @Test
+    void supports() {
+        assertTrue(dialect.supports("MySQL", 8));
+        assertFalse(dialect.supports("MySQL", 5));
+        assertTrue(dialect.supports("PostgreSQL", 15));
+        assertFalse(dialect.supports("Oracle", 19));
+    }
+
+    @Test
+    void clause() {
+        assertEquals("LIMIT 10 FOR UPDATE SKIP LOCKED", dialect.clause(10));
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import com.github.pagehelper.Page;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.annotation.criterion.Equal;
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.dao.mapper.TrackedPersonMapper;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.mybatis.entity.TrackedPerson;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.count.CountMode;
+import org.ifinalframework.data.repository.count.PageCount;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import jakarta.annotation.Resource;
+import lombok.Getter;
+import lombok.Setter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ApproximateCountStrategyTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class ApproximateCountStrategyTest extends AbsPersonTest {
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private TrackedPersonMapper trackedPersonMapper;
+
+    @Test
+    void estimateSql() {
+        assertEquals("SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                ApproximateCountStrategy.estimateSql("MySQL"));
+        assertEquals(ApproximateCountStrategy.estimateSql("MySQL"), ApproximateCountStrategy.estimateSql("MariaDB"));
+        assertEquals("SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = ? AND relkind IN ('r', 'p') AND pg_table_is_visible(oid)",
+                ApproximateCountStrategy.estimateSql("PostgreSQL"));
+        assertEquals("SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = UPPER(?)",
+                ApproximateCountStrategy.estimateSql("H2"));
+        assertNull(ApproximateCountStrategy.estimateSql("Oracle"));
+    }
+
+    @Test
+    void rowCountEstimate() throws Exception {
+        insert("a", 13);
+        assertNotNull(estimate());
+    }
+
+    @Test
+    void estimateWithoutCriteria() throws Exception {
+        insertWithDeleted();
+
+        final Long estimate = estimate();
+        assertNotNull(estimate);
+        assertEquals(estimate.longValue(), total(trackedPersonMapper.select(new ApproximateCountPersonQuery())));
+    }
+
+    @Test
+    void countWithLogicDelete() throws Exception {
+        insertWithDeleted();
+
+        assertEquals(personMapper.selectCount(new PageQuery()), total(personMapper.select(new ApproximateCountPersonQuery())));
+    }
+
+    @Test
+    void hasImplicitCriteria() {
+        assertTrue(ApproximateCountStrategy.hasImplicitCriteria(Person.class));
+        assertTrue(ApproximateCountStrategy.hasImplicitCriteria(null));
+        assertFalse(ApproximateCountStrategy.hasImplicitCriteria(TrackedPerson.class));
+    }
+
+    @Test
+    void countWithCriteria() {
+        insert("a", 13);
+        insert("b", 13);
+        insert("c", 13);
+
+        final ApproximateCountPersonQuery query = new ApproximateCountPersonQuery();
+        query.setName("a");
+        assertEquals(1, total(personMapper.select(query)));
+    }
+
+    private void insertWithDeleted() throws Exception {
+        insert("a", 13);
+        insert("b", 13);
+        insert("c", 13);
+        // the logic deleted row is counted by the estimate.
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO person (name, age, creator_id, creator_name, yn) VALUES ('d', 13, 1, '123', 0)");
+        }
+    }
+
+    private Long estimate() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(ApproximateCountStrategy.estimateSql("H2"))) {
+            statement.setString(1, "person");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : null;
+            }
+        }
+    }
+
+    private static long total(List<?> persons) {
+        assertInstanceOf(Page.class, persons);
+        return ((Page<?>) persons).getTotal();
+    }
+
+    @Setter
+    @Getter
+    @PageCount(CountMode.APPROXIMATE)
+    public static class ApproximateCountPersonQuery extends PageQuery {
+
+        @Equal
+        private String name;
+
+        public ApproximateCountPersonQuery() {
+            setPage(1);
+            setSize(1);
+            setCount(true);
+        }
+    }
+
+}
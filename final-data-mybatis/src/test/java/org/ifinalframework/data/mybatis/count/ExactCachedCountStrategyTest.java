@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import com.github.pagehelper.Page;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.count.CountMode;
+import org.ifinalframework.data.repository.count.PageCount;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExactCachedCountStrategyTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class ExactCachedCountStrategyTest extends AbsPersonTest {
+
+    @Resource
+    private DataSource dataSource;
+
+    @Test
+    void count() throws Exception {
+        insert("a", 13);
+        insert("b", 13);
+
+        assertEquals(2, total(personMapper.select(new CachedCountPersonQuery())));
+
+        // the jdbc insert does not increase the table version, so the cached total is returned.
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO person (name, age, creator_id, creator_name) VALUES ('c', 13, 1, '123')");
+        }
+        assertEquals(2, total(personMapper.select(new CachedCountPersonQuery())));
+
+        // the mapper insert increases the table version.
+        insert("d", 13);
+        assertEquals(4, total(personMapper.select(new CachedCountPersonQuery())));
+    }
+
+    private static long total(List<Person> persons) {
+        assertInstanceOf(Page.class, persons);
+        return ((Page<Person>) persons).getTotal();
+    }
+
+    @PageCount(CountMode.EXACT_CACHED)
+    public static class CachedCountPersonQuery extends PageQuery {
+        public CachedCountPersonQuery() {
+            setPage(1);
+            setSize(1);
+            setCount(true);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.count;
+
+import com.github.pagehelper.Page;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.count.PageCount;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelCounterTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class ParallelCounterTest extends AbsPersonTest {
+
+    @Test
+    void parallelCount() {
+        for (String name : List.of("a", "b", "c")) {
+            insert(name, 13);
+        }
+
+        final List<Person> persons = personMapper.select(new ParallelCountPersonQuery());
+
+        assertInstanceOf(Page.class, persons);
+        assertEquals(2, persons.size());
+        assertEquals(3, ((Page<Person>) persons).getTotal());
+        assertEquals(2, ((Page<Person>) persons).getPages());
+    }
+
+    @PageCount(parallel = true)
+    public static class ParallelCountPersonQuery extends PageQuery {
+        public ParallelCountPersonQuery() {
+            setPage(1);
+            setSize(2);
+            setCount(true);
+        }
+    }
+
+}
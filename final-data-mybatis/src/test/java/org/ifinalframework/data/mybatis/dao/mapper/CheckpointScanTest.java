@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.dao.mapper;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.Listener;
+import org.ifinalframework.data.repository.checkpoint.CheckpointPolicy;
+import org.ifinalframework.data.repository.checkpoint.JdbcScanCheckpointStore;
+import org.ifinalframework.data.repository.checkpoint.ScanCheckpointStore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import jakarta.annotation.Resource;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CheckpointScanTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class CheckpointScanTest extends AbsPersonTest {
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    private ScanCheckpointStore store;
+
+    @BeforeEach
+    void setUp() {
+        insertPersons(10);
+        store = new JdbcScanCheckpointStore(dataSource);
+        store.remove("person-scan");
+    }
+
+    @Test
+    void scan() {
+        final List<String> names = new ArrayList<>();
+        personMapper.scan(new PageQuery(), policy(), (Listener<Object, List<Person>>) (index, param, data) -> {
+            data.forEach(it -> names.add(it.getName()));
+            return true;
+        });
+
+        assertEquals(names(0, 10), names);
+        assertNull(store.load("person-scan"));
+    }
+
+    @Test
+    void resume() {
+        final List<String> names = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> personMapper.scan(new PageQuery(), policy(),
+                (Listener<Object, List<Person>>) (index, param, data) -> {
+                    if (index == 3) {
+                        throw new IllegalStateException("crash");
+                    }
+                    data.forEach(it -> names.add(it.getName()));
+                    return true;
+                }));
+        assertEquals(names(0, 6), names);
+        assertNotNull(store.load("person-scan"));
+
+        names.clear();
+        personMapper.scan(new PageQuery(), policy(), (Listener<Object, List<Person>>) (index, param, data) -> {
+            data.forEach(it -> names.add(it.getName()));
+            return true;
+        });
+
+        assertEquals(names(6, 10), names);
+        assertNull(store.load("person-scan"));
+    }
+
+    @Test
+    void discardCheckpointWhenRolledBack() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                personMapper.scan(new PageQuery(), policy(), (Listener<Object, List<Person>>) (index, param, data) -> {
+                    if (index == 3) {
+                        throw new IllegalStateException("crash");
+                    }
+                    return true;
+                })));
+        assertNull(store.load("person-scan"));
+
+        transactionTemplate.executeWithoutResult(status ->
+                personMapper.scan(new PageQuery(), policy(), (Listener<Object, List<Person>>) (index, param, data) -> false));
+        assertNotNull(store.load("person-scan"));
+    }
+
+    @Test
+    void restartWhenTableChanged() {
+        personMapper.scan(new PageQuery(), policy(), (Listener<Object, List<Person>>) (index, param, data) -> false);
+        assertNotNull(store.load("person-scan"));
+
+        final PageQuery query = new PageQuery();
+        query.setSize(5);
+        final List<String> names = new ArrayList<>();
+        personMapper.scan("person", null, query, policy(), (Listener<Object, List<Person>>) (index, param, data) -> {
+            data.forEach(it -> names.add(it.getName()));
+            return true;
+        });
+
+        assertEquals(names(0, 10), names);
+        assertEquals(5, query.getSize());
+    }
+
+    private CheckpointPolicy policy() {
+        return CheckpointPolicy.builder().name("person-scan").store(store).size(3).build();
+    }
+
+    private static List<String> names(int from, int to) {
+        return IntStream.range(from, to).mapToObj(it -> "person" + it).collect(Collectors.toList());
+    }
+
+}
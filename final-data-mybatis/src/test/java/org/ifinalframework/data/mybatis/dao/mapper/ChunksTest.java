@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.dao.mapper;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.query.Update;
+import org.ifinalframework.data.repository.chunk.ChunkPolicy;
+import org.ifinalframework.data.repository.chunk.ChunkProgress;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChunksTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class ChunksTest extends AbsPersonTest {
+
+    @BeforeEach
+    void setUp() {
+        insertPersons(10);
+    }
+
+    @Test
+    void deleteInChunks() {
+        final List<ChunkProgress> progresses = new ArrayList<>();
+        final long deleted = personMapper.deleteInChunks(new PageQuery(), ChunkPolicy.builder()
+                .size(3)
+                .listener(progresses::add)
+                .build());
+
+        assertEquals(10, deleted);
+        assertEquals(4, progresses.size());
+        assertEquals(10, progresses.get(3).affected());
+        assertTrue(personMapper.select().isEmpty());
+    }
+
+    @Test
+    void updateInChunks() {
+        final long updated = personMapper.updateInChunks(Update.update().set("age", 100), new PageQuery(),
+                ChunkPolicy.builder().mode(ChunkPolicy.Mode.KEY).size(4).build());
+
+        assertEquals(10, updated);
+        assertTrue(personMapper.select().stream().allMatch(it -> it.getAge() == 100));
+    }
+
+    @Test
+    void updateInChunksByDefaultKeyMode() {
+        final long updated = personMapper.updateInChunks(Update.update().set("age", 100), new PageQuery(), ChunkPolicy.of(3));
+
+        assertEquals(10, updated);
+        assertTrue(personMapper.select().stream().allMatch(it -> it.getAge() == 100));
+    }
+
+    @Test
+    void stopLimitModeWhenRowsKeepMatching() {
+        final long updated = personMapper.updateInChunks(Update.update().set("age", 100), new PageQuery(),
+                ChunkPolicy.builder().mode(ChunkPolicy.Mode.LIMIT).size(4).build());
+
+        assertEquals(4, updated);
+    }
+
+    @Test
+    void cancel() {
+        final long deleted = personMapper.deleteInChunks(new PageQuery(), ChunkPolicy.builder()
+                .size(3)
+                .listener(progress -> progress.chunks() < 2)
+                .build());
+
+        assertEquals(6, deleted);
+        assertEquals(4, personMapper.select().size());
+    }
+
+}
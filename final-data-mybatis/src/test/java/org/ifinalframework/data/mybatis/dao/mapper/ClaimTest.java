@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.dao.mapper;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.ifinalframework.data.annotation.criterion.LessThan;
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.query.Update;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.Resource;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClaimTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class ClaimTest extends AbsPersonTest {
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        insertPersons(5);
+    }
+
+    @Test
+    void claim() {
+        final PendingQuery query = new PendingQuery();
+        query.setAge(100);
+
+        final List<Person> first = transactionTemplate.execute(status -> personMapper.claim(query, 3, Update.update().set("age", 100)));
+        final List<Person> second = transactionTemplate.execute(status -> personMapper.claim(query, 3, Update.update().set("age", 100)));
+        final List<Person> third = transactionTemplate.execute(status -> personMapper.claim(query, 3, Update.update().set("age", 100)));
+
+        assertEquals(List.of("person0", "person1", "person2"), first.stream().map(Person::getName).collect(Collectors.toList()));
+        assertEquals(List.of("person3", "person4"), second.stream().map(Person::getName).collect(Collectors.toList()));
+        assertTrue(third.isEmpty());
+        assertTrue(personMapper.select().stream().allMatch(it -> it.getAge() == 100));
+    }
+
+    @Test
+    void claimWithoutTransaction() {
+        assertThrows(IllegalStateException.class, () -> personMapper.claim(new PendingQuery(), 3, Update.update().set("age", 100)));
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class PendingQuery extends PageQuery {
+
+        @LessThan(property = "age")
+        private Integer age;
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.dao.mapper;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.repository.sink.InsertSink;
+import org.ifinalframework.data.repository.sink.WriteBehindPolicy;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InsertSinkTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class InsertSinkTest extends AbsPersonTest {
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void submit() {
+        try (InsertSink<Long, Person> sink = new InsertSink<>("person", personMapper, WriteBehindPolicy.builder()
+                .batchSize(10)
+                .flushInterval(Duration.ofMillis(20))
+                .build())) {
+            final List<CompletableFuture<Person>> futures = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                futures.add(sink.submit(person(i)));
+            }
+
+            futures.forEach(it -> assertNotNull(it.join().getId()));
+            assertEquals(25, personMapper.select().size());
+            assertEquals(25, sink.getStats().getInserted());
+            assertTrue(sink.getStats().getFlushes() >= 3);
+        }
+    }
+
+    @Test
+    void drainOnClose() {
+        final InsertSink<Long, Person> sink = new InsertSink<>("person", personMapper, WriteBehindPolicy.builder()
+                .mode(WriteBehindPolicy.Mode.BATCH)
+                .flushInterval(Duration.ofSeconds(10))
+                .build(), transactionTemplate);
+        final List<CompletableFuture<Person>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(sink.submit(person(i)));
+        }
+
+        sink.close();
+
+        assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+        assertEquals(5, personMapper.select().size());
+        assertThrows(RejectedExecutionException.class, () -> sink.submit(person(5)));
+    }
+
+    @Test
+    void badRowWithoutDuplicates() {
+        final InsertSink<Long, Person> sink = new InsertSink<>("person", personMapper, WriteBehindPolicy.builder()
+                .mode(WriteBehindPolicy.Mode.BATCH)
+                .flushInterval(Duration.ofSeconds(10))
+                .build(), transactionTemplate);
+        final List<CompletableFuture<Person>> futures = new ArrayList<>();
+        futures.add(sink.submit(person(0)));
+        futures.add(sink.submit(person(1)));
+        // the name is not null.
+        final CompletableFuture<Person> bad = sink.submit(new Person());
+        futures.add(sink.submit(person(2)));
+
+        sink.close();
+
+        assertTrue(bad.isCompletedExceptionally());
+        futures.forEach(it -> assertNotNull(it.join().getId()));
+        final List<String> names = personMapper.select().stream().map(Person::getName).sorted().collect(Collectors.toList());
+        assertEquals(List.of("person0", "person1", "person2"), names);
+        assertEquals(1, sink.getStats().getFailed());
+    }
+
+    @Test
+    void batchModeRequiresTransaction() {
+        assertThrows(IllegalArgumentException.class, () -> new InsertSink<>("person", personMapper, WriteBehindPolicy.builder()
+                .mode(WriteBehindPolicy.Mode.BATCH)
+                .build()));
+    }
+
+    private static Person person(int index) {
+        final Person person = new Person();
+        person.setName("person" + index);
+        person.setAge(index);
+        return person;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.dao.mapper;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.checkpoint.Keyset;
+import org.ifinalframework.data.repository.checkpoint.KeysetContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KeysetContextTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class KeysetContextTest extends AbsPersonTest {
+
+    @BeforeEach
+    void setUp() {
+        insertPersons(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        KeysetContext.clear();
+    }
+
+    @Test
+    void selectKeysetOfBoundQuery() {
+        final PageQuery query = new PageQuery();
+        query.setPage(null);
+        query.setSize(null);
+        final List<Person> first = personMapper.select(query);
+        assertEquals(10, first.size());
+
+        KeysetContext.bind(query, new Keyset(first.get(3).getId(), 4));
+        assertEquals(List.of("person4", "person5", "person6", "person7"),
+                personMapper.select(query).stream().map(Person::getName).collect(Collectors.toList()));
+
+        assertEquals(10, personMapper.select(new PageQuery()).size());
+    }
+
+    @Test
+    void nextAfterSelectedPage() {
+        final PageQuery query = new PageQuery();
+        query.setPage(null);
+        query.setSize(null);
+
+        Keyset keyset = new Keyset(null, 4);
+        int pages = 0;
+        int rows = 0;
+        while (keyset != null) {
+            KeysetContext.bind(query, keyset);
+            assertFalse(KeysetContext.isSelected());
+            rows += personMapper.select(query).size();
+            assertTrue(KeysetContext.isSelected());
+            keyset = KeysetContext.next();
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(10, rows);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.dao.mapper;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.Update;
+import org.ifinalframework.data.repository.retry.ConflictStats;
+import org.ifinalframework.data.repository.retry.OptimisticLockException;
+import org.ifinalframework.data.repository.retry.OptimisticRetry;
+import org.ifinalframework.data.repository.retry.RetryPolicy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UpdateWithRetryTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class UpdateWithRetryTest extends AbsPersonTest {
+
+    private static final RetryPolicy POLICY = RetryPolicy.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .build();
+
+    @Resource
+    private TrackedPersonMapper trackedPersonMapper;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = insert("person", 1).getId();
+    }
+
+    @Test
+    void retryOnConflict() {
+        final ConflictStats stats = OptimisticRetry.getStats(Person.class);
+        final long conflicts = stats.getConflicts();
+        final AtomicInteger calls = new AtomicInteger();
+
+        final Person updated = personMapper.updateWithRetry(id, person -> {
+            if (calls.incrementAndGet() == 1) {
+                // another writer updates the row after it is loaded.
+                personMapper.update(Update.update().set("name", "other"), id);
+            }
+            person.setAge(person.getAge() + 1);
+            return person;
+        }, POLICY);
+
+        assertNotNull(updated);
+        assertEquals(2, calls.get());
+        assertEquals(conflicts + 1, stats.getConflicts());
+        final Person person = personMapper.selectOne(id);
+        assertEquals(2, person.getAge());
+        assertEquals("other", person.getName());
+        assertEquals(person.getVersion(), updated.getVersion());
+    }
+
+    @Test
+    void updateNull() {
+        final Person updated = personMapper.updateWithRetry(id, person -> {
+            person.setName(null);
+            return person;
+        }, POLICY);
+
+        assertNotNull(updated);
+        assertNull(personMapper.selectOne(id).getName());
+    }
+
+    @Test
+    void requireVersion() {
+        assertThrows(IllegalArgumentException.class, () -> trackedPersonMapper.updateWithRetry(id, person -> {
+            person.setAge(100);
+            return person;
+        }, POLICY));
+
+        assertEquals(1, personMapper.selectOne(id).getAge());
+    }
+
+    @Test
+    void exhausted() {
+        assertThrows(OptimisticLockException.class, () -> personMapper.updateWithRetry(id, person -> {
+            personMapper.update(Update.update().set("name", "other"), id);
+            person.setAge(100);
+            return person;
+        }, POLICY));
+
+        assertEquals(1, personMapper.selectOne(id).getAge());
+    }
+
+}
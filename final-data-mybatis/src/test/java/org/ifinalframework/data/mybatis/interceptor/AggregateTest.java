@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.aggregate.AggregateFunction;
+import org.ifinalframework.data.repository.aggregate.AggregateSpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AggregateTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class AggregateTest extends AbsPersonTest {
+
+    @BeforeEach
+    void setUp() {
+        insert("a", 10);
+        insert("b", 10);
+        insert("c", 20);
+    }
+
+    @Test
+    void aggregate() {
+        final List<AgeStat> stats = personMapper.aggregate(new PageQuery(), AggregateSpec.of(AgeStat.class)
+                        .groupBy("age")
+                        .count("total")
+                        .max("name", "maxName"))
+                .stream().sorted(Comparator.comparing(AgeStat::age)).collect(Collectors.toList());
+
+        assertEquals(List.of(new AgeStat(10, 2L, "b"), new AgeStat(20, 1L, "c")), stats);
+    }
+
+    @Test
+    void having() {
+        final List<Map> rows = personMapper.aggregate(new PageQuery(), AggregateSpec.of(Map.class)
+                .groupBy("age")
+                .count("total")
+                .having(AggregateFunction.COUNT, null, AggregateSpec.Operator.GT, 1));
+
+        assertEquals(1, rows.size());
+        assertEquals(10, rows.get(0).get("age"));
+        assertEquals(2L, ((Number) rows.get(0).get("total")).longValue());
+    }
+
+    @Test
+    void orderByGroupAndAlias() {
+        final PageQuery query = new PageQuery();
+        query.setOrders(List.of("total DESC", "age ASC"));
+
+        final List<AgeStat> stats = personMapper.aggregate(query, AggregateSpec.of(AgeStat.class)
+                .groupBy("age")
+                .count("total")
+                .max("name", "maxName"));
+
+        assertEquals(List.of(new AgeStat(10, 2L, "b"), new AgeStat(20, 1L, "c")), stats);
+    }
+
+    @Test
+    void orderByNonGroupProperty() {
+        final PageQuery query = new PageQuery();
+        query.setOrders(List.of("name"));
+
+        assertThrows(Exception.class, () -> personMapper.aggregate(query, AggregateSpec.of(Map.class)
+                .groupBy("age")
+                .count("total")));
+    }
+
+    @Test
+    void pageWithoutCount() {
+        final PageQuery query = new PageQuery();
+        query.setPage(1);
+        query.setSize(1);
+        query.setCount(true);
+        query.setOrders(List.of("age"));
+
+        final List<Map> rows = personMapper.aggregate(query, AggregateSpec.of(Map.class)
+                .groupBy("age")
+                .count("total"));
+
+        assertEquals(1, rows.size());
+        assertEquals(10, rows.get(0).get("age"));
+    }
+
+    public record AgeStat(Integer age, Long total, String maxName) {
+    }
+
+}
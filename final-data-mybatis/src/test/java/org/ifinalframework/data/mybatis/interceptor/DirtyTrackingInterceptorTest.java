@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.dao.mapper.TrackedPersonMapper;
+import org.ifinalframework.data.mybatis.entity.TrackedPerson;
+import org.ifinalframework.data.repository.dirty.EntitySnapshots;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DirtyTrackingInterceptorTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class DirtyTrackingInterceptorTest extends AbsPersonTest {
+
+    @Resource
+    private TrackedPersonMapper trackedPersonMapper;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = insert("person", 18).getId();
+    }
+
+    @Test
+    void dirty() {
+        final TrackedPerson person = trackedPersonMapper.selectOne(id);
+        assertEquals(Set.of(), EntitySnapshots.dirty(person));
+
+        person.setAge(20);
+        assertEquals(Set.of("age"), EntitySnapshots.dirty(person));
+
+        assertNull(EntitySnapshots.dirty(new TrackedPerson()));
+    }
+
+    @Test
+    void updateOnlyDirtyColumns() {
+        final TrackedPerson person = trackedPersonMapper.selectOne(id);
+        final TrackedPerson other = trackedPersonMapper.selectOne(id);
+
+        other.setName("other");
+        assertEquals(1, trackedPersonMapper.update(other));
+
+        // the stale name is not written back, and the null age is set even if selective.
+        person.setAge(null);
+        assertEquals(1, trackedPersonMapper.update(person, true));
+
+        final TrackedPerson updated = trackedPersonMapper.selectOne(id);
+        assertEquals("other", updated.getName());
+        assertNull(updated.getAge());
+
+        assertEquals(Set.of(), EntitySnapshots.dirty(person));
+    }
+
+    @Test
+    void skipUnchanged() {
+        final TrackedPerson person = trackedPersonMapper.selectOne(id);
+        final TrackedPerson other = trackedPersonMapper.selectOne(id);
+
+        other.setName("other");
+        assertEquals(1, trackedPersonMapper.update(other));
+
+        assertEquals(0, trackedPersonMapper.update(person));
+        assertEquals("other", trackedPersonMapper.selectOne(id).getName());
+    }
+
+}
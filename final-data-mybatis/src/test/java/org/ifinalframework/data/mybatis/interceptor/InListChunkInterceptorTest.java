@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.data.annotation.criterion.In;
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.Update;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.Data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InListChunkInterceptorTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest(properties = {
+        "final.data.mybatis.in-chunk.size=2",
+        "final.data.mybatis.in-chunk.restore-order=true"
+})
+class InListChunkInterceptorTest extends AbsPersonTest {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ids.addAll(insertPersons(5));
+        Collections.reverse(ids);
+    }
+
+    @Test
+    void select() {
+        final List<Person> persons = personMapper.select(ids);
+
+        assertEquals(ids, persons.stream().map(Person::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void selectInQuery() {
+        final PersonInQuery query = new PersonInQuery();
+        query.setId(ids);
+
+        assertEquals(5, personMapper.select(query).size());
+    }
+
+    @Test
+    void selectDistinct() {
+        final List<Long> duplicated = new ArrayList<>(ids);
+        duplicated.addAll(ids);
+
+        assertEquals(ids, personMapper.select(duplicated).stream().map(Person::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void update() {
+        assertEquals(5, personMapper.update(Update.update().set("age", 20), ids));
+        assertTrue(personMapper.select(ids).stream().allMatch(person -> person.getAge() == 20));
+    }
+
+    @Test
+    void delete() {
+        assertEquals(5, personMapper.delete(ids));
+        assertTrue(personMapper.select(ids).isEmpty());
+    }
+
+    @Data
+    static class PersonInQuery implements IQuery {
+
+        @In
+        private List<Long> id;
+
+    }
+
+}
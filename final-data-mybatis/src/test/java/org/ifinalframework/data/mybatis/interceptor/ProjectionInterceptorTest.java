@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import com.github.pagehelper.Page;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.query.PageQuery;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ProjectionInterceptorTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class ProjectionInterceptorTest extends AbsPersonTest {
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("a", "b", "c")) {
+            insert(name, 13);
+        }
+    }
+
+    @Test
+    void record() {
+        final List<PersonName> names = personMapper.select(new PageQuery(), PersonName.class);
+        assertEquals(3, names.size());
+        assertEquals("a", names.get(0).name());
+        assertNotNull(names.get(0).id());
+    }
+
+    @Test
+    void projectionInterface() {
+        final List<PersonAge> ages = personMapper.select(new PageQuery(), PersonAge.class);
+        assertEquals(3, ages.size());
+        assertEquals(13, ages.get(0).getAge());
+        assertEquals("13", ages.get(0).getAgeText());
+    }
+
+    @Test
+    void page() {
+        final PageQuery query = new PageQuery();
+        query.setPage(1);
+        query.setSize(2);
+        query.setCount(true);
+
+        final List<PersonName> names = personMapper.select(query, PersonName.class);
+        assertInstanceOf(Page.class, names);
+        assertEquals(2, names.size());
+        assertEquals(3, ((Page<PersonName>) names).getTotal());
+    }
+
+    public record PersonName(Long id, String name) {
+    }
+
+    public interface PersonAge {
+        Integer getAge();
+
+        default String getAgeText() {
+            return String.valueOf(getAge());
+        }
+    }
+
+}
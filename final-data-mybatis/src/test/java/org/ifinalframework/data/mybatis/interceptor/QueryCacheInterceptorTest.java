@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.cache.TableVersions;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.mybatis.entity.User;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.query.criterion.Exists;
+import org.ifinalframework.data.repository.cache.QueryCache;
+import org.ifinalframework.data.util.TableUtils;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.annotation.Resource;
+import lombok.Data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * QueryCacheInterceptorTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class QueryCacheInterceptorTest extends AbsPersonTest {
+
+    @Resource
+    private QueryCacheInterceptor queryCacheInterceptor;
+
+    @Resource
+    private TableVersions tableVersions;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void selectWithCache() {
+        insert("a", 13);
+
+        assertEquals(1, personMapper.select(new CachedPersonQuery()).size());
+        final long hits = queryCacheInterceptor.getStats().getHits();
+        assertEquals(1, personMapper.select(new CachedPersonQuery()).size());
+        assertEquals(1, personMapper.selectCount(new CachedPersonQuery()));
+        assertEquals(hits + 1, queryCacheInterceptor.getStats().getHits());
+
+        // the insert increases the table version.
+        insert("b", 13);
+        assertEquals(2, personMapper.select(new CachedPersonQuery()).size());
+        assertEquals(2, personMapper.selectCount(new CachedPersonQuery()));
+    }
+
+    @Test
+    void copyCachedEntities() {
+        insert("a", 13);
+
+        personMapper.select(new CachedPersonQuery()).get(0).setName("changed");
+        final Person cached = personMapper.select(new CachedPersonQuery()).get(0);
+        assertEquals("a", cached.getName());
+
+        cached.setName("changed");
+        assertEquals("a", personMapper.select(new CachedPersonQuery()).get(0).getName());
+    }
+
+    @Test
+    void invalidateByExistsTable() {
+        insert("a", 13);
+        final UserNamesakeQuery query = new UserNamesakeQuery();
+        query.setUserNamesake(true);
+
+        assertEquals(0, personMapper.select(query).size());
+        assertEquals(0, personMapper.select(query).size());
+
+        // a write of the subquery table increases its version.
+        jdbcTemplate.update("INSERT INTO `user` (name) VALUES ('a')");
+        tableVersions.increment(TableUtils.getTable(User.class), false);
+        assertEquals(1, personMapper.select(query).size());
+
+        jdbcTemplate.update("DELETE FROM `user`");
+    }
+
+    @QueryCache
+    public static class CachedPersonQuery extends PageQuery {
+    }
+
+    @Data
+    @QueryCache
+    public static class UserNamesakeQuery extends PageQuery {
+
+        @Exists(entity = User.class, property = "name", reference = "name")
+        private Boolean userNamesake;
+
+    }
+
+}
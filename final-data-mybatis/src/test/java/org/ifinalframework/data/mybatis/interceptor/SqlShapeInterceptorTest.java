@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SqlShapeInterceptorTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class SqlShapeInterceptorTest extends AbsPersonTest {
+
+    @Resource
+    private SqlShapeInterceptor sqlShapeInterceptor;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ids.addAll(insertPersons(5));
+    }
+
+    @Test
+    void bucket() {
+        assertEquals(3, personMapper.select(ids.subList(0, 3)).size());
+        final int shapes = sqlShapeInterceptor.getShapes("person");
+
+        assertEquals(4, personMapper.select(ids.subList(0, 4)).size());
+        assertEquals(shapes, sqlShapeInterceptor.getShapes("person"));
+
+        assertEquals(5, personMapper.select(ids).size());
+        assertEquals(shapes + 1, sqlShapeInterceptor.getShapes("person"));
+    }
+
+}
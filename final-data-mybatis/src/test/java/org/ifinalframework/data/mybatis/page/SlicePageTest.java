@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.page;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.Listener;
+import org.ifinalframework.data.repository.page.HasNextContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SlicePageTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class SlicePageTest extends AbsPersonTest {
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of("a", "b", "c")) {
+            insert(name, 13);
+        }
+    }
+
+    @Test
+    void hasNext() {
+        final boolean previous = HasNextContext.enable();
+        try {
+            final List<Person> first = personMapper.select(query(1));
+            assertInstanceOf(SlicePage.class, first);
+            assertEquals(2, first.size());
+            assertTrue(((SlicePage<Person>) first).hasNext());
+
+            final List<Person> second = personMapper.select(query(2));
+            assertEquals(1, second.size());
+            assertFalse(((SlicePage<Person>) second).hasNext());
+        } finally {
+            HasNextContext.restore(previous);
+        }
+        assertFalse(HasNextContext.isEnabled());
+    }
+
+    @Test
+    void scan() {
+        final List<Integer> sizes = new ArrayList<>();
+        personMapper.scan(query(1), (Listener<Void, List<Person>>) (index, param, data) -> sizes.add(data.size()));
+        assertEquals(List.of(2, 1), sizes);
+    }
+
+    @Test
+    void scanListenerNotInHasNextMode() {
+        final List<Boolean> enabled = new ArrayList<>();
+        personMapper.scan(query(1), (Listener<Void, List<Person>>) (index, param, data) -> enabled.add(HasNextContext.isEnabled()));
+        assertEquals(List.of(false, false), enabled);
+    }
+
+    @Test
+    void bind() {
+        final PageQuery query = query(1);
+        HasNextContext.bind(query);
+        try {
+            assertInstanceOf(SlicePage.class, personMapper.select(query));
+            // the selects of other queries are counted as usual.
+            assertFalse(personMapper.select(query(1)) instanceof SlicePage);
+            assertFalse(HasNextContext.isEnabled());
+        } finally {
+            HasNextContext.unbind();
+        }
+    }
+
+    private static PageQuery query(int page) {
+        final PageQuery query = new PageQuery();
+        query.setPage(page);
+        query.setSize(2);
+        query.setCount(true);
+        return query;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.session;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.dao.mapper.PersonMapper;
+import org.ifinalframework.data.mybatis.entity.Person;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RoutingSqlSessionTemplateTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class RoutingSqlSessionTemplateTest extends AbsPersonTest {
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        insertPersons(3);
+    }
+
+    @Test
+    void batchUpdate() {
+        final PersonMapper mapper = new RoutingSqlSessionTemplate(sqlSessionFactory).getMapper(PersonMapper.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final List<Person> persons = mapper.select();
+            assertEquals(0, mapper.selectOne(persons.get(0).getId()).getAge());
+
+            persons.forEach(person -> person.setAge(person.getAge() + 10));
+            // the affected rows of the flushed batch.
+            assertEquals(3, mapper.update(persons));
+            // the local cache of the reuse session has been cleared.
+            assertEquals(10, mapper.selectOne(persons.get(0).getId()).getAge());
+        });
+
+        assertEquals(12, personMapper.selectOne(personMapper.select().get(2).getId()).getAge());
+    }
+
+}
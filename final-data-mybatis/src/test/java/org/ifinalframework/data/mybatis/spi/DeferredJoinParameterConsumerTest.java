@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.spi;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.core.Limitable;
+import org.ifinalframework.core.Orderable;
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DeferredJoinParameterConsumerTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest(properties = "final.data.mybatis.deferred-join.offset-threshold=5")
+class DeferredJoinParameterConsumerTest extends AbsPersonTest {
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            insert("person" + i, (i * 7) % 20);
+        }
+    }
+
+    @Test
+    void deferredJoin() {
+        final List<Person> persons = personMapper.select();
+
+        // below the threshold
+        assertEquals(ids(persons.subList(2, 6)), ids(personMapper.select(new OffsetPersonQuery(2L, 4L, null))));
+        // above the threshold
+        assertEquals(ids(persons.subList(10, 14)), ids(personMapper.select(new OffsetPersonQuery(10L, 4L, null))));
+
+        final List<Person> sorted = persons.stream().sorted(Comparator.comparing(Person::getAge).reversed())
+                .collect(Collectors.toList());
+        assertEquals(ids(sorted.subList(10, 14)), ids(personMapper.select(new OffsetPersonQuery(10L, 4L, List.of("age DESC")))));
+        assertEquals(ids(sorted.subList(18, 20)), ids(personMapper.select(new OffsetPersonQuery(18L, 4L, List.of("age DESC")))));
+    }
+
+    private static List<Long> ids(List<Person> persons) {
+        return persons.stream().map(Person::getId).collect(Collectors.toList());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class OffsetPersonQuery implements IQuery, Limitable, Orderable {
+        private Long offset;
+        private Long limit;
+        private List<String> orders;
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.spi;
+
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.query.criterion.Exists;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TenantParameterConsumerTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+class TenantParameterConsumerTest {
+
+    @Test
+    void existsTenantOfNonTenantEntity() {
+        final TenantParameterConsumer consumer = new TenantParameterConsumer(List.of(() -> 2L));
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put(EntityClassParameterConsumer.ENTITY_CLASS_PARAM_NAME, Person.class);
+
+        consumer.accept(map, null, null);
+
+        assertNull(map.get("tenant"));
+        assertEquals(2L, map.get(Exists.TENANT_PARAM_NAME));
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.sql;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.annotation.criterion.Equal;
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+import org.ifinalframework.data.mybatis.sql.util.SqlHelper;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.query.criterion.Exists;
+import org.ifinalframework.data.query.criterion.NotExists;
+
+import org.apache.ibatis.mapping.BoundSql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.Data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExistsCriterionTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest
+class ExistsCriterionTest extends AbsPersonTest {
+
+    @BeforeEach
+    void setUp() {
+        insert("a", 10);
+        insert("a", 20);
+        insert("b", 10);
+    }
+
+    @Test
+    void exists() {
+        final NamesakeQuery query = new NamesakeQuery();
+        query.setNamesake(new AgeQuery(20));
+
+        assertEquals(List.of("a:10", "a:20"), names(personMapper.select(query)));
+    }
+
+    @Test
+    void notExists() {
+        final NamesakeQuery query = new NamesakeQuery();
+        query.setNoNamesake(new AgeQuery(20));
+
+        assertEquals(List.of("b:10"), names(personMapper.select(query)));
+    }
+
+    @Test
+    void ignoreNull() {
+        assertEquals(3, personMapper.select(new NamesakeQuery()).size());
+    }
+
+    @Test
+    void tenantSubqueryOfNonTenantEntity() {
+        final TenantNamesakeQuery query = new TenantNamesakeQuery();
+        query.setTenantNamesake(true);
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("properties", DefaultQEntityFactory.INSTANCE.create(Person.class));
+        parameters.put("query", query);
+        parameters.put("tenant", null);
+
+        final BoundSql boundSql = SqlHelper.boundSql(Person.class, query, parameters);
+        final String column = DefaultQEntityFactory.INSTANCE
+                .create(org.ifinalframework.data.mybatis.sql.provider.Person.class).getTenantProperty().getColumn();
+
+        // the tenant of the subquery is bound even if the outer entity is not a tenant entity.
+        assertTrue(boundSql.getSql().contains("." + column + " = ?"), boundSql.getSql());
+        assertTrue(boundSql.getParameterMappings().stream().anyMatch(it -> Exists.TENANT_PARAM_NAME.equals(it.getProperty())));
+    }
+
+    private static List<String> names(List<Person> persons) {
+        return persons.stream().map(it -> it.getName() + ":" + it.getAge()).sorted().collect(Collectors.toList());
+    }
+
+    @Data
+    static class NamesakeQuery extends PageQuery {
+
+        @Exists(entity = Person.class, property = "name", reference = "name")
+        private AgeQuery namesake;
+
+        @NotExists(entity = Person.class, property = "name", reference = "name")
+        private AgeQuery noNamesake;
+
+    }
+
+    @Data
+    static class TenantNamesakeQuery extends PageQuery {
+
+        @Exists(entity = org.ifinalframework.data.mybatis.sql.provider.Person.class, property = "name", reference = "name")
+        private Boolean tenantNamesake;
+
+    }
+
+    @Data
+    static class AgeQuery {
+
+        @Equal
+        private Integer age;
+
+        AgeQuery(Integer age) {
+            this.age = age;
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.temp;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compare the temp table join of {@link #SIZE} ids with the chunked {@code IN} lists of {@code SIZE - 1} ids.
+ *
+ * <p>It is a manual benchmark which is not named as a test, so it is never run by surefire, run it by:</p>
+ *
+ * <pre class="code">
+ * mvn -pl final-data-mybatis test -Dtest=TempIdTableBenchmark -Dfinal.benchmark=true
+ * </pre>
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@Slf4j
+@SpringBootTest(properties = "final.data.mybatis.temp-table.threshold=" + TempIdTableBenchmark.SIZE)
+@EnabledIfSystemProperty(named = "final.benchmark", matches = "true")
+class TempIdTableBenchmark extends AbsPersonTest {
+
+    static final int SIZE = 20000;
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int ROUNDS = 20;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        final List<Person> persons = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            Person person = new Person();
+            person.setName("person" + i);
+            person.setAge(i % 100);
+            persons.add(person);
+        }
+        personMapper.insert(persons);
+        ids = personMapper.select().stream().map(Person::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void benchmark() {
+        final List<Long> chunked = ids.subList(0, SIZE - 1);
+
+        measure(chunked, WARMUP_ROUNDS);
+        measure(ids, WARMUP_ROUNDS);
+
+        final long chunkedMillis = measure(chunked, ROUNDS);
+        final long tempTableMillis = measure(ids, ROUNDS);
+
+        logger.info("select {} ids: chunked in={}ms, temp table={}ms", SIZE, chunkedMillis, tempTableMillis);
+    }
+
+    /**
+     * @return the average millis of the rounds.
+     */
+    private long measure(List<Long> ids, int rounds) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            personMapper.select(ids);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / rounds;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.temp;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import org.ifinalframework.data.mybatis.AbsPersonTest;
+import org.ifinalframework.data.mybatis.entity.Person;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TempIdTableTest.
+ *
+ * @author iimik
+ * @since 1.6.0
+ **/
+@SpringBootTest(properties = {
+        "final.data.mybatis.temp-table.threshold=3",
+        "final.data.mybatis.in-chunk.restore-order=true"
+})
+class TempIdTableTest extends AbsPersonTest {
+
+    @Resource
+    private DataSource dataSource;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ids.addAll(insertPersons(5));
+        Collections.reverse(ids);
+    }
+
+    @Test
+    void select() {
+        assertEquals(ids, personMapper.select(ids).stream().map(Person::getId).collect(Collectors.toList()));
+        // the rows of the temp table are cleared after the statement.
+        assertEquals(List.of(ids.get(4), ids.get(3), ids.get(2)),
+                personMapper.select(ids.subList(2, 5)).stream().map(Person::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void delete() {
+        assertEquals(3, personMapper.delete(ids.subList(0, 3)));
+        assertEquals(2, personMapper.select(ids).size());
+    }
+
+    @Test
+    void tablePerIdType() {
+        final TempTableDialect dialect = new H2TempTableDialect();
+        assertEquals("final_temp_ids_bigint", TempIdTable.getTable(dialect, Long.class));
+        assertEquals("final_temp_ids_varchar255", TempIdTable.getTable(dialect, String.class));
+    }
+
+    @Test
+    void notSupported() throws SQLException {
+        final TempIdTable tempIdTable = new TempIdTable(new DefaultListableBeanFactory().getBeanProvider(TempTableDialect.class), 1000);
+        try (Connection connection = dataSource.getConnection()) {
+            assertNull(tempIdTable.getDialect(connection));
+        }
+    }
+
+}
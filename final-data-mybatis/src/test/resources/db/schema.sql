@@ -51,5 +51,16 @@ CREATE TABLE tableName
     last_modified DATETIME   NULL     DEFAULT NULL ON UPDATE NOW() COMMENT '最后修改时间',
     yn            INT(11)    NOT NULL DEFAULT 1 COMMENT '有效标记，1：有效，0：无效',
     PRIMARY KEY (id)
-)
+);
+
+DROP TABLE IF EXISTS final_scan_checkpoint;
 
+CREATE TABLE final_scan_checkpoint
+(
+    name        VARCHAR(128) NOT NULL COMMENT '扫描名称',
+    fingerprint VARCHAR(64)  NOT NULL COMMENT '查询指纹',
+    last_key    VARCHAR(255) NOT NULL COMMENT '最后处理的主键',
+    key_type    VARCHAR(255) NOT NULL COMMENT '主键类型',
+    updated     DATETIME     NOT NULL DEFAULT NOW() COMMENT '更新时间',
+    PRIMARY KEY (name)
+);
@@ -15,10 +15,12 @@
 
 package org.ifinalframework.data.web.core;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.ResolvableType;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -44,6 +46,8 @@ import org.ifinalframework.core.IStatus;
 import org.ifinalframework.core.ITenant;
 import org.ifinalframework.core.IUser;
 import org.ifinalframework.core.IView;
+import org.ifinalframework.core.Orderable;
+import org.ifinalframework.core.Pageable;
 import org.ifinalframework.data.annotation.YN;
 import org.ifinalframework.data.domain.DomainService;
 import org.ifinalframework.data.domain.action.DeleteAction;
@@ -56,6 +60,10 @@ import org.ifinalframework.data.domain.excel.ExcelExportService;
 import org.ifinalframework.data.domain.model.AuditValue;
 import org.ifinalframework.data.domain.model.SortValue;
 import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.checkpoint.Keyset;
+import org.ifinalframework.data.repository.checkpoint.KeysetContext;
+import org.ifinalframework.data.repository.page.HasNextContext;
+import org.ifinalframework.data.repository.page.Slice;
 import org.ifinalframework.data.security.DomainResourceAuth;
 import org.ifinalframework.data.spi.SpiAction;
 import org.ifinalframework.json.Json;
@@ -96,7 +104,7 @@ import java.util.Objects;
  *     <tbody>
  *         <tr>
  *             <td>{@code GET /{prefix}/{resource}}</td>
- *             <td>{@link #query(String, IQuery, SelectAction, IUser)}</td>
+ *             <td>{@link #query(String, IQuery, boolean, SelectAction, IUser, HttpServletResponse)}</td>
  *             <td>{@code {Entity}ListQuery }</td>
  *             <td>列表查询</td>
  *         </tr>
@@ -140,28 +148,61 @@ import java.util.Objects;
 public class DomainResourceDispatchController {
     private static final Logger logger = LoggerFactory.getLogger(DomainResourceDispatchController.class);
 
+    /**
+     * the response header of the "has next" mode.
+     *
+     * @since 1.6.0
+     */
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+
+    /**
+     * the rows of each page selected by the export, which selects the pages in the keyset order of the id, the export
+     * selects all rows at once when {@code <= 0}.
+     */
+    @Value("${final.data.web.export.page-size:0}")
+    private int exportPageSize = 0;
+    /**
+     * the max rows of the export, which is rejected when there are more rows, no limit when {@code <= 0}.
+     */
+    @Value("${final.data.web.export.max-rows:0}")
+    private int exportMaxRows = 0;
+
     private DomainResourceExcelExportProvider domainResourceExcelExportProvider = new ClassPathDomainResourceExcelExportProvider();
     @Resource
     private ExcelExportService excelExportService;
 
     /**
      * 列表查询
+     *
+     * @param hasNext 是否使用无 count 的分页模式，为 {@code true} 时通过响应头 {@link #HAS_NEXT_HEADER} 返回是否有下一页
      */
     @GetMapping
     @DomainResourceAuth(action = SpiAction.LIST)
     public Object query(@PathVariable String resource,
                         @Valid @RequestQuery(view = IView.List.class) IQuery query,
+                        @RequestParam(name = "hasNext", required = false, defaultValue = "false") boolean hasNext,
                         @RequestAction(action = "LIST_BY_QUERY") SelectAction selectAction,
-                        IUser<?> user) {
+                        IUser<?> user, HttpServletResponse response) {
         if (logger.isDebugEnabled()) {
             logger.debug("==> query={}", Json.toJson(query));
         }
 
+        if (hasNext) {
+            // only the select of the query is in the "has next" mode, not the selects of the hooks.
+            HasNextContext.bind(query);
+        }
         try {
             setFinalContext(query);
-            return processResult(selectAction.select(query, user));
+            final Object result = selectAction.select(query, user);
+            if (hasNext) {
+                response.setHeader(HAS_NEXT_HEADER, String.valueOf(result instanceof Slice<?> slice && slice.hasNext()));
+            }
+            return processResult(result);
         } finally {
             clearFinalContext(query);
+            if (hasNext) {
+                HasNextContext.unbind();
+            }
         }
 
     }
@@ -169,6 +210,11 @@ public class DomainResourceDispatchController {
     /**
      * 导出
      *
+     * <p>The single sheet export without a page size or orders is selected in the keyset order of the id page by page
+     * when {@code final.data.web.export.page-size} is configured, the sorted export is selected at once to keep its
+     * orders. The export is rejected when there are more rows than {@code final.data.web.export.max-rows}. The rows are
+     * still held by the {@link WorkbookWriter} until the workbook is written.</p>
+     *
      * @since 1.5.2
      */
     @GetMapping("/export")
@@ -200,20 +246,14 @@ public class DomainResourceDispatchController {
                     ? Spel.getValue(excel.getName(), context, String.class)
                     : domainService.entityClass().getSimpleName()) + "." + excel.getVersion().name().toLowerCase();
 
-            final Object result = processResult(selectAction.select(query, user));
-
             final WorkbookWriter workbookWriter = Excels.newWriter(excel, context);
 
-            if (result instanceof List<?> list) {
-                workbookWriter.append(list);
-            } else if (result instanceof Map<?, ?> map) {
-                for (int i = 0; i < excel.getSheets().size(); i++) {
-                    final Sheet sheet = excel.getSheets().get(i);
-                    final Object list = map.get(sheet.getName());
-                    workbookWriter.append(i, (List<?>) list);
-                }
+            final boolean paged = query instanceof Pageable pageable && Objects.nonNull(pageable.getSize());
+            final boolean sorted = query instanceof Orderable orderable && !CollectionUtils.isEmpty(orderable.getOrders());
+            if (exportPageSize > 0 && !paged && !sorted && excel.getSheets().size() <= 1) {
+                appendPages(query, selectAction, user, excel, workbookWriter);
             } else {
-                throw new InternalServerException("不支持的导出结果类型");
+                append(excel, workbookWriter, processResult(selectAction.select(query, user)), 0);
             }
 
             return excelExportService.export(fileName, workbookWriter, response);
@@ -625,6 +665,68 @@ public class DomainResourceDispatchController {
         }
     }
 
+    /**
+     * append the rows of the export page by page in the keyset order of the id, until the page selected by the keyset is
+     * not full, the rows of the page may be filtered out by the hooks of the select action.
+     */
+    private void appendPages(IQuery query, SelectAction selectAction, IUser<?> user, Excel excel,
+                             WorkbookWriter workbookWriter) {
+        Keyset keyset = new Keyset(null, exportPageSize);
+        int rows = 0;
+        while (true) {
+            final Object result;
+            final boolean selected;
+            KeysetContext.bind(query, keyset);
+            try {
+                result = processResult(selectAction.select(query, user));
+                selected = KeysetContext.isSelected();
+                keyset = KeysetContext.next();
+            } finally {
+                KeysetContext.clear();
+            }
+
+            if (!(result instanceof List<?> list)) {
+                if (selected) {
+                    throw new InternalServerException("不支持的导出结果类型");
+                }
+                // the select action does not select by the keyset, such as the map of sheets, which has all rows.
+                append(excel, workbookWriter, result, rows);
+                return;
+            }
+
+            rows = append(excel, workbookWriter, list, rows);
+
+            // the select action does not select by the keyset or the last page is selected.
+            if (Objects.isNull(keyset)) {
+                return;
+            }
+        }
+    }
+
+    private int append(Excel excel, WorkbookWriter workbookWriter, Object result, int rows) {
+        if (result instanceof List<?> list) {
+            rows = checkRows(rows + list.size());
+            workbookWriter.append(list);
+        } else if (result instanceof Map<?, ?> map) {
+            for (int i = 0; i < excel.getSheets().size(); i++) {
+                final Sheet sheet = excel.getSheets().get(i);
+                final List<?> list = (List<?>) map.get(sheet.getName());
+                rows = checkRows(rows + (Objects.isNull(list) ? 0 : list.size()));
+                workbookWriter.append(i, list);
+            }
+        } else {
+            throw new InternalServerException("不支持的导出结果类型");
+        }
+        return rows;
+    }
+
+    private int checkRows(int rows) {
+        if (exportMaxRows > 0 && rows > exportMaxRows) {
+            throw new BadRequestException("导出数据超过" + exportMaxRows + "行，请缩小查询范围");
+        }
+        return rows;
+    }
+
     private <R> R processResult(R result) {
         if (logger.isDebugEnabled()) {
             logger.debug("<== {}", Json.toJson(result));